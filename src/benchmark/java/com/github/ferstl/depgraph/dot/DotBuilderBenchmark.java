@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.dot;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks for adding edges to a {@link DotBuilder} and rendering it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class DotBuilderBenchmark {
+
+  // Each node has about this number of outgoing edges
+  private static final int FAN_OUT = 4;
+
+  @Param({"1000", "10000", "100000"})
+  private int edgeCount;
+
+  private String[] from;
+  private String[] to;
+  private DotBuilder<String> dotBuilder;
+
+  @Setup
+  public void setup() {
+    this.from = new String[this.edgeCount];
+    this.to = new String[this.edgeCount];
+    for (int i = 0; i < this.edgeCount; i++) {
+      this.from[i] = createNodeName(i / FAN_OUT);
+      this.to[i] = createNodeName(i + 1);
+    }
+
+    this.dotBuilder = addEdges();
+  }
+
+  @Benchmark
+  public DotBuilder<String> addEdge() {
+    return addEdges();
+  }
+
+  @Benchmark
+  public String render() {
+    return this.dotBuilder.toString();
+  }
+
+  private DotBuilder<String> addEdges() {
+    DotBuilder<String> builder = new DotBuilder<>();
+    for (int i = 0; i < this.edgeCount; i++) {
+      builder.addEdge(this.from[i], this.to[i]);
+    }
+
+    return builder;
+  }
+
+  private static String createNodeName(int i) {
+    return "com.example.group" + (i % 100) + ":artifact-" + i + ":1.0." + (i % 10) + ":compile";
+  }
+}
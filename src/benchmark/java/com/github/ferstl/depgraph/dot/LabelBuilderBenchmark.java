@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.dot;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks for creating node labels with the {@link LabelBuilder}, similar to the labels of the default style.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class LabelBuilderBenchmark {
+
+  private String groupId = "com.github.ferstl";
+  private String artifactId = "depgraph-maven-plugin";
+  private String version = "2.0.2-SNAPSHOT";
+  private String scopes = "(compile/test)";
+
+  @Benchmark
+  public String plainLabel() {
+    return new LabelBuilder()
+        .text(this.groupId)
+        .newLine()
+        .text(this.artifactId)
+        .newLine()
+        .text(this.version)
+        .build();
+  }
+
+  @Benchmark
+  public String styledLabel() {
+    return new LabelBuilder()
+        .font().name(null).color(null).size(10).text(this.groupId)
+        .smartNewLine()
+        .font().name("Helvetica").color(null).size(14).text(this.artifactId)
+        .smartNewLine()
+        .font().name(null).color(null).size(10).text(this.version)
+        .smartNewLine()
+        .font().name(null).color("grey").size(10).text(this.scopes)
+        .build();
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.graph;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
+import org.apache.maven.shared.dependency.graph.DependencyNode;
+import org.apache.maven.shared.dependency.graph.internal.DefaultDependencyNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import com.github.ferstl.depgraph.dot.DotBuilder;
+
+/**
+ * JMH benchmarks for traversing synthetic dependency trees with the {@link DotBuildingVisitor}. A fraction of the
+ * artifacts appears several times within the tree, as it is the case for real dependency trees.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class DotBuildingVisitorBenchmark {
+
+  private static final int FAN_OUT = 5;
+
+  @Param({"1000", "10000", "100000"})
+  private int nodeCount;
+
+  private DependencyNode root;
+  private ArtifactFilter targetFilter;
+  private ArtifactFilter excludingTargetFilter;
+
+  @Setup
+  public void setup() {
+    // Every second artifact is shared
+    int distinctArtifacts = this.nodeCount / 2;
+    List<DefaultDependencyNode> nodes = new ArrayList<>(this.nodeCount);
+
+    DefaultDependencyNode rootNode = new DefaultDependencyNode(null, createArtifact(0, distinctArtifacts), null, null, null);
+    nodes.add(rootNode);
+    for (int i = 1; i < this.nodeCount; i++) {
+      DefaultDependencyNode parent = nodes.get((i - 1) / FAN_OUT);
+      nodes.add(new DefaultDependencyNode(parent, createArtifact(i, distinctArtifacts), null, null, null));
+    }
+
+    for (int i = 0; i < this.nodeCount; i++) {
+      List<DependencyNode> children = new ArrayList<>(FAN_OUT);
+      for (int j = i * FAN_OUT + 1; j <= i * FAN_OUT + FAN_OUT && j < this.nodeCount; j++) {
+        children.add(nodes.get(j));
+      }
+      nodes.get(i).setChildren(children);
+    }
+
+    this.root = rootNode;
+    this.targetFilter = new ArtifactFilter() {
+
+      @Override
+      public boolean include(Artifact artifact) {
+        return true;
+      }
+    };
+    this.excludingTargetFilter = new ArtifactFilter() {
+
+      @Override
+      public boolean include(Artifact artifact) {
+        return artifact.getArtifactId().endsWith("7");
+      }
+    };
+  }
+
+  @Benchmark
+  public DotBuilder<GraphNode> traverse() {
+    return traverse(this.targetFilter);
+  }
+
+  @Benchmark
+  public DotBuilder<GraphNode> traverseWithTargetDependencies() {
+    return traverse(this.excludingTargetFilter);
+  }
+
+  private DotBuilder<GraphNode> traverse(ArtifactFilter filter) {
+    DotBuilder<GraphNode> dotBuilder = new DotBuilder<>();
+    this.root.accept(new DotBuildingVisitor(dotBuilder, filter));
+
+    return dotBuilder;
+  }
+
+  private static Artifact createArtifact(int i, int distinctArtifacts) {
+    int id = i < distinctArtifacts ? i : i % distinctArtifacts;
+    return new DefaultArtifact("com.example.group" + (id % 50), "artifact-" + id, "1.0." + (id % 10), "compile", "jar", "", null);
+  }
+}
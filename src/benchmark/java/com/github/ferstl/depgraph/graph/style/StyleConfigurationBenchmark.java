@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.graph.style;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import com.github.ferstl.depgraph.dot.AttributeBuilder;
+import com.github.ferstl.depgraph.graph.style.resource.BuiltInStyleResource;
+import com.github.ferstl.depgraph.graph.style.resource.FileSystemStyleResource;
+
+/**
+ * JMH benchmarks for {@link CompiledStyleConfiguration#nodeAttributes(String, String, String, String, String, String)} with
+ * a varying number of node style rules.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class StyleConfigurationBenchmark {
+
+  @Param({"10", "100", "1000"})
+  private int ruleCount;
+
+  private CompiledStyleConfiguration styleConfiguration;
+  private String lastGroupId;
+
+  @Setup
+  public void setup() throws IOException {
+    StringBuilder json = new StringBuilder("{\n  \"node-styles\": {");
+    for (int i = 0; i < this.ruleCount; i++) {
+      json.append(i > 0 ? "," : "")
+          .append("\n    \"com.example.group").append(i).append(",artifact-*\": {\"type\": \"box\", \"color\": \"blue\"}");
+    }
+    json.append("\n  }\n}");
+    this.lastGroupId = "com.example.group" + (this.ruleCount - 1);
+
+    Path styleFile = Files.createTempFile("benchmark-style-", ".json");
+    try {
+      Files.write(styleFile, json.toString().getBytes(StandardCharsets.UTF_8));
+      this.styleConfiguration = StyleConfiguration.loadCompiled(
+          BuiltInStyleResource.DEFAULT_STYLE.createStyleResource(getClass().getClassLoader()),
+          new FileSystemStyleResource(styleFile));
+    } finally {
+      Files.delete(styleFile);
+    }
+  }
+
+  @Benchmark
+  public AttributeBuilder matchingFirstRule() {
+    return this.styleConfiguration.nodeAttributes("com.example.group0", "artifact-a", "1.0.0", "jar", "compile", "compile");
+  }
+
+  @Benchmark
+  public AttributeBuilder matchingLastRule() {
+    return this.styleConfiguration.nodeAttributes(this.lastGroupId, "artifact-b", "1.0.0", "jar", "compile", "compile");
+  }
+
+  @Benchmark
+  public AttributeBuilder matchingNoRule() {
+    return this.styleConfiguration.nodeAttributes("org.example", "artifact-c", "1.0.0", "jar", "compile", "compile");
+  }
+}
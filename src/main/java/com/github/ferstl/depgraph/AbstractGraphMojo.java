@@ -17,19 +17,29 @@ package com.github.ferstl.depgraph;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.maven.artifact.repository.ArtifactRepository;
-import org.apache.maven.artifact.resolver.filter.AndArtifactFilter;
 import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
@@ -37,17 +47,22 @@ import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.Component;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.MavenProject;
-import org.apache.maven.shared.artifact.filter.ScopeArtifactFilter;
-import org.apache.maven.shared.artifact.filter.StrictPatternExcludesArtifactFilter;
-import org.apache.maven.shared.artifact.filter.StrictPatternIncludesArtifactFilter;
 import org.apache.maven.shared.dependency.graph.DependencyGraphBuilder;
 import org.apache.maven.shared.dependency.tree.DependencyTreeBuilder;
 import org.codehaus.plexus.util.cli.CommandLineException;
 import org.codehaus.plexus.util.cli.CommandLineUtils;
 import org.codehaus.plexus.util.cli.CommandLineUtils.StringStreamConsumer;
 import org.codehaus.plexus.util.cli.Commandline;
+import com.github.ferstl.depgraph.dot.DotBuilder;
+import com.github.ferstl.depgraph.dot.SvgRenderer;
 import com.github.ferstl.depgraph.graph.DependencyGraphException;
+import com.github.ferstl.depgraph.graph.DoNothingArtifactFilter;
 import com.github.ferstl.depgraph.graph.GraphFactory;
+import com.github.ferstl.depgraph.graph.GraphMetrics;
+import com.github.ferstl.depgraph.graph.GraphMetrics.Measurement;
+import com.github.ferstl.depgraph.graph.GraphNode;
+import com.github.ferstl.depgraph.graph.TextTreeWriter;
+import com.github.ferstl.depgraph.graph.style.CompiledStyleConfiguration;
 import com.github.ferstl.depgraph.graph.style.StyleConfiguration;
 import com.github.ferstl.depgraph.graph.style.resource.BuiltInStyleResource;
 import com.github.ferstl.depgraph.graph.style.resource.ClasspathStyleResource;
@@ -56,6 +71,7 @@ import com.github.ferstl.depgraph.graph.style.resource.StyleResource;
 import com.google.common.base.Joiner;
 import com.google.common.base.Splitter;
 import com.google.common.collect.Iterables;
+import com.google.common.io.Closer;
 
 /**
  * Abstract mojo to create all possible kinds of graphs in the dot format. Graphs are created with instances of the
@@ -68,7 +84,14 @@ abstract class AbstractGraphMojo extends AbstractMojo {
 
   private static final Pattern LINE_SEPARATOR_PATTERN = Pattern.compile("\r?\n");
   private static final String DOT_EXTENSION = ".dot";
+  private static final String GZIP_EXTENSION = ".gz";
+  private static final int GZIP_BUFFER_SIZE = 64 * 1024;
   private static final String OUTPUT_DOT_FILE_NAME = "dependency-graph" + DOT_EXTENSION;
+  private static final String METRICS_FILE_SUFFIX = "-metrics.json";
+  private static final String SPILL_DIRECTORY_NAME = "depgraph-spill";
+  private static final String GRAPHVIZ_IMAGE_RENDERER = "graphviz";
+  private static final String BUILTIN_IMAGE_RENDERER = "builtin";
+  private static final String SVG_FORMAT = "svg";
 
   /**
    * The scope of the artifacts that should be included in the graph. An empty string indicates all scopes (default).
@@ -110,14 +133,73 @@ abstract class AbstractGraphMojo extends AbstractMojo {
    */
   @Parameter(property = "targetIncludes", defaultValue = "")
   private List<String> targetIncludes;
+
+  /**
+   * Maximum depth of the dependency graph. Direct dependencies have depth 1. For aggregated graphs, the depth is
+   * counted from each module. Dependencies beyond this depth are neither processed nor shown in the graph. A negative
+   * value means unlimited depth.
+   *
+   * @since 2.1.0
+   */
+  @Parameter(property = "maxDepth", defaultValue = "-1")
+  private int maxDepth;
+
   /**
-   * The path to the generated dot file.
+   * The path to the generated dot file. If the file name ends with {@code .gz}, all graph files are compressed with
+   * gzip while they are written and the files of the other {@link #outputFormats} get the {@code .gz} extension as
+   * well. Compressed dot files are decompressed on the fly when an image is created with Graphviz.
    *
    * @since 1.0.0
    */
   @Parameter(property = "outputFile", defaultValue = "${project.build.directory}/" + OUTPUT_DOT_FILE_NAME)
   private File outputFile;
 
+  /**
+   * The formats of the generated graph files. All formats are written from the same dependency traversal. Files of
+   * formats other than {@code dot} are written next to the {@link #outputFile} with the extension of the format.
+   * Transitive edge reduction and collapsed cycles are only applied to the {@code dot} format. Supported formats:
+   * <ul>
+   * <li>{@code dot} (default): Graphviz' DOT format.</li>
+   * <li>{@code json}: Nodes with their coordinates, scopes and resolution and edges with the resolution, scope and
+   * version of their target ({@code .json}).</li>
+   * <li>{@code binary}: Compact binary format that can be loaded with
+   * {@link com.github.ferstl.depgraph.graph.BinaryGraph} ({@code .dgb}).</li>
+   * <li>{@code graphml}: <a href="http://graphml.graphdrawing.org/">GraphML</a> with the coordinates, scopes and
+   * resolutions as attributes ({@code .graphml}).</li>
+   * <li>{@code gexf}: <a href="https://gephi.org/gexf/format/">GEXF</a> for Gephi with the same attributes as
+   * {@code graphml} ({@code .gexf}).</li>
+   * <li>{@code edges}: Tab-separated pairs of node names, one edge per line ({@code .edges}).</li>
+   * <li>{@code tree}: Indented text tree of the traversed dependencies in the style of {@code mvn dependency:tree},
+   * written while the dependencies are traversed ({@code .txt}).</li>
+   * </ul>
+   *
+   * @since 2.1.0
+   */
+  @Parameter(property = "outputFormats", defaultValue = "dot")
+  private List<String> outputFormats;
+
+  /**
+   * If set to {@code true}, existing graph files are only replaced if their content changes. The generated content is
+   * compared with the existing file while it is written, and a changed file is replaced atomically by moving a
+   * temporary file in its place. Unchanged files keep their timestamp, which avoids triggering file watchers or
+   * subsequent build steps. The graph image is not created again if the dot file did not change and the image exists.
+   *
+   * @since 2.1.0
+   */
+  @Parameter(property = "writeIfChanged", defaultValue = "false")
+  private boolean writeIfChanged;
+
+  /**
+   * If set to {@code true}, the traversed dependencies are printed as indented text tree on the console. The tree is
+   * written during the same traversal as the graph files and shows the same dependencies. This is the console
+   * counterpart of the {@code tree} output format.
+   *
+   * @see #outputFormats
+   * @since 2.1.0
+   */
+  @Parameter(property = "printTree", defaultValue = "false")
+  private boolean printTree;
+
   /**
    * If set to {@code true} and Graphviz is installed on the system where this plugin is executed, the dot file will be
    * converted to a graph image using Graphviz' dot executable.
@@ -137,6 +219,20 @@ abstract class AbstractGraphMojo extends AbstractMojo {
   @Parameter(property = "imageFormat", defaultValue = "png")
   private String imageFormat;
 
+  /**
+   * The renderer to use when {@link #createImage} is set to {@code true}:
+   * <ul>
+   * <li>{@code graphviz} (default): Runs Graphviz' dot executable. Supports all image formats and styles.</li>
+   * <li>{@code builtin}: Lays out and renders the graph within the plugin without launching any external process.
+   * This renderer supports only the {@code svg} image format and a subset of the styling options. It is intended for
+   * small and medium sized graphs.</li>
+   * </ul>
+   *
+   * @since 2.1.0
+   */
+  @Parameter(property = "imageRenderer", defaultValue = GRAPHVIZ_IMAGE_RENDERER)
+  private String imageRenderer;
+
   /**
    * Path to the dot executable. Use this option in case {@link #createImage} is set to {@code true} and the dot
    * executable is not on the system {@code PATH}.
@@ -146,6 +242,82 @@ abstract class AbstractGraphMojo extends AbstractMojo {
   @Parameter(property = "dotExecutable")
   private File dotExecutable;
 
+  /**
+   * If set to {@code true}, all edges {@code A -> C} are removed from the graph when another path, e.g.
+   * {@code A -> B -> C}, exists. This does not change the nodes of the graph or the information which node depends on
+   * which other nodes (directly or transitively). But it makes large graphs, especially aggregated graphs, much more
+   * readable and faster to lay out.
+   *
+   * @see #showTransitiveEdges
+   * @since 2.1.0
+   */
+  @Parameter(property = "reduceTransitiveEdges", defaultValue = "false")
+  private boolean reduceTransitiveEdges;
+
+  /**
+   * If set to {@code true}, the edges removed by {@link #reduceTransitiveEdges} are shown as faint lines.
+   *
+   * @since 2.1.0
+   */
+  @Parameter(property = "showTransitiveEdges", defaultValue = "false")
+  private boolean showTransitiveEdges;
+
+  /**
+   * Maximum number of edges to hold in memory. When this number is exceeded, the edges are written to temporary files
+   * in the directory of the {@link #outputFile} and merged when the graph file is written. This allows creating very
+   * large (aggregated) graphs with a limited heap. Only the edges are limited: all nodes and their names are still
+   * held in memory, so the required heap grows with the number of nodes. Each spilled edge also takes about 10 bits of
+   * memory for detecting duplicate edges. The node attributes, e.g. labels, are created
+   * one by one while writing the graph file and are not retained. The edges in the graph file are sorted instead of
+   * being in the order they were discovered in this case. Since {@link #reduceTransitiveEdges}, {@link #collapseCycles},
+   * {@link #detectCycles} and the built-in {@link #imageRenderer} require all edges in memory, they should not be
+   * combined with this option. A value of {@code 0} or less keeps all edges in memory.
+   *
+   * @since 2.1.0
+   */
+  @Parameter(property = "maxEdgesInMemory", defaultValue = "0")
+  private int maxEdgesInMemory;
+
+  /**
+   * If set to {@code true}, all dependency cycles in the graph are reported as warning on the console. This is mostly
+   * useful for aggregated graphs, where cycles between modules may occur through version ranges or parent projects.
+   *
+   * @see #collapseCycles
+   * @since 2.1.0
+   */
+  @Parameter(property = "detectCycles", defaultValue = "false")
+  private boolean detectCycles;
+
+  /**
+   * If set to {@code true}, all nodes that are part of a dependency cycle are collapsed into a single node. Implies
+   * {@link #detectCycles}.
+   *
+   * @since 2.1.0
+   */
+  @Parameter(property = "collapseCycles", defaultValue = "false")
+  private boolean collapseCycles;
+
+  /**
+   * If set to {@code true}, the metrics of the graph creation are written as JSON file next to the
+   * {@link #outputFile}. The file is named like the output file with the suffix {@code -metrics.json} and contains the
+   * wall time and allocated bytes of each phase, the resolution time of each module and the number of nodes, edges,
+   * filtered nodes and duplicate edges.
+   *
+   * @see #printMetrics
+   * @since 2.1.0
+   */
+  @Parameter(property = "writeMetrics", defaultValue = "false")
+  private boolean writeMetrics;
+
+  /**
+   * If set to {@code false}, the summary of the graph metrics is not printed on the console.
+   *
+   * @see #writeMetrics
+   * @since 2.1.0
+   */
+  @Parameter(property = "printMetrics", defaultValue = "true")
+  private boolean printMetrics;
+
   /**
    * Path to a custom style configuration in JSON format.
    *
@@ -177,21 +349,101 @@ abstract class AbstractGraphMojo extends AbstractMojo {
   @Component
   DependencyTreeBuilder dependencyTreeBuilder;
 
+  private GraphMetrics metrics;
+
   @Override
+  // Measurements are closed by try-with-resources without being referenced
+  @SuppressWarnings("try")
   public final void execute() throws MojoExecutionException, MojoFailureException {
-    ArtifactFilter globalFilter = createGlobalArtifactFilter();
-    ArtifactFilter targetFilter = createTargetArtifactFilter();
-    StyleConfiguration styleConfiguration = loadStyleConfiguration();
+    this.metrics = new GraphMetrics();
+
+    ArtifactFilter globalFilter;
+    ArtifactFilter targetFilter;
+    try (Measurement measurement = this.metrics.start(GraphMetrics.FILTER_CREATION)) {
+      globalFilter = createGlobalArtifactFilter();
+      targetFilter = createTargetArtifactFilter();
+    }
+
+    CompiledStyleConfiguration styleConfiguration;
+    try (Measurement measurement = this.metrics.start(GraphMetrics.STYLE_LOADING)) {
+      styleConfiguration = loadStyleConfiguration();
+    }
+    boolean builtinImageRenderer = useBuiltinImageRenderer();
+    Set<OutputFormat> formats = getOutputFormats();
+    if (this.createImage && !builtinImageRenderer && !formats.contains(OutputFormat.DOT)) {
+      throw new MojoFailureException("Creating images with Graphviz requires the 'dot' output format.");
+    }
+
+    try (DotBuilder<GraphNode> dotBuilder = createDotBuilder(styleConfiguration)) {
+      if (this.maxEdgesInMemory > 0) {
+        dotBuilder.spillEdges(getSpillDirectory(), this.maxEdgesInMemory);
+      }
+      if (this.reduceTransitiveEdges) {
+        dotBuilder.reduceTransitiveEdges(this.showTransitiveEdges);
+      }
+      if (this.collapseCycles) {
+        dotBuilder.collapseCycles();
+      }
+      GraphFactory graphFactory = createGraphFactory(globalFilter, targetFilter, dotBuilder);
+
+      List<MeasuringOutputStream> outputStreams = new ArrayList<>();
+      Map<OutputFormat, ChangeDetectingOutputStream> changeDetectingStreams = new EnumMap<>(OutputFormat.class);
+      // The file streams are closed after the graph writers and the streams wrapping the file streams
+      Closer fileCloser = Closer.create();
+      try {
+        Closer closer = Closer.create();
+        try {
+          attachGraphWriters(dotBuilder, formats, outputStreams, changeDetectingStreams, fileCloser, closer);
+
+          graphFactory.createGraph(this.project);
+          this.metrics.add(GraphMetrics.NODES, dotBuilder.getNodeCount());
+          this.metrics.add(GraphMetrics.EDGES, dotBuilder.getEdgeCount());
+          this.metrics.add(GraphMetrics.DUPLICATE_EDGES, dotBuilder.getDuplicateEdgeCount());
+
+          if (this.detectCycles || this.collapseCycles) {
+            reportCycles(dotBuilder);
+          }
+
+          completeGraph(dotBuilder, outputStreams);
+        } catch (Throwable t) {
+          throw closer.rethrow(t);
+        } finally {
+          closer.close();
+        }
+
+        // Only complete once all graph writers were closed successfully, i.e. all buffers and gzip trailers were written
+        for (ChangeDetectingOutputStream os : changeDetectingStreams.values()) {
+          os.complete();
+        }
+      } catch (Throwable t) {
+        throw fileCloser.rethrow(t);
+      } finally {
+        fileCloser.close();
+      }
 
-    try {
-      GraphFactory graphFactory = createGraphFactory(globalFilter, targetFilter, styleConfiguration);
+      boolean dotFileChanged = reportUnchangedFiles(changeDetectingStreams);
 
-      writeDotFile(graphFactory.createGraph(this.project));
+      for (MeasuringOutputStream os : outputStreams) {
+        this.metrics.record(GraphMetrics.FILE_WRITE, os.getWriteTimeNanos());
+        this.metrics.add(GraphMetrics.BYTES_WRITTEN, os.getBytesWritten());
+      }
 
-      if (this.createImage) {
-        createGraphImage();
+      if (this.createImage && !dotFileChanged && Files.exists(getGraphImageFile())) {
+        getLog().info("Graph image " + getGraphImageFile().toAbsolutePath() + " is up to date");
+      } else if (this.createImage) {
+        try (Measurement measurement = this.metrics.start(GraphMetrics.IMAGE_CREATION)) {
+          Path graphFile;
+          if (builtinImageRenderer) {
+            graphFile = renderGraphImage(dotBuilder);
+          } else {
+            graphFile = createGraphImage();
+          }
+
+          measurement.nodeCount(dotBuilder.getNodeCount()).edgeCount(dotBuilder.getEdgeCount()).bytesWritten(Files.size(graphFile));
+        }
       }
 
+      reportMetrics();
     } catch (DependencyGraphException e) {
       throw new MojoExecutionException("Unable to create dependency graph.", e.getCause());
     } catch (IOException e) {
@@ -199,7 +451,44 @@ abstract class AbstractGraphMojo extends AbstractMojo {
     }
   }
 
-  protected abstract GraphFactory createGraphFactory(ArtifactFilter globalFilter, ArtifactFilter targetFilter, StyleConfiguration styleConfiguration);
+  private void reportCycles(DotBuilder<GraphNode> dotBuilder) {
+    List<List<String>> cycles = dotBuilder.findCycles();
+    for (List<String> cycle : cycles) {
+      getLog().warn("Dependency cycle: " + Joiner.on(" -> ").join(cycle));
+    }
+
+    getLog().info("Found " + cycles.size() + " dependency cycle(s)");
+  }
+
+  private void reportMetrics() throws IOException {
+    if (this.printMetrics) {
+      getLog().info("Graph metrics:");
+      for (String line : this.metrics.createSummary()) {
+        getLog().info("  " + line);
+      }
+    }
+
+    if (this.writeMetrics) {
+      Path metricsFile = this.outputFile.toPath().resolveSibling(createMetricsFileName());
+      Files.write(metricsFile, this.metrics.toJson().getBytes(StandardCharsets.UTF_8));
+      getLog().info("Graph metrics written to " + metricsFile.toAbsolutePath());
+    }
+  }
+
+  int getMaxDepth() {
+    return this.maxDepth < 0 ? Integer.MAX_VALUE : this.maxDepth;
+  }
+
+  /**
+   * Metrics of the current execution, e.g. for recording the resolution time of each module.
+   */
+  GraphMetrics getMetrics() {
+    return this.metrics;
+  }
+
+  protected abstract GraphFactory createGraphFactory(ArtifactFilter globalFilter, ArtifactFilter targetFilter, DotBuilder<GraphNode> dotBuilder);
+
+  protected abstract DotBuilder<GraphNode> createDotBuilder(CompiledStyleConfiguration styleConfiguration);
 
   /**
    * Override this method to configure additional style resources. It is recommendet to call
@@ -213,34 +502,19 @@ abstract class AbstractGraphMojo extends AbstractMojo {
   }
 
   private ArtifactFilter createGlobalArtifactFilter() {
-    AndArtifactFilter filter = new AndArtifactFilter();
-
-    if (this.scope != null) {
-      filter.add(new ScopeArtifactFilter(this.scope));
-    }
-
-    if (!this.includes.isEmpty()) {
-      filter.add(new StrictPatternIncludesArtifactFilter(this.includes));
-    }
-
-    if (!this.excludes.isEmpty()) {
-      filter.add(new StrictPatternExcludesArtifactFilter(this.excludes));
-    }
-
-    return filter;
+    return new CompiledArtifactFilter(this.scope, this.includes, this.excludes);
   }
 
   private ArtifactFilter createTargetArtifactFilter() {
-    AndArtifactFilter filter = new AndArtifactFilter();
-
-    if (!this.targetIncludes.isEmpty()) {
-      filter.add(new StrictPatternIncludesArtifactFilter(this.targetIncludes));
+    // Without target includes, the graph does not need to be searched for target dependencies
+    if (this.targetIncludes.isEmpty()) {
+      return DoNothingArtifactFilter.INSTANCE;
     }
 
-    return filter;
+    return new CompiledArtifactFilter(null, this.targetIncludes, Collections.<String>emptyList());
   }
 
-  private StyleConfiguration loadStyleConfiguration() throws MojoFailureException {
+  private CompiledStyleConfiguration loadStyleConfiguration() throws MojoFailureException {
     // default style resources
     ClasspathStyleResource defaultStyleResource = BuiltInStyleResource.DEFAULT_STYLE.createStyleResource(getClass().getClassLoader());
 
@@ -257,13 +531,13 @@ abstract class AbstractGraphMojo extends AbstractMojo {
       styleResources.add(customStyleResource);
     }
 
-    // load and print
-    StyleConfiguration styleConfiguration = StyleConfiguration.load(defaultStyleResource, styleResources.toArray(new StyleResource[0]));
+    // print and load
+    StyleResource[] overrides = styleResources.toArray(new StyleResource[0]);
     if (this.printStyleConfiguration) {
-      getLog().info("Using effective style configuration:\n" + styleConfiguration.toJson());
+      getLog().info("Using effective style configuration:\n" + StyleConfiguration.load(defaultStyleResource, overrides).toJson());
     }
 
-    return styleConfiguration;
+    return StyleConfiguration.loadCompiled(defaultStyleResource, overrides);
   }
 
   private StyleResource getCustomStyleResource() throws MojoFailureException {
@@ -282,27 +556,148 @@ abstract class AbstractGraphMojo extends AbstractMojo {
     return customStyleResource;
   }
 
-  private void writeDotFile(String dotGraph) throws IOException {
-    Path outputFilePath = this.outputFile.toPath();
-    Path parent = outputFilePath.getParent();
+  private void attachGraphWriters(DotBuilder<GraphNode> dotBuilder, Set<OutputFormat> formats, List<MeasuringOutputStream> outputStreams,
+      Map<OutputFormat, ChangeDetectingOutputStream> changeDetectingStreams, Closer fileCloser, Closer closer) throws IOException {
+    Path parent = this.outputFile.toPath().getParent();
     if (parent != null) {
       Files.createDirectories(parent);
     }
 
-    try (Writer writer = Files.newBufferedWriter(outputFilePath, StandardCharsets.UTF_8)) {
-      writer.write(dotGraph);
+    for (OutputFormat format : formats) {
+      OutputStream fileStream;
+      if (this.writeIfChanged) {
+        ChangeDetectingOutputStream changeDetectingStream = fileCloser.register(new ChangeDetectingOutputStream(getOutputFile(format)));
+        changeDetectingStreams.put(format, changeDetectingStream);
+        fileStream = changeDetectingStream;
+      } else {
+        fileStream = fileCloser.register(Files.newOutputStream(getOutputFile(format)));
+      }
+
+      // Does not close the file stream
+      MeasuringOutputStream os = closer.register(new MeasuringOutputStream(fileStream));
+      outputStreams.add(os);
+      // The byte count of the measuring stream is the compressed size
+      OutputStream graphStream = isCompressed() ? new GZIPOutputStream(os, GZIP_BUFFER_SIZE) : os;
+      dotBuilder.addGraphWriter(closer.register(format.createGraphWriter(dotBuilder, graphStream)));
+    }
+
+    if (this.printTree) {
+      dotBuilder.addGraphWriter(closer.register(new TextTreeWriter(new LogWriter(getLog()))));
+    }
+  }
+
+  private void completeGraph(DotBuilder<GraphNode> dotBuilder, List<MeasuringOutputStream> outputStreams) throws IOException {
+    try (Measurement measurement = this.metrics.start(GraphMetrics.RENDERING)) {
+      dotBuilder.completeGraph();
+
+      long bytesWritten = 0;
+      for (MeasuringOutputStream os : outputStreams) {
+        bytesWritten += os.getBytesWritten();
+      }
+      measurement.nodeCount(dotBuilder.getNodeCount()).edgeCount(dotBuilder.getEdgeCount()).bytesWritten(bytesWritten);
+    }
+  }
+
+  /**
+   * Reports the graph files that were not replaced because their content did not change.
+   *
+   * @return {@code true} if the dot file was written, {@code false} if it was not changed.
+   */
+  private boolean reportUnchangedFiles(Map<OutputFormat, ChangeDetectingOutputStream> changeDetectingStreams) {
+    for (Entry<OutputFormat, ChangeDetectingOutputStream> entry : changeDetectingStreams.entrySet()) {
+      if (!entry.getValue().isChanged()) {
+        getLog().info("Graph file " + getOutputFile(entry.getKey()).toAbsolutePath() + " is unchanged");
+      }
+    }
+
+    ChangeDetectingOutputStream dotFileStream = changeDetectingStreams.get(OutputFormat.DOT);
+    return dotFileStream == null || dotFileStream.isChanged();
+  }
+
+  private Set<OutputFormat> getOutputFormats() throws MojoFailureException {
+    Set<OutputFormat> formats = EnumSet.noneOf(OutputFormat.class);
+    for (String format : this.outputFormats) {
+      if (StringUtils.isNotBlank(format)) {
+        try {
+          formats.add(OutputFormat.forName(format));
+        } catch (IllegalArgumentException e) {
+          throw new MojoFailureException("Unknown output format '" + format + "'. Supported formats: "
+              + Joiner.on(", ").join(OutputFormat.values()).toLowerCase(Locale.ENGLISH));
+        }
+      }
+    }
+
+    if (formats.isEmpty()) {
+      formats.add(OutputFormat.DOT);
+    }
+
+    return formats;
+  }
+
+  private Path getOutputFile(OutputFormat format) {
+    Path outputFilePath = this.outputFile.toPath();
+    if (format == OutputFormat.DOT) {
+      return outputFilePath;
+    }
+
+    String dotFileName = getUncompressedFileName();
+    String baseName = dotFileName.endsWith(DOT_EXTENSION) ? dotFileName.substring(0, dotFileName.lastIndexOf(".")) : dotFileName;
+    return outputFilePath.resolveSibling(baseName + format.getFileExtension() + (isCompressed() ? GZIP_EXTENSION : ""));
+  }
+
+  private boolean isCompressed() {
+    return this.outputFile.getName().endsWith(GZIP_EXTENSION);
+  }
+
+  private String getUncompressedFileName() {
+    String fileName = this.outputFile.getName();
+    return isCompressed() ? fileName.substring(0, fileName.length() - GZIP_EXTENSION.length()) : fileName;
+  }
+
+  private Path getSpillDirectory() {
+    Path outputDirectory = this.outputFile.getAbsoluteFile().toPath().getParent();
+    return outputDirectory.resolve(SPILL_DIRECTORY_NAME);
+  }
+
+  private boolean useBuiltinImageRenderer() throws MojoFailureException {
+    if (BUILTIN_IMAGE_RENDERER.equalsIgnoreCase(this.imageRenderer)) {
+      if (this.createImage && !SVG_FORMAT.equalsIgnoreCase(this.imageFormat)) {
+        throw new MojoFailureException("The built-in image renderer supports only the '" + SVG_FORMAT + "' image format.");
+      }
+
+      return true;
+    } else if (!GRAPHVIZ_IMAGE_RENDERER.equalsIgnoreCase(this.imageRenderer)) {
+      throw new MojoFailureException("Unknown image renderer '" + this.imageRenderer + "'. Use either '"
+          + GRAPHVIZ_IMAGE_RENDERER + "' or '" + BUILTIN_IMAGE_RENDERER + "'.");
+    }
+
+    return false;
+  }
+
+  private Path getGraphImageFile() {
+    return this.outputFile.toPath().getParent().resolve(createGraphFileName());
+  }
+
+  private Path renderGraphImage(DotBuilder<GraphNode> dotBuilder) throws IOException {
+    Path graphFile = getGraphImageFile();
+
+    try (Writer writer = Files.newBufferedWriter(graphFile, StandardCharsets.UTF_8)) {
+      SvgRenderer.render(dotBuilder, writer);
     }
+
+    getLog().info("Graph image created on " + graphFile.toAbsolutePath());
+    return graphFile;
   }
 
-  private void createGraphImage() throws IOException {
-    String graphFileName = createGraphFileName();
-    Path graphFile = this.outputFile.toPath().getParent().resolve(graphFileName);
+  private Path createGraphImage() throws IOException {
+    Path graphFile = getGraphImageFile();
 
     String dotExecutable = determineDotExecutable();
-    String[] arguments = new String[]{
-        "-T", this.imageFormat,
-        "-o", graphFile.toAbsolutePath().toString(),
-        this.outputFile.getAbsolutePath()};
+    // Compressed graphs are decompressed into Graphviz' standard input
+    boolean compressed = isCompressed();
+    String[] arguments = compressed
+        ? new String[]{"-T", this.imageFormat, "-o", graphFile.toAbsolutePath().toString()}
+        : new String[]{"-T", this.imageFormat, "-o", graphFile.toAbsolutePath().toString(), this.outputFile.getAbsolutePath()};
 
     Commandline cmd = new Commandline();
     cmd.setExecutable(dotExecutable);
@@ -314,8 +709,8 @@ abstract class AbstractGraphMojo extends AbstractMojo {
     StringStreamConsumer systemErr = new StringStreamConsumer();
     int exitCode;
 
-    try {
-      exitCode = CommandLineUtils.executeCommandLine(cmd, systemOut, systemErr);
+    try (InputStream systemIn = compressed ? new GZIPInputStream(Files.newInputStream(this.outputFile.toPath()), GZIP_BUFFER_SIZE) : null) {
+      exitCode = CommandLineUtils.executeCommandLine(cmd, systemIn, systemOut, systemErr);
     } catch (CommandLineException e) {
       throw new IOException("Unable to execute Graphviz", e);
     }
@@ -334,10 +729,20 @@ abstract class AbstractGraphMojo extends AbstractMojo {
     }
 
     getLog().info("Graph image created on " + graphFile.toAbsolutePath());
+    return graphFile;
+  }
+
+  private String createMetricsFileName() {
+    String dotFileName = getUncompressedFileName();
+    if (dotFileName.endsWith(DOT_EXTENSION)) {
+      return dotFileName.substring(0, dotFileName.lastIndexOf(".")) + METRICS_FILE_SUFFIX;
+    }
+
+    return dotFileName + METRICS_FILE_SUFFIX;
   }
 
   private String createGraphFileName() {
-    String dotFileName = this.outputFile.getName();
+    String dotFileName = getUncompressedFileName();
 
     String graphFileName;
     if (dotFileName.endsWith(DOT_EXTENSION)) {
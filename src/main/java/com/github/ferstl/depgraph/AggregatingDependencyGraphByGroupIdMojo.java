@@ -27,7 +27,7 @@ import com.github.ferstl.depgraph.graph.GraphBuilderAdapter;
 import com.github.ferstl.depgraph.graph.GraphFactory;
 import com.github.ferstl.depgraph.graph.GraphNode;
 import com.github.ferstl.depgraph.graph.NodeNameRenderers;
-import com.github.ferstl.depgraph.graph.style.StyleConfiguration;
+import com.github.ferstl.depgraph.graph.style.CompiledStyleConfiguration;
 import com.github.ferstl.depgraph.graph.style.resource.BuiltInStyleResource;
 
 /**
@@ -44,8 +44,13 @@ import com.github.ferstl.depgraph.graph.style.resource.BuiltInStyleResource;
 public class AggregatingDependencyGraphByGroupIdMojo extends AbstractAggregatingGraphMojo {
 
   @Override
-  protected GraphFactory createGraphFactory(ArtifactFilter globalFilter, ArtifactFilter targetFilter, StyleConfiguration styleConfiguration) {
+  protected GraphFactory createGraphFactory(ArtifactFilter globalFilter, ArtifactFilter targetFilter, DotBuilder<GraphNode> dotBuilder) {
+    GraphBuilderAdapter adapter = new GraphBuilderAdapter(this.dependencyGraphBuilder, targetFilter, getMaxDepth(), getMetrics());
+    return new AggregatingGraphFactory(adapter, globalFilter, dotBuilder, true);
+  }
 
+  @Override
+  protected DotBuilder<GraphNode> createDotBuilder(CompiledStyleConfiguration styleConfiguration) {
     DotBuilder<GraphNode> dotBuilder = new DotBuilder<>();
     dotBuilder
         .nodeStyle(styleConfiguration.defaultNodeAttributes())
@@ -54,8 +59,7 @@ public class AggregatingDependencyGraphByGroupIdMojo extends AbstractAggregating
         .useNodeAttributeRenderer(new DependencyNodeAttributeRenderer(true, false, false, styleConfiguration))
         .omitSelfReferences();
 
-    GraphBuilderAdapter adapter = new GraphBuilderAdapter(this.dependencyGraphBuilder, targetFilter);
-    return new AggregatingGraphFactory(adapter, globalFilter, dotBuilder, true);
+    return dotBuilder;
   }
 
   @Override
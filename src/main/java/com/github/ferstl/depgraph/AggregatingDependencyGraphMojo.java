@@ -28,7 +28,7 @@ import com.github.ferstl.depgraph.graph.GraphBuilderAdapter;
 import com.github.ferstl.depgraph.graph.GraphFactory;
 import com.github.ferstl.depgraph.graph.GraphNode;
 import com.github.ferstl.depgraph.graph.NodeNameRenderers;
-import com.github.ferstl.depgraph.graph.style.StyleConfiguration;
+import com.github.ferstl.depgraph.graph.style.CompiledStyleConfiguration;
 
 /**
  * Aggregates all dependencies of a multi-module project into one single graph.
@@ -69,7 +69,13 @@ public class AggregatingDependencyGraphMojo extends AbstractAggregatingGraphMojo
   private boolean includeParentProjects;
 
   @Override
-  protected GraphFactory createGraphFactory(ArtifactFilter globalFilter, ArtifactFilter targetFilter, StyleConfiguration styleConfiguration) {
+  protected GraphFactory createGraphFactory(ArtifactFilter globalFilter, ArtifactFilter targetFilter, DotBuilder<GraphNode> dotBuilder) {
+    GraphBuilderAdapter adapter = new GraphBuilderAdapter(this.dependencyGraphBuilder, targetFilter, getMaxDepth(), getMetrics());
+    return new AggregatingGraphFactory(adapter, globalFilter, dotBuilder, this.includeParentProjects);
+  }
+
+  @Override
+  protected DotBuilder<GraphNode> createDotBuilder(CompiledStyleConfiguration styleConfiguration) {
     DotBuilder<GraphNode> dotBuilder = new DotBuilder<>();
     dotBuilder.useNodeAttributeRenderer(new DependencyNodeAttributeRenderer(this.showGroupIds, true, this.showVersions, styleConfiguration))
         .nodeStyle(styleConfiguration.defaultNodeAttributes())
@@ -83,7 +89,6 @@ public class AggregatingDependencyGraphMojo extends AbstractAggregatingGraphMojo
     // This graph won't show any conflicting dependencies. So showVersions must always be false
     dotBuilder.useEdgeAttributeRenderer(new DependencyEdgeAttributeRenderer(false, styleConfiguration));
 
-    GraphBuilderAdapter adapter = new GraphBuilderAdapter(this.dependencyGraphBuilder, targetFilter);
-    return new AggregatingGraphFactory(adapter, globalFilter, dotBuilder, this.includeParentProjects);
+    return dotBuilder;
   }
 }
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import com.google.common.io.ByteStreams;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Output stream that replaces a file only if the written content differs from the existing content. The written
+ * bytes are compared chunk by chunk against the existing file. As long as they are equal, nothing is written to disk.
+ * On the first difference, the already compared part of the existing file is copied into a temporary file in the same
+ * directory and all further bytes are written to this temporary file. When the stream is closed after
+ * {@link #complete()} was called, the temporary file atomically replaces the existing file. Without calling
+ * {@link #complete()}, e.g. in case of an error, the existing file stays untouched.
+ */
+final class ChangeDetectingOutputStream extends OutputStream {
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+  private final Path file;
+  private final byte[] compareBuffer;
+  // Existing content as long as the written bytes are equal to it
+  private InputStream existingContent;
+  private long comparedBytes;
+  private Path tempFile;
+  private OutputStream tempStream;
+  private boolean complete;
+  private boolean changed;
+  private boolean closed;
+
+  ChangeDetectingOutputStream(Path file) throws IOException {
+    this.file = file;
+    this.compareBuffer = new byte[BUFFER_SIZE];
+
+    if (Files.isRegularFile(file)) {
+      this.existingContent = new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE);
+    } else {
+      createTempFile();
+    }
+  }
+
+  @Override
+  public void write(int b) throws IOException {
+    if (this.existingContent != null) {
+      if (this.existingContent.read() == (b & 0xff)) {
+        this.comparedBytes++;
+        return;
+      }
+
+      diverge();
+    }
+
+    this.tempStream.write(b);
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) throws IOException {
+    int offset = off;
+    int length = len;
+    if (this.existingContent != null) {
+      int equalBytes = compare(b, off, len);
+      this.comparedBytes += equalBytes;
+      if (equalBytes == len) {
+        return;
+      }
+
+      diverge();
+      offset += equalBytes;
+      length -= equalBytes;
+    }
+
+    this.tempStream.write(b, offset, length);
+  }
+
+  @Override
+  public void flush() throws IOException {
+    if (this.tempStream != null) {
+      this.tempStream.flush();
+    }
+  }
+
+  /**
+   * Marks the written content as complete. Only complete content replaces the existing file when this stream is
+   * closed. So this method must only be called after all streams writing to this stream were flushed and closed
+   * successfully, e.g. after a {@link java.util.zip.GZIPOutputStream} has written its trailer.
+   */
+  void complete() {
+    this.complete = true;
+  }
+
+  /**
+   * Indicates whether the file was created or replaced when this stream was closed.
+   *
+   * @return {@code true} if the file was written, {@code false} if the content did not change.
+   */
+  boolean isChanged() {
+    return this.changed;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (this.closed) {
+      return;
+    }
+
+    this.closed = true;
+    try {
+      if (this.complete) {
+        // The new content is shorter than the existing file
+        if (this.existingContent != null && this.existingContent.read() >= 0) {
+          diverge();
+        }
+
+        if (this.tempStream != null) {
+          this.tempStream.close();
+          replaceFile();
+          this.changed = true;
+        }
+      }
+    } finally {
+      if (this.existingContent != null) {
+        this.existingContent.close();
+      }
+      if (this.tempStream != null) {
+        this.tempStream.close();
+        Files.deleteIfExists(this.tempFile);
+      }
+    }
+  }
+
+  /**
+   * Returns the number of bytes at the beginning of the given chunk that are equal to the existing content.
+   */
+  private int compare(byte[] b, int off, int len) throws IOException {
+    int equalBytes = 0;
+    while (equalBytes < len) {
+      int read = this.existingContent.read(this.compareBuffer, 0, Math.min(len - equalBytes, BUFFER_SIZE));
+      if (read < 0) {
+        return equalBytes;
+      }
+
+      for (int i = 0; i < read; i++) {
+        if (this.compareBuffer[i] != b[off + equalBytes + i]) {
+          return equalBytes + i;
+        }
+      }
+
+      equalBytes += read;
+    }
+
+    return equalBytes;
+  }
+
+  /**
+   * Stops the comparison and copies the equal part of the existing content into the temporary file.
+   */
+  private void diverge() throws IOException {
+    this.existingContent.close();
+    this.existingContent = null;
+
+    createTempFile();
+    try (InputStream is = Files.newInputStream(this.file)) {
+      ByteStreams.copy(ByteStreams.limit(is, this.comparedBytes), this.tempStream);
+    }
+  }
+
+  /**
+   * Creates the temporary file next to the target file. Unlike {@link Files#createTempFile}, the file gets the default
+   * permissions since it will replace the target file.
+   */
+  private void createTempFile() throws IOException {
+    this.tempFile = this.file.resolveSibling(this.file.getFileName() + "." + UUID.randomUUID() + TEMP_FILE_SUFFIX);
+    this.tempStream = new BufferedOutputStream(Files.newOutputStream(this.tempFile, CREATE_NEW, WRITE), BUFFER_SIZE);
+  }
+
+  private void replaceFile() throws IOException {
+    try {
+      Files.move(this.tempFile, this.file, ATOMIC_MOVE, REPLACE_EXISTING);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(this.tempFile, this.file, REPLACE_EXISTING);
+    }
+  }
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
+import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+import org.apache.maven.artifact.versioning.InvalidVersionSpecificationException;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.apache.maven.shared.artifact.filter.ScopeArtifactFilter;
+import org.apache.maven.shared.artifact.filter.StrictPatternExcludesArtifactFilter;
+import org.apache.maven.shared.artifact.filter.StrictPatternIncludesArtifactFilter;
+import com.google.common.base.Joiner;
+
+/**
+ * Artifact filter combining a {@link ScopeArtifactFilter}, a {@link StrictPatternIncludesArtifactFilter} and a
+ * {@link StrictPatternExcludesArtifactFilter} with exactly the same semantics. The patterns are parsed only once and
+ * patterns without wildcards and version ranges are matched with hash lookups. Since the same artifacts are filtered
+ * over and over again while traversing dependency graphs, the decision is memoized per artifact coordinate.
+ */
+final class CompiledArtifactFilter implements ArtifactFilter {
+
+  // groupId:artifactId:type:baseVersion
+  private static final int MAX_SEGMENTS = 4;
+  private static final Joiner COLON_JOINER = Joiner.on(":").useForNull("null");
+
+  private final ScopeArtifactFilter scopeFilter;
+  private final PatternMatcher includes;
+  private final PatternMatcher excludes;
+  private final Map<String, Boolean> decisions;
+
+  /**
+   * Constructor.
+   *
+   * @param scope The scope for a {@link ScopeArtifactFilter} or {@code null} to include all scopes.
+   * @param includes Include patterns. An empty list includes all artifacts.
+   * @param excludes Exclude patterns.
+   */
+  CompiledArtifactFilter(String scope, List<String> includes, List<String> excludes) {
+    this.scopeFilter = scope != null ? new ScopeArtifactFilter(scope) : null;
+    this.includes = !includes.isEmpty() ? new PatternMatcher(includes) : null;
+    this.excludes = !excludes.isEmpty() ? new PatternMatcher(excludes) : null;
+    this.decisions = new HashMap<>();
+  }
+
+  @Override
+  public boolean include(Artifact artifact) {
+    if (this.scopeFilter == null && this.includes == null && this.excludes == null) {
+      return true;
+    }
+
+    String key = COLON_JOINER.join(artifact.getGroupId(), artifact.getArtifactId(), artifact.getType(), artifact.getBaseVersion(), artifact.getScope());
+    Boolean decision = this.decisions.get(key);
+    if (decision == null) {
+      decision = computeDecision(artifact);
+      this.decisions.put(key, decision);
+    }
+
+    return decision;
+  }
+
+  private boolean computeDecision(Artifact artifact) {
+    if (this.scopeFilter != null && !this.scopeFilter.include(artifact)) {
+      return false;
+    }
+
+    String[] coordinates = {artifact.getGroupId(), artifact.getArtifactId(), artifact.getType(), artifact.getBaseVersion()};
+    if (this.includes != null && !this.includes.matches(coordinates)) {
+      return false;
+    }
+
+    return this.excludes == null || !this.excludes.matches(coordinates);
+  }
+
+  /**
+   * Matches the coordinates of an artifact against a list of patterns in the format
+   * {@code groupId:artifactId:type:version}.
+   */
+  private static final class PatternMatcher {
+
+    // Patterns consisting of literal segments only, grouped by their number of segments. The patterns are stored in
+    // their joined form.
+    private final List<Set<String>> literalPatterns;
+    private final List<SegmentMatcher[]> patterns;
+
+    PatternMatcher(List<String> patterns) {
+      this.literalPatterns = new ArrayList<>(MAX_SEGMENTS);
+      for (int i = 0; i < MAX_SEGMENTS; i++) {
+        this.literalPatterns.add(new HashSet<String>());
+      }
+      this.patterns = new ArrayList<>();
+
+      for (String pattern : patterns) {
+        String[] segments = pattern.split(":");
+        // Patterns with more segments never match
+        if (segments.length > MAX_SEGMENTS) {
+          continue;
+        }
+
+        SegmentMatcher[] matchers = new SegmentMatcher[segments.length];
+        boolean literal = true;
+        for (int i = 0; i < segments.length; i++) {
+          matchers[i] = SegmentMatcher.compile(segments[i]);
+          literal &= matchers[i].type == SegmentType.EQUALS;
+        }
+
+        if (literal) {
+          this.literalPatterns.get(segments.length - 1).add(COLON_JOINER.join(segments));
+        } else {
+          this.patterns.add(matchers);
+        }
+      }
+    }
+
+    boolean matches(String[] coordinates) {
+      StringBuilder prefix = new StringBuilder();
+      for (int i = 0; i < MAX_SEGMENTS; i++) {
+        prefix.append(i > 0 ? ":" : "").append(coordinates[i]);
+        Set<String> literals = this.literalPatterns.get(i);
+        if (!literals.isEmpty() && literals.contains(prefix.toString())) {
+          return true;
+        }
+      }
+
+      for (SegmentMatcher[] pattern : this.patterns) {
+        if (matches(pattern, coordinates)) {
+          return true;
+        }
+      }
+
+      return false;
+    }
+
+    private static boolean matches(SegmentMatcher[] pattern, String[] coordinates) {
+      for (int i = 0; i < pattern.length; i++) {
+        if (!pattern[i].matches(coordinates[i])) {
+          return false;
+        }
+      }
+
+      return true;
+    }
+  }
+
+  private enum SegmentType {
+    ANY, CONTAINS, ENDS_WITH, STARTS_WITH, RANGE, NONE, EQUALS
+  }
+
+  /**
+   * Matcher for a single segment of a pattern.
+   */
+  private static final class SegmentMatcher {
+
+    final SegmentType type;
+    private final String value;
+    private final VersionRange range;
+
+    private SegmentMatcher(SegmentType type, String value, VersionRange range) {
+      this.type = type;
+      this.value = value;
+      this.range = range;
+    }
+
+    static SegmentMatcher compile(String segment) {
+      if ("*".equals(segment) || segment.length() == 0) {
+        return new SegmentMatcher(SegmentType.ANY, null, null);
+      } else if (segment.startsWith("*") && segment.endsWith("*")) {
+        return new SegmentMatcher(SegmentType.CONTAINS, segment.substring(1, segment.length() - 1), null);
+      } else if (segment.startsWith("*")) {
+        return new SegmentMatcher(SegmentType.ENDS_WITH, segment.substring(1), null);
+      } else if (segment.endsWith("*")) {
+        return new SegmentMatcher(SegmentType.STARTS_WITH, segment.substring(0, segment.length() - 1), null);
+      } else if (segment.startsWith("[") || segment.startsWith("(")) {
+        try {
+          return new SegmentMatcher(SegmentType.RANGE, null, VersionRange.createFromVersionSpec(segment));
+        } catch (InvalidVersionSpecificationException e) {
+          return new SegmentMatcher(SegmentType.NONE, null, null);
+        }
+      }
+
+      return new SegmentMatcher(SegmentType.EQUALS, segment, null);
+    }
+
+    boolean matches(String coordinate) {
+      switch (this.type) {
+        case ANY:
+          return true;
+        case CONTAINS:
+          return coordinate.contains(this.value);
+        case ENDS_WITH:
+          return coordinate.endsWith(this.value);
+        case STARTS_WITH:
+          return coordinate.startsWith(this.value);
+        case RANGE:
+          return this.range.containsVersion(new DefaultArtifactVersion(coordinate));
+        case NONE:
+          return false;
+        default:
+          return coordinate.equals(this.value);
+      }
+    }
+  }
+}
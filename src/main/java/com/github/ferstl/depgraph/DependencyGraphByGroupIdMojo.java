@@ -28,7 +28,7 @@ import com.github.ferstl.depgraph.graph.GraphNode;
 import com.github.ferstl.depgraph.graph.NodeNameRenderers;
 import com.github.ferstl.depgraph.graph.NodeResolution;
 import com.github.ferstl.depgraph.graph.SimpleGraphFactory;
-import com.github.ferstl.depgraph.graph.style.StyleConfiguration;
+import com.github.ferstl.depgraph.graph.style.CompiledStyleConfiguration;
 import com.github.ferstl.depgraph.graph.style.resource.BuiltInStyleResource;
 import static java.util.EnumSet.allOf;
 
@@ -45,10 +45,8 @@ import static java.util.EnumSet.allOf;
 public class DependencyGraphByGroupIdMojo extends AbstractGraphMojo {
 
   @Override
-  protected GraphFactory createGraphFactory(ArtifactFilter globalFilter, ArtifactFilter targetFilter, StyleConfiguration styleConfiguration) {
-    DotBuilder<GraphNode> dotBuilder = createDotBuilder(styleConfiguration);
-
-    GraphBuilderAdapter adapter = new GraphBuilderAdapter(this.dependencyTreeBuilder, this.localRepository, targetFilter, allOf(NodeResolution.class));
+  protected GraphFactory createGraphFactory(ArtifactFilter globalFilter, ArtifactFilter targetFilter, DotBuilder<GraphNode> dotBuilder) {
+    GraphBuilderAdapter adapter = new GraphBuilderAdapter(this.dependencyTreeBuilder, this.localRepository, targetFilter, allOf(NodeResolution.class), getMaxDepth(), getMetrics());
     return new SimpleGraphFactory(adapter, globalFilter, dotBuilder);
   }
 
@@ -60,7 +58,8 @@ public class DependencyGraphByGroupIdMojo extends AbstractGraphMojo {
     return resources;
   }
 
-  private DotBuilder<GraphNode> createDotBuilder(StyleConfiguration styleConfiguration) {
+  @Override
+  protected DotBuilder<GraphNode> createDotBuilder(CompiledStyleConfiguration styleConfiguration) {
     DotBuilder<GraphNode> dotBuilder = new DotBuilder<>();
     dotBuilder
         .nodeStyle(styleConfiguration.defaultNodeAttributes())
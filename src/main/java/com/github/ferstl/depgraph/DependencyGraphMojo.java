@@ -30,10 +30,8 @@ import com.github.ferstl.depgraph.graph.GraphNode;
 import com.github.ferstl.depgraph.graph.NodeNameRenderers;
 import com.github.ferstl.depgraph.graph.NodeResolution;
 import com.github.ferstl.depgraph.graph.SimpleGraphFactory;
-import com.github.ferstl.depgraph.graph.style.StyleConfiguration;
+import com.github.ferstl.depgraph.graph.style.CompiledStyleConfiguration;
 import static java.util.EnumSet.allOf;
-import static java.util.EnumSet.complementOf;
-import static java.util.EnumSet.of;
 
 /**
  * Creates a dependency graph of a maven module.
@@ -86,14 +84,14 @@ public class DependencyGraphMojo extends AbstractGraphMojo {
   boolean showDuplicates;
 
   @Override
-  protected GraphFactory createGraphFactory(ArtifactFilter globalFilter, ArtifactFilter targetFilter, StyleConfiguration styleConfiguration) {
-    DotBuilder<GraphNode> dotBuilder = createDotBuilder(styleConfiguration);
+  protected GraphFactory createGraphFactory(ArtifactFilter globalFilter, ArtifactFilter targetFilter, DotBuilder<GraphNode> dotBuilder) {
     GraphBuilderAdapter adapter = createGraphBuilderAdapter(targetFilter);
 
     return new SimpleGraphFactory(adapter, globalFilter, dotBuilder);
   }
 
-  DotBuilder<GraphNode> createDotBuilder(StyleConfiguration styleConfiguration) {
+  @Override
+  protected DotBuilder<GraphNode> createDotBuilder(CompiledStyleConfiguration styleConfiguration) {
     DotBuilder<GraphNode> dotBuilder = new DotBuilder<GraphNode>()
         .nodeStyle(styleConfiguration.defaultNodeAttributes())
         .edgeStyle(styleConfiguration.defaultEdgeAttributes())
@@ -112,17 +110,25 @@ public class DependencyGraphMojo extends AbstractGraphMojo {
   private GraphBuilderAdapter createGraphBuilderAdapter(ArtifactFilter targetFilter) {
     GraphBuilderAdapter adapter;
     if (requiresFullGraph()) {
-      EnumSet<NodeResolution> resolutions = allOf(NodeResolution.class);
-      resolutions = !this.showConflicts ? complementOf(of(NodeResolution.OMITTED_FOR_CONFLICT)) : resolutions;
-      resolutions = !this.showDuplicates ? complementOf(of(NodeResolution.OMITTED_FOR_DUPLICATE)) : resolutions;
-
-      adapter = new GraphBuilderAdapter(this.dependencyTreeBuilder, this.localRepository, targetFilter, resolutions);
+      adapter = new GraphBuilderAdapter(this.dependencyTreeBuilder, this.localRepository, targetFilter, getIncludedResolutions(), getMaxDepth(), getMetrics());
     } else {
-      adapter = new GraphBuilderAdapter(this.dependencyGraphBuilder, targetFilter);
+      adapter = new GraphBuilderAdapter(this.dependencyGraphBuilder, targetFilter, getMaxDepth(), getMetrics());
     }
     return adapter;
   }
 
+  EnumSet<NodeResolution> getIncludedResolutions() {
+    EnumSet<NodeResolution> resolutions = allOf(NodeResolution.class);
+    if (!this.showConflicts) {
+      resolutions.remove(NodeResolution.OMITTED_FOR_CONFLICT);
+    }
+    if (!this.showDuplicates) {
+      resolutions.remove(NodeResolution.OMITTED_FOR_DUPLICATE);
+    }
+
+    return resolutions;
+  }
+
   private boolean requiresFullGraph() {
     return this.showConflicts || this.showDuplicates;
   }
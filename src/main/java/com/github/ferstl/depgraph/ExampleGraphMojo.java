@@ -19,17 +19,20 @@ import org.apache.maven.artifact.DefaultArtifact;
 import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.shared.dependency.tree.DependencyNode;
 import com.github.ferstl.depgraph.dot.DotBuilder;
 import com.github.ferstl.depgraph.graph.GraphFactory;
 import com.github.ferstl.depgraph.graph.GraphNode;
-import com.github.ferstl.depgraph.graph.style.StyleConfiguration;
 
 /**
  * Creates an example graph. This Mojo has the same capabilities as the {@code graph} Mojo. So it might be useful to
- * try out different options and node stylings.
+ * try out different options and node stylings. With {@link #exampleNodeCount} set to a positive value, this Mojo
+ * generates a random graph of the given size instead. The timings of the generation, the rendering and the image
+ * creation are printed on the console, which allows measuring the rendering costs of a style configuration without
+ * a large project.
  *
  * @since 2.0.0
  */
@@ -43,9 +46,70 @@ import com.github.ferstl.depgraph.graph.style.StyleConfiguration;
     threadSafe = true)
 public class ExampleGraphMojo extends DependencyGraphMojo {
 
+  /**
+   * Number of nodes of a randomly generated example graph. A value of {@code 0} or less creates the fixed example
+   * graph.
+   *
+   * @since 2.1.0
+   */
+  @Parameter(property = "exampleNodeCount", defaultValue = "0")
+  int exampleNodeCount;
+
+  /**
+   * Average number of dependencies per node of the generated example graph.
+   *
+   * @since 2.1.0
+   */
+  @Parameter(property = "exampleEdgeDensity", defaultValue = "1.5")
+  double exampleEdgeDensity;
+
+  /**
+   * Ratio of dependencies in the generated example graph that are omitted for conflict. These dependencies are only
+   * shown with {@link #showConflicts}.
+   *
+   * @since 2.1.0
+   */
+  @Parameter(property = "exampleConflictRatio", defaultValue = "0.05")
+  double exampleConflictRatio;
+
+  /**
+   * Ratio of dependencies in the generated example graph that are omitted as duplicate. These dependencies are only
+   * shown with {@link #showDuplicates}.
+   *
+   * @since 2.1.0
+   */
+  @Parameter(property = "exampleDuplicateRatio", defaultValue = "0.1")
+  double exampleDuplicateRatio;
+
+  /**
+   * Weighted scopes of the nodes in the generated example graph in the form {@code scope:weight,scope:weight,...}.
+   *
+   * @since 2.1.0
+   */
+  @Parameter(property = "exampleScopeMix", defaultValue = "compile:6,runtime:2,provided:1,test:1")
+  String exampleScopeMix;
+
+  /**
+   * Seed for the generated example graph. The same seed always generates the same graph.
+   *
+   * @since 2.1.0
+   */
+  @Parameter(property = "exampleSeed", defaultValue = "42")
+  long exampleSeed;
+
   @Override
-  protected GraphFactory createGraphFactory(ArtifactFilter globalFilter, ArtifactFilter targetFilter, StyleConfiguration styleConfiguration) {
-    DotBuilder<GraphNode> dotBuilder = createDotBuilder(styleConfiguration);
+  protected GraphFactory createGraphFactory(ArtifactFilter globalFilter, ArtifactFilter targetFilter, DotBuilder<GraphNode> dotBuilder) {
+    if (this.exampleNodeCount > 0) {
+      return new RandomGraphFactory(dotBuilder, globalFilter, targetFilter, getMetrics())
+          .nodeCount(this.exampleNodeCount)
+          .edgeDensity(this.exampleEdgeDensity)
+          .conflictRatio(this.exampleConflictRatio)
+          .duplicateRatio(this.exampleDuplicateRatio)
+          .includedResolutions(getIncludedResolutions())
+          .scopeMix(this.exampleScopeMix)
+          .seed(this.exampleSeed);
+    }
+
     return new ExampleGraphFactory(dotBuilder, globalFilter, targetFilter);
   }
 
@@ -64,7 +128,7 @@ public class ExampleGraphMojo extends DependencyGraphMojo {
 
 
     @Override
-    public String createGraph(MavenProject project) {
+    public void createGraph(MavenProject project) {
       DefaultArtifact aA = new DefaultArtifact("com.example", "artifact-a", "1.0.0", "compile", "jar", "", null);
       DefaultArtifact aB = new DefaultArtifact("com.example", "artifact-b", "1.0.0", "compile", "jar", "", null);
       DefaultArtifact aC = new DefaultArtifact("com.example", "artifact-c", "2.0.0", "compile", "jar", "", null);
@@ -96,8 +160,6 @@ public class ExampleGraphMojo extends DependencyGraphMojo {
       addEdge(nD, nF);
       addEdge(nB, nG);
       addEdge(nB, nZ);
-
-      return this.dotBuilder.toString();
     }
 
     private void addEdge(GraphNode from, GraphNode to) {
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph;
+
+import java.io.Writer;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Writer that prints each written line on the console with {@link Log#info(CharSequence)}. Incomplete lines are
+ * buffered until the line separator is written or the writer is closed.
+ */
+final class LogWriter extends Writer {
+
+  private final Log log;
+  private final StringBuilder line;
+
+  LogWriter(Log log) {
+    this.log = log;
+    this.line = new StringBuilder();
+  }
+
+  @Override
+  public void write(char[] cbuf, int off, int len) {
+    for (int i = off; i < off + len; i++) {
+      char c = cbuf[i];
+      if (c == '\n') {
+        this.log.info(this.line.toString());
+        this.line.setLength(0);
+      } else if (c != '\r') {
+        this.line.append(c);
+      }
+    }
+  }
+
+  @Override
+  public void flush() {
+    // NOP, incomplete lines are printed on close
+  }
+
+  @Override
+  public void close() {
+    if (this.line.length() > 0) {
+      this.log.info(this.line.toString());
+      this.line.setLength(0);
+    }
+  }
+}
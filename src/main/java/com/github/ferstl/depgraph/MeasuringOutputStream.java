@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Output stream that counts the written bytes and measures the time spent in the underlying stream. Closing this stream
+ * does not close the underlying stream, so the owner of the underlying stream can close it only after all streams
+ * writing to it were closed successfully.
+ */
+final class MeasuringOutputStream extends FilterOutputStream {
+
+  private long bytesWritten;
+  private long writeTimeNanos;
+
+  MeasuringOutputStream(OutputStream out) {
+    super(out);
+  }
+
+  @Override
+  public void write(int b) throws IOException {
+    long start = System.nanoTime();
+    this.out.write(b);
+    this.writeTimeNanos += System.nanoTime() - start;
+    this.bytesWritten++;
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) throws IOException {
+    long start = System.nanoTime();
+    this.out.write(b, off, len);
+    this.writeTimeNanos += System.nanoTime() - start;
+    this.bytesWritten += len;
+  }
+
+  @Override
+  public void flush() throws IOException {
+    long start = System.nanoTime();
+    this.out.flush();
+    this.writeTimeNanos += System.nanoTime() - start;
+  }
+
+  /**
+   * Flushes this stream without closing the underlying stream.
+   */
+  @Override
+  public void close() throws IOException {
+    flush();
+  }
+
+  long getBytesWritten() {
+    return this.bytesWritten;
+  }
+
+  long getWriteTimeNanos() {
+    return this.writeTimeNanos;
+  }
+}
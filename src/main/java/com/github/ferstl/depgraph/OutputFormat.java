@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import com.github.ferstl.depgraph.dot.DotBuilder;
+import com.github.ferstl.depgraph.dot.DotGraphWriter;
+import com.github.ferstl.depgraph.dot.EdgeListGraphWriter;
+import com.github.ferstl.depgraph.dot.GraphWriter;
+import com.github.ferstl.depgraph.graph.BinaryGraphWriter;
+import com.github.ferstl.depgraph.graph.GexfGraphWriter;
+import com.github.ferstl.depgraph.graph.GraphMlGraphWriter;
+import com.github.ferstl.depgraph.graph.GraphNode;
+import com.github.ferstl.depgraph.graph.JsonGraphWriter;
+import com.github.ferstl.depgraph.graph.TextTreeWriter;
+
+/**
+ * Output formats of the graph. Each format creates a {@link GraphWriter} which is attached to the {@link DotBuilder}
+ * of the graph, so all formats are written from the same traversal.
+ */
+enum OutputFormat {
+
+  DOT(".dot") {
+    @Override
+    GraphWriter<GraphNode> createGraphWriter(DotBuilder<GraphNode> dotBuilder, OutputStream outputStream) {
+      return new DotGraphWriter<>(dotBuilder, createWriter(outputStream));
+    }
+  },
+
+  JSON(".json") {
+    @Override
+    GraphWriter<GraphNode> createGraphWriter(DotBuilder<GraphNode> dotBuilder, OutputStream outputStream) throws IOException {
+      return new JsonGraphWriter(outputStream);
+    }
+  },
+
+  BINARY(".dgb") {
+    @Override
+    GraphWriter<GraphNode> createGraphWriter(DotBuilder<GraphNode> dotBuilder, OutputStream outputStream) {
+      return new BinaryGraphWriter(outputStream);
+    }
+  },
+
+  GRAPHML(".graphml") {
+    @Override
+    GraphWriter<GraphNode> createGraphWriter(DotBuilder<GraphNode> dotBuilder, OutputStream outputStream) throws IOException {
+      return new GraphMlGraphWriter(outputStream);
+    }
+  },
+
+  GEXF(".gexf") {
+    @Override
+    GraphWriter<GraphNode> createGraphWriter(DotBuilder<GraphNode> dotBuilder, OutputStream outputStream) throws IOException {
+      return new GexfGraphWriter(outputStream);
+    }
+  },
+
+  EDGES(".edges") {
+    @Override
+    GraphWriter<GraphNode> createGraphWriter(DotBuilder<GraphNode> dotBuilder, OutputStream outputStream) {
+      return new EdgeListGraphWriter<>(createWriter(outputStream));
+    }
+  },
+
+  TREE(".txt") {
+    @Override
+    GraphWriter<GraphNode> createGraphWriter(DotBuilder<GraphNode> dotBuilder, OutputStream outputStream) {
+      return new TextTreeWriter(createWriter(outputStream));
+    }
+  };
+
+  private final String fileExtension;
+
+  OutputFormat(String fileExtension) {
+    this.fileExtension = fileExtension;
+  }
+
+  String getFileExtension() {
+    return this.fileExtension;
+  }
+
+  abstract GraphWriter<GraphNode> createGraphWriter(DotBuilder<GraphNode> dotBuilder, OutputStream outputStream) throws IOException;
+
+  /**
+   * Returns the output format with the given (case-insensitive) name.
+   *
+   * @param name Name of the format.
+   * @return The output format.
+   * @throws IllegalArgumentException In case the format does not exist.
+   */
+  static OutputFormat forName(String name) {
+    return valueOf(name.trim().toUpperCase(Locale.ENGLISH));
+  }
+
+  private static Writer createWriter(OutputStream outputStream) {
+    return new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+  }
+}
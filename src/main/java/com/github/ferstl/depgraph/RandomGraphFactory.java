@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Random;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.shared.dependency.tree.DependencyNode;
+import com.github.ferstl.depgraph.dot.DotBuilder;
+import com.github.ferstl.depgraph.graph.GraphFactory;
+import com.github.ferstl.depgraph.graph.GraphMetrics;
+import com.github.ferstl.depgraph.graph.GraphMetrics.Measurement;
+import com.github.ferstl.depgraph.graph.GraphNode;
+import com.github.ferstl.depgraph.graph.NodeResolution;
+import com.google.common.base.Splitter;
+
+/**
+ * Generates a random dependency graph of arbitrary size. The graph is acyclic and connected: Each node except the
+ * first one is the target of an included edge from a node with a smaller index. Additional edges, which may also be
+ * omitted for conflict or as duplicate, are added until the configured edge density is reached. The same seed always
+ * generates the same graph.
+ */
+class RandomGraphFactory implements GraphFactory {
+
+  private static final String GROUP_ID_PREFIX = "com.example.group";
+  private static final int ARTIFACTS_PER_GROUP = 100;
+  private static final String VERSION = "1.0.0";
+  private static final String CONFLICTING_VERSION = "0.9.0";
+
+  private final DotBuilder<GraphNode> dotBuilder;
+  private final ArtifactFilter globalFilter;
+  private final ArtifactFilter targetFilter;
+  private final GraphMetrics metrics;
+
+  private int nodeCount = 100;
+  private double edgeDensity = 1.5;
+  private double conflictRatio;
+  private double duplicateRatio;
+  private EnumSet<NodeResolution> includedResolutions = EnumSet.allOf(NodeResolution.class);
+  private List<String> scopes;
+  private List<Integer> scopeWeights;
+  private int totalScopeWeight;
+  private long seed;
+
+  RandomGraphFactory(DotBuilder<GraphNode> dotBuilder, ArtifactFilter globalFilter, ArtifactFilter targetFilter, GraphMetrics metrics) {
+    this.dotBuilder = dotBuilder;
+    this.globalFilter = globalFilter;
+    this.targetFilter = targetFilter;
+    this.metrics = metrics;
+    scopeMix("compile:1");
+  }
+
+  RandomGraphFactory nodeCount(int nodeCount) {
+    if (nodeCount < 1) {
+      throw new IllegalArgumentException("Node count must be positive: " + nodeCount);
+    }
+
+    this.nodeCount = nodeCount;
+    return this;
+  }
+
+  /**
+   * Average number of dependencies per node. Values lower than {@code 1} result in a tree.
+   */
+  RandomGraphFactory edgeDensity(double edgeDensity) {
+    this.edgeDensity = edgeDensity;
+    return this;
+  }
+
+  /**
+   * Probability that the target of an additional edge is omitted for conflict.
+   */
+  RandomGraphFactory conflictRatio(double conflictRatio) {
+    this.conflictRatio = conflictRatio;
+    return this;
+  }
+
+  /**
+   * Probability that the target of an additional edge is omitted as duplicate.
+   */
+  RandomGraphFactory duplicateRatio(double duplicateRatio) {
+    this.duplicateRatio = duplicateRatio;
+    return this;
+  }
+
+  /**
+   * Resolutions of the edge targets to be shown in the graph. Edges to other targets are still generated (so the graph
+   * does not change with this setting) but not added to the graph.
+   */
+  RandomGraphFactory includedResolutions(EnumSet<NodeResolution> includedResolutions) {
+    this.includedResolutions = includedResolutions;
+    return this;
+  }
+
+  /**
+   * Weighted scopes of the generated nodes in the form {@code scope:weight,scope:weight,...}, e.g.
+   * {@code compile:6,runtime:2,test:2}.
+   */
+  RandomGraphFactory scopeMix(String scopeMix) {
+    Map<String, String> weights;
+    try {
+      weights = Splitter.on(',').trimResults().omitEmptyStrings().withKeyValueSeparator(':').split(scopeMix);
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Invalid scope mix '" + scopeMix + "'. Use the form scope:weight,scope:weight,...", e);
+    }
+
+    if (weights.isEmpty()) {
+      throw new IllegalArgumentException("Scope mix must not be empty.");
+    }
+
+    List<String> scopes = new ArrayList<>(weights.size());
+    List<Integer> scopeWeights = new ArrayList<>(weights.size());
+    int totalScopeWeight = 0;
+    for (Entry<String, String> entry : weights.entrySet()) {
+      int weight = Integer.parseInt(entry.getValue().trim());
+      if (weight < 0) {
+        throw new IllegalArgumentException("Negative weight for scope '" + entry.getKey() + "'");
+      }
+      scopes.add(entry.getKey().trim());
+      scopeWeights.add(weight);
+      totalScopeWeight += weight;
+    }
+
+    if (totalScopeWeight == 0) {
+      throw new IllegalArgumentException("At least one scope in '" + scopeMix + "' needs a positive weight.");
+    }
+
+    this.scopes = scopes;
+    this.scopeWeights = scopeWeights;
+    this.totalScopeWeight = totalScopeWeight;
+    return this;
+  }
+
+  RandomGraphFactory seed(long seed) {
+    this.seed = seed;
+    return this;
+  }
+
+  @Override
+  public void createGraph(MavenProject project) {
+    try (Measurement measurement = this.metrics.start(GraphMetrics.GENERATION)) {
+      generate();
+      measurement.nodeCount(this.dotBuilder.getNodeCount()).edgeCount(this.dotBuilder.getEdgeCount());
+    }
+  }
+
+  private void generate() {
+    Random random = new Random(this.seed);
+
+    Artifact[] artifacts = new Artifact[this.nodeCount];
+    artifacts[0] = createArtifact(0, VERSION, "compile");
+    for (int i = 1; i < this.nodeCount; i++) {
+      artifacts[i] = createArtifact(i, VERSION, nextScope(random));
+    }
+
+    // Spanning tree which makes the graph connected
+    for (int i = 1; i < this.nodeCount; i++) {
+      addEdge(artifacts[random.nextInt(i)], new GraphNode(artifacts[i]));
+    }
+
+    // Additional edges always point to nodes with a higher index, so there are no cycles.
+    long additionalEdges = this.nodeCount > 2 ? Math.round(this.edgeDensity * this.nodeCount) - (this.nodeCount - 1) : 0;
+    for (long i = 0; i < additionalEdges; i++) {
+      int from = random.nextInt(this.nodeCount - 1);
+      int to = from + 1 + random.nextInt(this.nodeCount - from - 1);
+      addEdge(artifacts[from], createTarget(artifacts[to], random));
+    }
+  }
+
+  private GraphNode createTarget(Artifact artifact, Random random) {
+    double resolution = random.nextDouble();
+    if (resolution < this.conflictRatio) {
+      Artifact omitted = createArtifact(artifact, CONFLICTING_VERSION);
+      return new GraphNode(new DependencyNode(omitted, DependencyNode.OMITTED_FOR_CONFLICT, artifact));
+    } else if (resolution < this.conflictRatio + this.duplicateRatio) {
+      return new GraphNode(new DependencyNode(artifact, DependencyNode.OMITTED_FOR_DUPLICATE, artifact));
+    }
+
+    return new GraphNode(artifact);
+  }
+
+  private void addEdge(Artifact from, GraphNode target) {
+    Artifact to = target.getArtifact();
+    if (this.includedResolutions.contains(target.getResolution())
+        && this.globalFilter.include(from)
+        && this.globalFilter.include(to)
+        && this.targetFilter.include(to)) {
+
+      this.dotBuilder.addEdge(new GraphNode(from), target);
+    }
+  }
+
+  private String nextScope(Random random) {
+    int value = random.nextInt(this.totalScopeWeight);
+    for (int i = 0; i < this.scopes.size(); i++) {
+      value -= this.scopeWeights.get(i);
+      if (value < 0) {
+        return this.scopes.get(i);
+      }
+    }
+
+    // impossible case
+    return this.scopes.get(0);
+  }
+
+  private static Artifact createArtifact(int index, String version, String scope) {
+    return new DefaultArtifact(GROUP_ID_PREFIX + index / ARTIFACTS_PER_GROUP, "artifact-" + index, version, scope, "jar", "", null);
+  }
+
+  private static Artifact createArtifact(Artifact artifact, String version) {
+    return new DefaultArtifact(artifact.getGroupId(), artifact.getArtifactId(), version, artifact.getScope(), artifact.getType(), artifact.getClassifier(), null);
+  }
+}
@@ -15,6 +15,7 @@
  */
 package com.github.ferstl.depgraph.dot;
 
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -24,15 +25,38 @@ import static com.github.ferstl.depgraph.dot.DotEscaper.escape;
 
 public class AttributeBuilder {
 
+  // Unescaped attribute values, they are escaped when rendered
   private final Map<String, String> attributes;
+  private boolean htmlLabel;
+  // Rendered attributes, reset on each modification
+  private String rendered;
 
   public AttributeBuilder() {
     this.attributes = new LinkedHashMap<>();
   }
 
+  private AttributeBuilder(AttributeBuilder other) {
+    this.attributes = new LinkedHashMap<>(other.attributes);
+    this.htmlLabel = other.htmlLabel;
+    this.rendered = other.rendered;
+  }
+
+  /**
+   * Creates a copy of this builder. The copy can be modified independently of this builder. If this builder was
+   * already rendered with {@link #toString()}, the copy does not need to be rendered again unless it is modified. So
+   * pre-rendered attribute builders can serve as templates.
+   *
+   * @return A copy of this builder.
+   */
+  public AttributeBuilder copy() {
+    return new AttributeBuilder(this);
+  }
+
   public AttributeBuilder label(String label) {
     if (StringUtils.startsWith(label, "<") && StringUtils.endsWith(label, ">")) {
       this.attributes.put("label", label);
+      this.htmlLabel = true;
+      this.rendered = null;
       return this;
     }
 
@@ -79,20 +103,40 @@ public class AttributeBuilder {
 
   public AttributeBuilder addAttribute(String key, String value) {
     if (value != null) {
-      this.attributes.put(key, escape(value));
+      this.attributes.put(key, value);
+      if ("label".equals(key)) {
+        this.htmlLabel = false;
+      }
+      this.rendered = null;
     }
     return this;
   }
 
+  /**
+   * Returns the unescaped attribute values. HTML-like labels are returned including their enclosing angle brackets.
+   */
+  Map<String, String> getAttributes() {
+    return Collections.unmodifiableMap(this.attributes);
+  }
+
   @Override
   public String toString() {
+    if (this.rendered == null) {
+      this.rendered = render();
+    }
+
+    return this.rendered;
+  }
+
+  private String render() {
     if (this.attributes.isEmpty()) {
       return "";
     }
 
     StringBuilder sb = new StringBuilder("[");
     for (Entry<String, String> attribute : this.attributes.entrySet()) {
-      sb.append(attribute.getKey() + "=" + attribute.getValue()).append(",");
+      String value = this.htmlLabel && "label".equals(attribute.getKey()) ? attribute.getValue() : escape(attribute.getValue());
+      sb.append(attribute.getKey() + "=" + value).append(",");
     }
 
     return sb.delete(sb.length() - 1, sb.length())
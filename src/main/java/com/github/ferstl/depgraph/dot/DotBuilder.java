@@ -15,11 +15,23 @@
  */
 package com.github.ferstl.depgraph.dot;
 
-import java.util.LinkedHashMap;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Set;
+import com.github.ferstl.depgraph.dot.EdgeStore.EdgeCursor;
+import com.google.common.base.Joiner;
 import static com.github.ferstl.depgraph.dot.DotEscaper.escape;
 
 /**
@@ -29,7 +41,13 @@ import static com.github.ferstl.depgraph.dot.DotEscaper.escape;
  *
  * @param <T> Type of the graph nodes.
  */
-public final class DotBuilder<T> {
+public final class DotBuilder<T> implements Closeable {
+
+  // Edges are packed into a long: 24 bits for each node id and 16 bits for the style id
+  private static final int NODE_ID_BITS = 24;
+  private static final int STYLE_ID_BITS = 16;
+  private static final int MAX_NODE_ID = (1 << NODE_ID_BITS) - 1;
+  private static final int MAX_STYLE_ID = (1 << STYLE_ID_BITS) - 1;
 
   private String graphName;
   private AttributeBuilder nodeAttributeBuilder;
@@ -38,8 +56,23 @@ public final class DotBuilder<T> {
   private NodeAttributeRenderer<? super T> nodeAttributeRenderer;
   private EdgeAttributeRenderer<? super T> edgeAttributeRenderer;
   private boolean omitSelfReferences;
-  private final Map<String, T> nodeDefinitions;
-  private final Set<String> edgeDefinitions;
+  private boolean reduceTransitiveEdges;
+  private boolean showTransitiveEdges;
+  private boolean collapseCycles;
+  // Node names are interned to ids, which are also the indices of the node definitions. The writers and the output
+  // share the interned names. Only the latest node of each name is retained, including the strings it references.
+  private final SymbolTable nodeNames;
+  private final List<T> nodeDefinitions;
+  // Rendered edge attributes are interned to style ids, which are also the indices of the edge attributes
+  private final SymbolTable edgeStyles;
+  private final List<AttributeBuilder> edgeAttributes;
+  // Style ids by the attribute keys of each keyed edge attribute renderer
+  private final Map<KeyedEdgeAttributeRenderer<?>, Map<Object, Integer>> keyedEdgeStyles;
+  private EdgeStore edgeDefinitions;
+  private int edgeCount;
+  private int duplicateEdgeCount;
+  private final List<GraphWriter<? super T>> graphWriters;
+  private final List<TreeWriter<? super T>> treeWriters;
 
   public DotBuilder() {
     this.graphName = "G";
@@ -49,8 +82,14 @@ public final class DotBuilder<T> {
     this.nodeAttributeRenderer = createDefaultNodeAttributeRenderer();
     this.edgeAttributeRenderer = createDefaultEdgeAttributeRenderer();
 
-    this.nodeDefinitions = new LinkedHashMap<>();
-    this.edgeDefinitions = new LinkedHashSet<>();
+    this.nodeNames = new SymbolTable();
+    this.nodeDefinitions = new ArrayList<>();
+    this.edgeStyles = new SymbolTable();
+    this.edgeAttributes = new ArrayList<>();
+    this.keyedEdgeStyles = new IdentityHashMap<>();
+    this.edgeDefinitions = new EdgeStore();
+    this.graphWriters = new ArrayList<>();
+    this.treeWriters = new ArrayList<>();
   }
 
   public DotBuilder<T> graphName(String name) {
@@ -88,13 +127,120 @@ public final class DotBuilder<T> {
     return this;
   }
 
+  /**
+   * Removes all edges {@code A -> C} for which another path, e.g. {@code A -> B -> C}, exists. The nodes and their
+   * reachability within the graph stay the same. Edges within cycles are always kept.
+   *
+   * @param showTransitiveEdges If {@code true}, the removed edges are shown as faint lines which do not influence the
+   * layout of the graph instead of removing them completely.
+   * @return This builder.
+   */
+  public DotBuilder<T> reduceTransitiveEdges(boolean showTransitiveEdges) {
+    this.reduceTransitiveEdges = true;
+    this.showTransitiveEdges = showTransitiveEdges;
+    return this;
+  }
+
+  /**
+   * Collapses all nodes that are part of a cycle, i.e. of a strongly connected component, into a single node.
+   *
+   * @return This builder.
+   */
+  public DotBuilder<T> collapseCycles() {
+    this.collapseCycles = true;
+    return this;
+  }
+
+  /**
+   * Limits the number of edges that are held in memory. When the limit is reached, the edges are written as sorted
+   * runs to temporary files in the given directory. They are merged when the graph is rendered, so the edges appear in
+   * sorted instead of insertion order then. Duplicates of spilled edges are still detected, so the attached
+   * {@link GraphWriter}s receive each edge only once. This method has to be called before any edges are added. The
+   * temporary files are deleted by {@link #close()}.
+   * <p>
+   * Only the edges are limited. The nodes and their names are always held in memory, so the memory usage still grows
+   * with the number of nodes. Collapsing cycles, reducing transitive edges and finding cycles require all edges in
+   * memory as well.
+   * </p>
+   *
+   * @param directory Directory for the temporary files.
+   * @param maxEdgesInMemory Maximum number of edges to hold in memory.
+   * @return This builder.
+   */
+  public DotBuilder<T> spillEdges(Path directory, int maxEdgesInMemory) {
+    this.edgeDefinitions = new EdgeStore(directory, maxEdgesInMemory);
+    return this;
+  }
+
+  /**
+   * Attaches a {@link GraphWriter} to this builder. All distinct edges are passed to the writer as soon as they are
+   * added. So writers have to be attached before any edges are added. The writers are completed by
+   * {@link #completeGraph()}. {@link TreeWriter}s additionally receive the traversed nodes through
+   * {@link #startTreeNode(Object, boolean)} and {@link #endTreeNode(Object)}.
+   *
+   * @param graphWriter The graph writer.
+   * @return This builder.
+   */
+  @SuppressWarnings("unchecked")
+  public DotBuilder<T> addGraphWriter(GraphWriter<? super T> graphWriter) {
+    this.graphWriters.add(graphWriter);
+    if (graphWriter instanceof TreeWriter) {
+      this.treeWriters.add((TreeWriter<? super T>) graphWriter);
+    }
+
+    return this;
+  }
+
+  public boolean hasTreeWriters() {
+    return !this.treeWriters.isEmpty();
+  }
+
+  /**
+   * Passes a traversed node to all attached {@link TreeWriter}s.
+   *
+   * @param node The traversed node.
+   * @param last {@code true} if the node is the last child of its parent that is passed to the tree writers.
+   * @return This builder.
+   * @see TreeWriter#startNode(Object, boolean)
+   */
+  public DotBuilder<T> startTreeNode(T node, boolean last) {
+    try {
+      for (TreeWriter<? super T> treeWriter : this.treeWriters) {
+        treeWriter.startNode(node, last);
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to write tree", e);
+    }
+
+    return this;
+  }
+
+  /**
+   * Notifies all attached {@link TreeWriter}s that all children of the given node have been traversed.
+   *
+   * @param node The traversed node.
+   * @return This builder.
+   * @see TreeWriter#endNode(Object)
+   */
+  public DotBuilder<T> endTreeNode(T node) {
+    try {
+      for (TreeWriter<? super T> treeWriter : this.treeWriters) {
+        treeWriter.endNode(node);
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to write tree", e);
+    }
+
+    return this;
+  }
+
   // no edge will be created in case one or both nodes are null.
   public DotBuilder<T> addEdge(T from, T to) {
     if (from != null && to != null) {
-      addNode(from);
-      addNode(to);
+      int fromId = addNode(from);
+      int toId = addNode(to);
 
-      safelyAddEdge(from, to);
+      safelyAddEdge(from, fromId, to, toId);
     }
 
     return this;
@@ -116,49 +262,378 @@ public final class DotBuilder<T> {
    * @return The firstly added node or the given node if not present.
    */
   public T getEffectiveNode(T node) {
-    String key = escape(this.nodeNameRenderer.createNodeName(node));
-    if (this.nodeDefinitions.containsKey(key)) {
-      return this.nodeDefinitions.get(key);
+    int id = this.nodeNames.getId(this.nodeNameRenderer.createNodeName(node));
+    if (id >= 0) {
+      return this.nodeDefinitions.get(id);
     }
 
     return node;
   }
 
+  public int getNodeCount() {
+    return this.nodeDefinitions.size();
+  }
+
+  /**
+   * Returns the number of distinct edges.
+   *
+   * @return The number of edges.
+   */
+  public int getEdgeCount() {
+    return this.edgeCount;
+  }
+
+  /**
+   * Returns the number of edges that were added more than once.
+   *
+   * @return The number of duplicate edges.
+   */
+  public int getDuplicateEdgeCount() {
+    return this.duplicateEdgeCount;
+  }
+
+  /**
+   * Finds all cycles in the graph, i.e. all strongly connected components with more than one node.
+   *
+   * @return The node names of each cycle in the order the nodes were added.
+   */
+  public List<List<String>> findCycles() {
+    StronglyConnectedComponents components = StronglyConnectedComponents.compute(createIndexedGraph(this.nodeDefinitions.size(), getEdgeDefinitions()));
+
+    List<List<Integer>> members = getComponentMembers(components);
+    List<List<String>> cycles = new ArrayList<>();
+    for (List<Integer> component : members) {
+      if (component.size() > 1) {
+        List<String> cycle = new ArrayList<>(component.size());
+        for (int member : component) {
+          cycle.add(this.nodeNames.getSymbol(member));
+        }
+        cycles.add(cycle);
+      }
+    }
+
+    return cycles;
+  }
+
+  /**
+   * Writes the graph in DOT format. Unless cycles are collapsed or transitive edges are reduced, the nodes and edges
+   * are formatted one by one while writing.
+   *
+   * @param writer Writer for the graph.
+   * @throws IOException In case of an I/O error.
+   */
+  public void writeTo(Writer writer) throws IOException {
+    writer.append("digraph ").append(escape(this.graphName)).append(" {")
+        .append("\n  node ").append(this.nodeAttributeBuilder.toString())
+        .append("\n  edge ").append(this.edgeAttributeBuilder.toString());
+
+    if (this.collapseCycles || this.reduceTransitiveEdges) {
+      GraphView graph = createGraphView();
+
+      writer.append("\n\n  // Node Definitions:");
+      String[] escapedNames = new String[graph.nodes.size()];
+      for (int i = 0; i < graph.nodes.size(); i++) {
+        NodeDefinition node = graph.nodes.get(i);
+        escapedNames[i] = escape(node.name);
+        writer.append("\n  ").append(escapedNames[i]).append(node.attributes.toString());
+      }
+
+      writer.append("\n\n  // Edge Definitions:");
+      for (EdgeDefinition edge : graph.edges) {
+        writeEdge(escapedNames[edge.from], escapedNames[edge.to], edge.attributes.toString(), writer);
+      }
+    } else {
+      String[] escapedNames = new String[this.nodeDefinitions.size()];
+
+      writer.append("\n\n  // Node Definitions:");
+      for (int id = 0; id < this.nodeDefinitions.size(); id++) {
+        escapedNames[id] = escape(this.nodeNames.getSymbol(id));
+        writer.append("\n  ").append(escapedNames[id]).append(createNodeAttributes(id).toString());
+      }
+
+      writer.append("\n\n  // Edge Definitions:");
+      try (EdgeCursor cursor = this.edgeDefinitions.cursor()) {
+        while (cursor.next()) {
+          long edge = cursor.get();
+          writeEdge(escapedNames[unpackFromId(edge)], escapedNames[unpackToId(edge)], this.edgeStyles.getSymbol(unpackStyleId(edge)), writer);
+        }
+      }
+    }
+
+    writer.append("\n}");
+  }
+
+  /**
+   * Passes all nodes to the attached {@link GraphWriter}s and completes them.
+   *
+   * @throws IOException In case of an I/O error.
+   */
+  public void completeGraph() throws IOException {
+    for (GraphWriter<? super T> graphWriter : this.graphWriters) {
+      for (int id = 0; id < this.nodeDefinitions.size(); id++) {
+        graphWriter.node(id, this.nodeNames.getSymbol(id), this.nodeDefinitions.get(id));
+      }
+
+      graphWriter.complete();
+    }
+  }
+
+  /**
+   * Deletes the temporary files of this builder if edges were spilled to disk.
+   *
+   * @throws IOException In case of an I/O error.
+   */
+  @Override
+  public void close() throws IOException {
+    this.edgeDefinitions.close();
+  }
+
   @Override
   public String toString() {
-    StringBuilder sb = new StringBuilder("digraph ").append(escape(this.graphName)).append(" {")
-        .append("\n  node ").append(this.nodeAttributeBuilder)
-        .append("\n  edge ").append(this.edgeAttributeBuilder);
+    StringWriter writer = new StringWriter();
+    try {
+      writeTo(writer);
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to render graph", e);
+    }
+
+    return writer.toString();
+  }
+
+  private static void writeEdge(String from, String to, String attributes, Writer writer) throws IOException {
+    writer.append("\n  ").append(from).append(" -> ").append(to).append(attributes);
+  }
 
-    sb.append("\n\n  // Node Definitions:");
-    for (Entry<String, T> entry : this.nodeDefinitions.entrySet()) {
-      AttributeBuilder nodeAttributes = this.nodeAttributeRenderer.createNodeAttributes(entry.getValue());
-      sb.append("\n  ")
-          .append(entry.getKey())
-          .append(nodeAttributes.toString());
+  private int addNode(T node) {
+    int id = this.nodeNames.intern(this.nodeNameRenderer.createNodeName(node));
+    if (id > MAX_NODE_ID) {
+      throw new IllegalStateException("Graph exceeds the maximum number of " + (MAX_NODE_ID + 1) + " nodes");
     }
 
-    sb.append("\n\n  // Edge Definitions:");
-    for (String edge : this.edgeDefinitions) {
-      sb.append("\n  ").append(edge);
+    // The latest node replaces an existing node with the same name
+    if (id == this.nodeDefinitions.size()) {
+      this.nodeDefinitions.add(node);
+    } else {
+      this.nodeDefinitions.set(id, node);
     }
 
-    return sb.append("\n}").toString();
+    return id;
   }
 
-  private void addNode(T node) {
-    String nodeName = this.nodeNameRenderer.createNodeName(node);
-    this.nodeDefinitions.put(escape(nodeName), node);
+  private void safelyAddEdge(T fromNode, int fromId, T toNode, int toId) {
+    if (!this.omitSelfReferences || fromId != toId) {
+      int styleId = getEdgeStyleId(fromNode, toNode);
+
+      try {
+        if (this.edgeDefinitions.add(packEdge(fromId, toId, styleId))) {
+          this.edgeCount++;
+          for (GraphWriter<? super T> graphWriter : this.graphWriters) {
+            graphWriter.edge(fromId, this.nodeNames.getSymbol(fromId), fromNode, toId, this.nodeNames.getSymbol(toId), toNode);
+          }
+        } else {
+          this.duplicateEdgeCount++;
+        }
+      } catch (IOException e) {
+        throw new IllegalStateException("Unable to spill or write edges", e);
+      }
+    }
+  }
+
+  /**
+   * Returns the style id of the given edge. The attributes of {@link KeyedEdgeAttributeRenderer}s are only rendered if
+   * their key was not seen before.
+   */
+  private int getEdgeStyleId(T fromNode, T toNode) {
+    if (!(this.edgeAttributeRenderer instanceof KeyedEdgeAttributeRenderer)) {
+      return internEdgeStyle(this.edgeAttributeRenderer.createEdgeAttributes(fromNode, toNode));
+    }
+
+    @SuppressWarnings("unchecked")
+    KeyedEdgeAttributeRenderer<? super T> renderer = (KeyedEdgeAttributeRenderer<? super T>) this.edgeAttributeRenderer;
+    Map<Object, Integer> styleIds = this.keyedEdgeStyles.get(renderer);
+    if (styleIds == null) {
+      styleIds = new HashMap<>();
+      this.keyedEdgeStyles.put(renderer, styleIds);
+    }
+
+    Object key = renderer.createEdgeAttributesKey(fromNode, toNode);
+    Integer styleId = styleIds.get(key);
+    if (styleId == null) {
+      styleId = internEdgeStyle(renderer.createEdgeAttributes(fromNode, toNode));
+      styleIds.put(key, styleId);
+    }
+
+    return styleId;
+  }
+
+  private int internEdgeStyle(AttributeBuilder attributes) {
+    int styleId = this.edgeStyles.intern(attributes.toString());
+    if (styleId > MAX_STYLE_ID) {
+      throw new IllegalStateException("Graph exceeds the maximum number of " + (MAX_STYLE_ID + 1) + " edge styles");
+    }
+
+    if (styleId == this.edgeAttributes.size()) {
+      this.edgeAttributes.add(attributes);
+    }
+
+    return styleId;
+  }
+
+  private static long packEdge(int fromId, int toId, int styleId) {
+    return ((long) fromId << (NODE_ID_BITS + STYLE_ID_BITS)) | ((long) toId << STYLE_ID_BITS) | styleId;
+  }
+
+  private static int unpackFromId(long edge) {
+    return (int) (edge >>> (NODE_ID_BITS + STYLE_ID_BITS));
+  }
+
+  private static int unpackToId(long edge) {
+    return (int) (edge >>> STYLE_ID_BITS) & MAX_NODE_ID;
+  }
+
+  private static int unpackStyleId(long edge) {
+    return (int) edge & MAX_STYLE_ID;
   }
 
-  private void safelyAddEdge(T fromNode, T toNode) {
-    String fromName = this.nodeNameRenderer.createNodeName(fromNode);
-    String toName = this.nodeNameRenderer.createNodeName(toNode);
+  /**
+   * Unpacks all edges into memory.
+   */
+  private List<EdgeDefinition> getEdgeDefinitions() {
+    List<EdgeDefinition> edges = new ArrayList<>();
+    try (EdgeCursor cursor = this.edgeDefinitions.cursor()) {
+      while (cursor.next()) {
+        long edge = cursor.get();
+        edges.add(new EdgeDefinition(unpackFromId(edge), unpackToId(edge), this.edgeAttributes.get(unpackStyleId(edge))));
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to read spilled edges", e);
+    }
+
+    return edges;
+  }
+
+  private AttributeBuilder createNodeAttributes(int id) {
+    return this.nodeAttributeRenderer.createNodeAttributes(this.nodeDefinitions.get(id));
+  }
+
+  AttributeBuilder getNodeAttributeBuilder() {
+    return this.nodeAttributeBuilder;
+  }
+
+  AttributeBuilder getEdgeAttributeBuilder() {
+    return this.edgeAttributeBuilder;
+  }
 
-    if (!this.omitSelfReferences || !fromName.equals(toName)) {
-      String edgeDefinition = escape(fromName) + " -> " + escape(toName) + this.edgeAttributeRenderer.createEdgeAttributes(fromNode, toNode);
-      this.edgeDefinitions.add(edgeDefinition);
+  /**
+   * Creates the graph to be rendered. Depending on the configuration of this builder, cycles are collapsed and
+   * transitive edges are removed.
+   */
+  GraphView createGraphView() {
+    List<NodeDefinition> nodes = new ArrayList<>(this.nodeDefinitions.size());
+    for (int id = 0; id < this.nodeDefinitions.size(); id++) {
+      nodes.add(new NodeDefinition(this.nodeNames.getSymbol(id), createNodeAttributes(id)));
+    }
+
+    GraphView graph = new GraphView(nodes, getEdgeDefinitions());
+    if (this.collapseCycles) {
+      graph = collapseCycles(graph);
+    }
+
+    if (this.reduceTransitiveEdges) {
+      graph = reduceTransitiveEdges(graph);
     }
+
+    return graph;
+  }
+
+  private GraphView collapseCycles(GraphView graph) {
+    StronglyConnectedComponents components = StronglyConnectedComponents.compute(createIndexedGraph(graph.nodes.size(), graph.edges));
+    List<List<Integer>> members = getComponentMembers(components);
+
+    // Replace the members of each cycle with a single node at the position of the first member
+    int[] effectiveIndices = new int[graph.nodes.size()];
+    List<NodeDefinition> nodes = new ArrayList<>();
+    int cycleCount = 0;
+    for (int i = 0; i < graph.nodes.size(); i++) {
+      List<Integer> component = members.get(components.getComponent(i));
+      if (component.size() == 1) {
+        effectiveIndices[i] = nodes.size();
+        nodes.add(graph.nodes.get(i));
+      } else if (component.get(0) == i) {
+        List<String> memberNames = new ArrayList<>(component.size());
+        for (int member : component) {
+          memberNames.add(graph.nodes.get(member).name);
+        }
+
+        String cycleName = "cycle-" + (++cycleCount);
+        AttributeBuilder attributes = new AttributeBuilder()
+            .shape("box")
+            .style("dashed")
+            .label(Joiner.on("\n").join(memberNames));
+
+        for (int member : component) {
+          effectiveIndices[member] = nodes.size();
+        }
+        nodes.add(new NodeDefinition(cycleName, attributes));
+      }
+    }
+
+    Set<EdgeDefinition> edges = new LinkedHashSet<>();
+    for (EdgeDefinition edge : graph.edges) {
+      int from = effectiveIndices[edge.from];
+      int to = effectiveIndices[edge.to];
+      if (from != to || edge.from == edge.to) {
+        edges.add(new EdgeDefinition(from, to, edge.attributes));
+      }
+    }
+
+    return new GraphView(nodes, edges);
+  }
+
+  private GraphView reduceTransitiveEdges(GraphView graph) {
+    List<EdgeDefinition> edges = new ArrayList<>(graph.edges);
+    BitSet redundant = TransitiveReduction.redundantEdges(createIndexedGraph(graph.nodes.size(), graph.edges));
+    AttributeBuilder transitiveEdgeAttributes = new AttributeBuilder()
+        .color("grey85")
+        .addAttribute("constraint", "false");
+
+    Set<EdgeDefinition> result = new LinkedHashSet<>();
+    for (int i = 0; i < edges.size(); i++) {
+      EdgeDefinition edge = edges.get(i);
+      if (!redundant.get(i)) {
+        result.add(edge);
+      } else if (this.showTransitiveEdges) {
+        result.add(new EdgeDefinition(edge.from, edge.to, transitiveEdgeAttributes));
+      }
+    }
+
+    return new GraphView(graph.nodes, result);
+  }
+
+  private static IndexedGraph createIndexedGraph(int nodeCount, Collection<EdgeDefinition> edges) {
+    int[] from = new int[edges.size()];
+    int[] to = new int[edges.size()];
+    int i = 0;
+    for (EdgeDefinition edge : edges) {
+      from[i] = edge.from;
+      to[i] = edge.to;
+      i++;
+    }
+
+    return new IndexedGraph(nodeCount, from, to);
+  }
+
+  private static List<List<Integer>> getComponentMembers(StronglyConnectedComponents components) {
+    List<List<Integer>> members = new ArrayList<>(components.getComponentCount());
+    for (int i = 0; i < components.getComponentCount(); i++) {
+      members.add(new ArrayList<Integer>(1));
+    }
+
+    for (int node = 0; node < components.getNodeCount(); node++) {
+      members.get(components.getComponent(node)).add(node);
+    }
+
+    return members;
   }
 
   static <T> EdgeAttributeRenderer<T> createDefaultEdgeAttributeRenderer() {
@@ -191,4 +666,74 @@ public final class DotBuilder<T> {
       }
     };
   }
+
+  /**
+   * The nodes and edges to be rendered. Edges refer to the indices of their nodes.
+   */
+  static final class GraphView {
+
+    final List<NodeDefinition> nodes;
+    final Collection<EdgeDefinition> edges;
+
+    GraphView(List<NodeDefinition> nodes, Collection<EdgeDefinition> edges) {
+      this.nodes = nodes;
+      this.edges = edges;
+    }
+  }
+
+  /**
+   * A node with its unescaped name and attributes.
+   */
+  static final class NodeDefinition {
+
+    final String name;
+    final AttributeBuilder attributes;
+
+    NodeDefinition(String name, AttributeBuilder attributes) {
+      this.name = name;
+      this.attributes = attributes;
+    }
+
+    @Override
+    public String toString() {
+      return this.name + this.attributes;
+    }
+  }
+
+  /**
+   * An edge between two node ids and its attributes. Edges with the same rendered attributes are equal.
+   */
+  static final class EdgeDefinition {
+
+    final int from;
+    final int to;
+    final AttributeBuilder attributes;
+
+    EdgeDefinition(int from, int to, AttributeBuilder attributes) {
+      this.from = from;
+      this.to = to;
+      this.attributes = attributes;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (obj == this) {
+        return true;
+      }
+
+      if (!(obj instanceof EdgeDefinition)) {
+        return false;
+      }
+
+      EdgeDefinition other = (EdgeDefinition) obj;
+      return this.from == other.from
+          && this.to == other.to
+          && this.attributes.toString().equals(other.attributes.toString());
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(this.from, this.to, this.attributes.toString());
+    }
+  }
 }
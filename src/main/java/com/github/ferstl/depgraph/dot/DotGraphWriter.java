@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.dot;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes the graph of a {@link DotBuilder} in DOT format. Since the DOT output depends on the configuration of the
+ * builder (e.g. collapsed cycles or reduced transitive edges), the graph is written as a whole when it is completed.
+ *
+ * @param <T> Type of the graph nodes.
+ */
+public final class DotGraphWriter<T> implements GraphWriter<T> {
+
+  private final DotBuilder<T> dotBuilder;
+  private final Writer writer;
+
+  public DotGraphWriter(DotBuilder<T> dotBuilder, Writer writer) {
+    this.dotBuilder = dotBuilder;
+    this.writer = writer;
+  }
+
+  @Override
+  public void edge(int fromId, String from, T fromNode, int toId, String to, T toNode) {
+    // NOP
+  }
+
+  @Override
+  public void node(int id, String name, T node) {
+    // NOP
+  }
+
+  @Override
+  public void complete() throws IOException {
+    this.dotBuilder.writeTo(this.writer);
+    this.writer.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    this.writer.close();
+  }
+}
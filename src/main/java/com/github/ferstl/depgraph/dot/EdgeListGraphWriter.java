@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.dot;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes the edges of a graph as tab-separated pairs of node names, one edge per line. The edges are written as soon as
+ * they are added to the {@link DotBuilder}. Nodes without any edges are not contained in the output.
+ * <p>
+ * Since this format has no edge attributes, each pair of nodes is written only once, even if the {@link DotBuilder}
+ * passes it several times with different attributes. For this purpose, the written pairs of node ids are kept in
+ * memory.
+ * </p>
+ *
+ * @param <T> Type of the graph nodes.
+ */
+public final class EdgeListGraphWriter<T> implements GraphWriter<T> {
+
+  private final Writer writer;
+  private final OrderedLongSet writtenEdges;
+
+  public EdgeListGraphWriter(Writer writer) {
+    this.writer = writer;
+    this.writtenEdges = new OrderedLongSet();
+  }
+
+  @Override
+  public void edge(int fromId, String from, T fromNode, int toId, String to, T toNode) throws IOException {
+    if (this.writtenEdges.add((long) fromId << 32 | toId & 0xFFFFFFFFL)) {
+      this.writer.append(from).append('\t').append(to).append('\n');
+    }
+  }
+
+  @Override
+  public void node(int id, String name, T node) {
+    // NOP
+  }
+
+  @Override
+  public void complete() throws IOException {
+    this.writer.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    this.writer.close();
+  }
+}
@@ -0,0 +1,421 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.dot;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+
+/**
+ * Storage for packed edges. By default, all edges are kept in memory in insertion order. When a spill directory is
+ * configured, the edges are written as sorted runs to temporary files whenever the number of edges in memory reaches
+ * the spill threshold. Reading the edges then merges all runs. So the edges are returned in ascending order instead of
+ * insertion order once the store was spilled.
+ * <p>
+ * Duplicates are detected exactly, including duplicates of spilled edges. Each run keeps a bloom filter of its edges
+ * in memory, which takes about 10 bits per edge. Only if the filter reports a possible match, the run is searched on
+ * disk. Spilled edges that were found on disk are remembered in a small direct-mapped cache, so repeated duplicates of
+ * the same edges, which are common in aggregated graphs, do not search the runs again. False positives of the filters
+ * are searched at most once until the next spill since the edge is kept in memory afterwards.
+ * </p>
+ */
+final class EdgeStore implements Closeable {
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private static final double FALSE_POSITIVE_PROBABILITY = 0.01;
+  private static final int SPILLED_CACHE_SIZE = 4096;
+
+  private final Path spillDirectory;
+  private final int spillThreshold;
+  private final List<Run> runs;
+  // Spilled edges that were found in a run, created on first spill
+  private long[] spilledCache;
+  private boolean[] spilledCacheUsed;
+  private OrderedLongSet edges;
+  private boolean spillDirectoryCreated;
+
+  EdgeStore() {
+    this(null, Integer.MAX_VALUE);
+  }
+
+  EdgeStore(Path spillDirectory, int spillThreshold) {
+    if (spillThreshold < 1) {
+      throw new IllegalArgumentException("Spill threshold must be positive: " + spillThreshold);
+    }
+
+    this.spillDirectory = spillDirectory;
+    this.spillThreshold = spillThreshold;
+    this.runs = new ArrayList<>();
+    this.edges = new OrderedLongSet();
+  }
+
+  /**
+   * Adds the given edge.
+   *
+   * @param edge Packed edge.
+   * @return {@code false} if the edge was already added before, no matter whether it is in memory or was spilled.
+   */
+  boolean add(long edge) throws IOException {
+    // Check the edges in memory first, so only edges which are not in memory are searched in the runs
+    if (this.edges.contains(edge) || isSpilled(edge)) {
+      return false;
+    }
+    this.edges.add(edge);
+
+    if (this.spillDirectory != null && this.edges.size() >= this.spillThreshold) {
+      spill();
+    }
+
+    return true;
+  }
+
+  /**
+   * Creates a cursor over all edges without duplicates.
+   */
+  EdgeCursor cursor() throws IOException {
+    if (this.runs.isEmpty()) {
+      return new InsertionOrderCursor(this.edges);
+    }
+
+    List<EdgeCursor> cursors = new ArrayList<>(this.runs.size() + 1);
+    try {
+      for (Run run : this.runs) {
+        cursors.add(new RunCursor(run.file));
+      }
+    } catch (IOException e) {
+      for (EdgeCursor cursor : cursors) {
+        cursor.close();
+      }
+      throw e;
+    }
+    cursors.add(new SortedArrayCursor(sortedEdges()));
+
+    return new MergingCursor(cursors);
+  }
+
+  /**
+   * Deletes all spill files and the spill directory if it was created by this store.
+   */
+  @Override
+  public void close() throws IOException {
+    for (Run run : this.runs) {
+      run.close();
+      Files.deleteIfExists(run.file);
+    }
+    this.runs.clear();
+
+    if (this.spillDirectoryCreated) {
+      try {
+        Files.deleteIfExists(this.spillDirectory);
+        this.spillDirectoryCreated = false;
+      } catch (DirectoryNotEmptyException e) {
+        // Keep the directory if it was used otherwise meanwhile
+      }
+    }
+  }
+
+  private void spill() throws IOException {
+    if (!Files.isDirectory(this.spillDirectory)) {
+      Files.createDirectories(this.spillDirectory);
+      this.spillDirectoryCreated = true;
+    }
+
+    Path file = Files.createTempFile(this.spillDirectory, "edges-", ".run");
+    file.toFile().deleteOnExit();
+
+    long[] sortedEdges = sortedEdges();
+    BloomFilter<Long> filter = BloomFilter.create(Funnels.longFunnel(), sortedEdges.length, FALSE_POSITIVE_PROBABILITY);
+    try (DataOutputStream os = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE))) {
+      for (long edge : sortedEdges) {
+        os.writeLong(edge);
+        filter.put(edge);
+      }
+    }
+
+    this.runs.add(new Run(file, sortedEdges.length, filter));
+    this.edges = new OrderedLongSet();
+    if (this.spilledCache == null) {
+      this.spilledCache = new long[SPILLED_CACHE_SIZE];
+      this.spilledCacheUsed = new boolean[SPILLED_CACHE_SIZE];
+    }
+  }
+
+  private boolean isSpilled(long edge) throws IOException {
+    if (this.runs.isEmpty()) {
+      return false;
+    }
+
+    int slot = OrderedLongSet.hash(edge) & (SPILLED_CACHE_SIZE - 1);
+    if (this.spilledCacheUsed[slot] && this.spilledCache[slot] == edge) {
+      return true;
+    }
+
+    for (Run run : this.runs) {
+      if (run.contains(edge)) {
+        this.spilledCache[slot] = edge;
+        this.spilledCacheUsed[slot] = true;
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  private long[] sortedEdges() {
+    long[] sorted = new long[this.edges.size()];
+    for (int i = 0; i < sorted.length; i++) {
+      sorted[i] = this.edges.get(i);
+    }
+    Arrays.sort(sorted);
+
+    return sorted;
+  }
+
+  /**
+   * A sorted run of edges on disk.
+   */
+  private static final class Run implements Closeable {
+
+    final Path file;
+    private final long size;
+    private final BloomFilter<Long> filter;
+    private final ByteBuffer buffer;
+    private FileChannel channel;
+
+    Run(Path file, long size, BloomFilter<Long> filter) {
+      this.file = file;
+      this.size = size;
+      this.filter = filter;
+      this.buffer = ByteBuffer.allocate(8);
+    }
+
+    /**
+     * Checks the bloom filter and, in case of a possible match, binary searches the file.
+     */
+    boolean contains(long edge) throws IOException {
+      if (!this.filter.mightContain(edge)) {
+        return false;
+      }
+
+      if (this.channel == null) {
+        this.channel = FileChannel.open(this.file, StandardOpenOption.READ);
+      }
+
+      long low = 0;
+      long high = this.size - 1;
+      while (low <= high) {
+        long middle = (low + high) >>> 1;
+        long value = read(middle);
+        if (value < edge) {
+          low = middle + 1;
+        } else if (value > edge) {
+          high = middle - 1;
+        } else {
+          return true;
+        }
+      }
+
+      return false;
+    }
+
+    private long read(long index) throws IOException {
+      // Buffer.clear() since ByteBuffer.clear() does not exist on Java 8 when compiled on Java 9+
+      ((Buffer) this.buffer).clear();
+      long position = index * 8;
+      while (this.buffer.hasRemaining()) {
+        if (this.channel.read(this.buffer, position + this.buffer.position()) < 0) {
+          throw new EOFException("Unexpected end of " + this.file);
+        }
+      }
+
+      return this.buffer.getLong(0);
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (this.channel != null) {
+        this.channel.close();
+        this.channel = null;
+      }
+    }
+  }
+
+  /**
+   * Cursor over packed edges. {@link #next()} has to be called before accessing the first edge.
+   */
+  abstract static class EdgeCursor implements Closeable {
+
+    abstract boolean next() throws IOException;
+
+    abstract long get();
+
+    @Override
+    public void close() throws IOException {
+      // NOP
+    }
+  }
+
+  private static final class InsertionOrderCursor extends EdgeCursor {
+
+    private final OrderedLongSet edges;
+    private int index = -1;
+
+    InsertionOrderCursor(OrderedLongSet edges) {
+      this.edges = edges;
+    }
+
+    @Override
+    boolean next() {
+      return ++this.index < this.edges.size();
+    }
+
+    @Override
+    long get() {
+      return this.edges.get(this.index);
+    }
+  }
+
+  private static final class SortedArrayCursor extends EdgeCursor {
+
+    private final long[] edges;
+    private int index = -1;
+
+    SortedArrayCursor(long[] edges) {
+      this.edges = edges;
+    }
+
+    @Override
+    boolean next() {
+      return ++this.index < this.edges.length;
+    }
+
+    @Override
+    long get() {
+      return this.edges[this.index];
+    }
+  }
+
+  private static final class RunCursor extends EdgeCursor {
+
+    private final DataInputStream is;
+    private long current;
+
+    RunCursor(Path run) throws IOException {
+      this.is = new DataInputStream(new BufferedInputStream(Files.newInputStream(run), BUFFER_SIZE));
+    }
+
+    @Override
+    boolean next() throws IOException {
+      try {
+        this.current = this.is.readLong();
+        return true;
+      } catch (EOFException e) {
+        return false;
+      }
+    }
+
+    @Override
+    long get() {
+      return this.current;
+    }
+
+    @Override
+    public void close() throws IOException {
+      this.is.close();
+    }
+  }
+
+  /**
+   * K-way merge of sorted cursors which skips duplicate edges.
+   */
+  private static final class MergingCursor extends EdgeCursor {
+
+    private final List<EdgeCursor> cursors;
+    private final PriorityQueue<EdgeCursor> queue;
+    private boolean initialized;
+    private boolean hasCurrent;
+    private long current;
+
+    MergingCursor(List<EdgeCursor> cursors) {
+      this.cursors = cursors;
+      this.queue = new PriorityQueue<>(cursors.size(), new Comparator<EdgeCursor>() {
+
+        @Override
+        public int compare(EdgeCursor c1, EdgeCursor c2) {
+          return Long.compare(c1.get(), c2.get());
+        }
+      });
+    }
+
+    @Override
+    boolean next() throws IOException {
+      if (!this.initialized) {
+        for (EdgeCursor cursor : this.cursors) {
+          if (cursor.next()) {
+            this.queue.add(cursor);
+          }
+        }
+        this.initialized = true;
+      }
+
+      while (!this.queue.isEmpty()) {
+        EdgeCursor cursor = this.queue.poll();
+        long edge = cursor.get();
+        if (cursor.next()) {
+          this.queue.add(cursor);
+        }
+
+        if (!this.hasCurrent || edge != this.current) {
+          this.current = edge;
+          this.hasCurrent = true;
+          return true;
+        }
+      }
+
+      return false;
+    }
+
+    @Override
+    long get() {
+      return this.current;
+    }
+
+    @Override
+    public void close() throws IOException {
+      for (EdgeCursor cursor : this.cursors) {
+        cursor.close();
+      }
+    }
+  }
+}
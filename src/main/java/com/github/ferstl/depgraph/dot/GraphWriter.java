@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.dot;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Writes a graph in a specific format. Graph writers are attached to a {@link DotBuilder}, which passes each distinct
+ * edge to all attached writers as soon as it is added. So a single traversal of the dependencies can produce several
+ * output formats. The nodes are passed when the graph is completed because they may still change while the graph is
+ * being created, e.g. when the scopes of several occurrences of a dependency are merged.
+ * <p>
+ * Edges are distinct by their source node, target node and attributes. So the same pair of nodes may be passed several
+ * times, e.g. when a dependency is reached with different scopes or resolutions. Writers of formats that have no or
+ * fewer edge attributes than the {@link DotBuilder} have to remove such duplicates themselves if the format does not
+ * allow parallel edges.
+ * </p>
+ * <p>
+ * Each node is identified by its name and by an id, which the {@link DotBuilder} assigns in the order the nodes were
+ * added, starting at {@code 0}. Writers that need to index the nodes can use these ids instead of mapping the names
+ * themselves.
+ * </p>
+ * <p>
+ * The call sequence is:
+ * </p>
+ * <ol>
+ * <li>{@link #edge(int, String, Object, int, String, Object)} for each distinct edge in the order the edges are added</li>
+ * <li>{@link #node(int, String, Object)} for each node in the order of its id</li>
+ * <li>{@link #complete()}</li>
+ * <li>{@link #close()}</li>
+ * </ol>
+ *
+ * @param <T> Type of the graph nodes.
+ */
+public interface GraphWriter<T> extends Closeable {
+
+  /**
+   * Called for each distinct edge, i.e. for each distinct combination of source node, target node and edge attributes.
+   *
+   * @param fromId Id of the source node.
+   * @param from Name of the source node.
+   * @param fromNode The source node as it was passed to the {@link DotBuilder}.
+   * @param toId Id of the target node.
+   * @param to Name of the target node.
+   * @param toNode The target node as it was passed to the {@link DotBuilder}.
+   * @throws IOException In case of an I/O error.
+   */
+  void edge(int fromId, String from, T fromNode, int toId, String to, T toNode) throws IOException;
+
+  /**
+   * Called for each node when the graph is completed.
+   *
+   * @param id Id of the node.
+   * @param name Name of the node.
+   * @param node The effective node, i.e. the node that was added last with this name.
+   * @throws IOException In case of an I/O error.
+   */
+  void node(int id, String name, T node) throws IOException;
+
+  /**
+   * Called after all nodes were passed to this writer.
+   *
+   * @throws IOException In case of an I/O error.
+   */
+  void complete() throws IOException;
+}
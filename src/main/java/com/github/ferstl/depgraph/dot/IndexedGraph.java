@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.dot;
+
+/**
+ * Compact, int-indexed representation of a directed graph in compressed sparse row format. Nodes are numbered from
+ * {@code 0} to {@code nodeCount - 1}. Each edge keeps the index it had in the arrays it was created from.
+ */
+final class IndexedGraph {
+
+  private final int nodeCount;
+  private final int edgeCount;
+  private final int[] offsets;
+  private final int[] targets;
+  private final int[] edgeIndices;
+
+  IndexedGraph(int nodeCount, int[] from, int[] to) {
+    if (from.length != to.length) {
+      throw new IllegalArgumentException("Edge arrays must have the same length");
+    }
+
+    this.nodeCount = nodeCount;
+    this.edgeCount = from.length;
+    this.offsets = new int[nodeCount + 1];
+    this.targets = new int[this.edgeCount];
+    this.edgeIndices = new int[this.edgeCount];
+
+    for (int source : from) {
+      this.offsets[source + 1]++;
+    }
+    for (int i = 0; i < nodeCount; i++) {
+      this.offsets[i + 1] += this.offsets[i];
+    }
+
+    int[] position = new int[nodeCount];
+    for (int i = 0; i < this.edgeCount; i++) {
+      int slot = this.offsets[from[i]] + position[from[i]]++;
+      this.targets[slot] = to[i];
+      this.edgeIndices[slot] = i;
+    }
+  }
+
+  int getNodeCount() {
+    return this.nodeCount;
+  }
+
+  int getEdgeCount() {
+    return this.edgeCount;
+  }
+
+  /**
+   * Start of the given node's outgoing edges (inclusive) in {@link #target(int)} and {@link #edgeIndex(int)}.
+   */
+  int firstEdge(int node) {
+    return this.offsets[node];
+  }
+
+  /**
+   * End of the given node's outgoing edges (exclusive).
+   */
+  int lastEdge(int node) {
+    return this.offsets[node + 1];
+  }
+
+  int target(int slot) {
+    return this.targets[slot];
+  }
+
+  int edgeIndex(int slot) {
+    return this.edgeIndices[slot];
+  }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.dot;
+
+/**
+ * An {@link EdgeAttributeRenderer} whose attributes are determined by a key that is cheaper to create than the
+ * attributes themselves. {@link DotBuilder} renders the attributes only once per distinct key.
+ *
+ * @param <T> Type of the graph nodes.
+ */
+public interface KeyedEdgeAttributeRenderer<T> extends EdgeAttributeRenderer<T> {
+
+  /**
+   * Creates the key of the attributes of the given edge. Edges with equal keys must have equal attributes.
+   *
+   * @param from The source node.
+   * @param to The target node.
+   * @return The key of the edge attributes. It has to implement {@code equals()} and {@code hashCode()}.
+   */
+  Object createEdgeAttributesKey(T from, T to);
+}
@@ -73,6 +73,26 @@ public class LabelBuilder {
     return this;
   }
 
+  /**
+   * Add text within a font tag that was created with {@link FontBuilder#createTag()}. This allows rendering the font
+   * tags of frequently used fonts only once.
+   *
+   * @param fontTag The opening font tag or {@code null} for text without font tag.
+   * @param text Text.
+   * @return This builder.
+   */
+  public LabelBuilder text(String fontTag, String text) {
+    if (fontTag == null) {
+      addText(text);
+    } else if (StringUtils.isNotEmpty(text)) {
+      this.labelBuilder.append(fontTag);
+      addText(text);
+      this.labelBuilder.append("</font>");
+    }
+
+    return this;
+  }
+
   /**
    * Add a line break.
    *
@@ -211,6 +231,25 @@ public class LabelBuilder {
       return this;
     }
 
+    /**
+     * Creates the opening font tag for the configured font options. The tag can be used with
+     * {@link LabelBuilder#text(String, String)}.
+     *
+     * @return The font tag or {@code null} if no font options are configured.
+     */
+    public String createTag() {
+      if (this.attributes.isEmpty()) {
+        return null;
+      }
+
+      StringBuilder tag = new StringBuilder("<font");
+      for (String attribute : this.attributes.values()) {
+        tag.append(" ").append(attribute);
+      }
+
+      return tag.append(">").toString();
+    }
+
     /**
      * Add the given text.
      *
@@ -0,0 +1,533 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.dot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Sugiyama-style layered layout for directed graphs. The layout runs in these phases:
+ * <ol>
+ * <li>Cycle removal by reversing DFS back edges</li>
+ * <li>Longest-path layer assignment</li>
+ * <li>Insertion of virtual nodes for edges spanning more than one layer</li>
+ * <li>Crossing reduction with the barycenter heuristic</li>
+ * <li>Coordinate assignment by iterative neighbor alignment</li>
+ * </ol>
+ * Nodes are identified by their index. Layers are placed from top to bottom.
+ */
+final class LayeredLayout {
+
+  static final double NODE_SEPARATION = 20;
+  static final double LAYER_SEPARATION = 50;
+  static final double MARGIN = 10;
+
+  private static final int ORDERING_ITERATIONS = 24;
+  private static final int POSITIONING_ITERATIONS = 8;
+
+  private final double[] widths;
+  private final double[] heights;
+  private final List<int[]> edges;
+
+  // virtual graph (real nodes followed by the virtual nodes)
+  private int virtualNodeCount;
+  private int[] layer;
+  private List<List<Integer>> predecessors;
+  private List<List<Integer>> successors;
+  private List<List<Integer>> layers;
+  private double[] x;
+  private double[] y;
+  private List<List<Integer>> edgeChains;
+  private boolean[] reversed;
+
+  /**
+   * Creates a new layout.
+   *
+   * @param widths Width of each node.
+   * @param heights Height of each node.
+   * @param edges Edges as {@code {from, to}} pairs of node indices.
+   */
+  LayeredLayout(double[] widths, double[] heights, List<int[]> edges) {
+    if (widths.length != heights.length) {
+      throw new IllegalArgumentException("Number of widths and heights must be equal");
+    }
+
+    this.widths = widths;
+    this.heights = heights;
+    this.edges = edges;
+  }
+
+  LayeredLayout layout() {
+    int nodeCount = this.widths.length;
+    this.reversed = removeCycles(nodeCount);
+    int[] realLayers = assignLayers(nodeCount);
+    createVirtualGraph(nodeCount, realLayers);
+    orderLayers();
+    assignCoordinates();
+
+    return this;
+  }
+
+  double getX(int node) {
+    return this.x[node];
+  }
+
+  double getY(int node) {
+    return this.y[node];
+  }
+
+  int getLayer(int node) {
+    return this.layer[node];
+  }
+
+  /**
+   * Returns the nodes of the given layer in their final order. Virtual nodes have indices greater or equal the number
+   * of real nodes.
+   */
+  List<Integer> getLayerOrder(int layerIndex) {
+    return Collections.unmodifiableList(this.layers.get(layerIndex));
+  }
+
+  int getLayerCount() {
+    return this.layers.size();
+  }
+
+  double getWidth() {
+    double width = 0;
+    for (int i = 0; i < this.virtualNodeCount; i++) {
+      width = Math.max(width, this.x[i] + nodeWidth(i) / 2);
+    }
+
+    return width + MARGIN;
+  }
+
+  double getHeight() {
+    double height = 0;
+    for (int i = 0; i < this.virtualNodeCount; i++) {
+      height = Math.max(height, this.y[i] + nodeHeight(i) / 2);
+    }
+
+    return height + MARGIN;
+  }
+
+  /**
+   * Returns the route of the given edge as a list of {@code {x, y}} points, starting at the source node and ending at
+   * the target node. Self references have no route and return an empty list.
+   */
+  List<double[]> getRoute(int edgeIndex) {
+    int[] edge = this.edges.get(edgeIndex);
+    List<Integer> chain = this.edgeChains.get(edgeIndex);
+    List<double[]> route = new ArrayList<>();
+    if (chain.isEmpty()) {
+      return route;
+    }
+
+    int first = chain.get(0);
+    int last = chain.get(chain.size() - 1);
+    route.add(new double[]{this.x[first], this.y[first] + nodeHeight(first) / 2});
+    for (int i = 1; i < chain.size() - 1; i++) {
+      int node = chain.get(i);
+      route.add(new double[]{this.x[node], this.y[node]});
+    }
+    route.add(new double[]{this.x[last], this.y[last] - nodeHeight(last) / 2});
+
+    if (this.reversed[edgeIndex] && edge[0] != edge[1]) {
+      Collections.reverse(route);
+    }
+
+    return route;
+  }
+
+  /**
+   * Counts the edge crossings of the current node order.
+   */
+  int countCrossings() {
+    int crossings = 0;
+    for (int i = 0; i < this.layers.size() - 1; i++) {
+      crossings += countCrossings(i);
+    }
+
+    return crossings;
+  }
+
+  private boolean[] removeCycles(int nodeCount) {
+    List<List<Integer>> outgoing = new ArrayList<>(nodeCount);
+    for (int i = 0; i < nodeCount; i++) {
+      outgoing.add(new ArrayList<Integer>());
+    }
+    for (int i = 0; i < this.edges.size(); i++) {
+      outgoing.get(this.edges.get(i)[0]).add(i);
+    }
+
+    // 0 = unvisited, 1 = on stack, 2 = done
+    int[] state = new int[nodeCount];
+    int[] edgePosition = new int[nodeCount];
+    boolean[] reversedEdges = new boolean[this.edges.size()];
+    int[] stack = new int[nodeCount];
+
+    for (int start = 0; start < nodeCount; start++) {
+      if (state[start] != 0) {
+        continue;
+      }
+
+      int top = 0;
+      stack[top] = start;
+      state[start] = 1;
+      while (top >= 0) {
+        int node = stack[top];
+        List<Integer> out = outgoing.get(node);
+        if (edgePosition[node] < out.size()) {
+          int edgeIndex = out.get(edgePosition[node]++);
+          int target = this.edges.get(edgeIndex)[1];
+          if (state[target] == 1) {
+            reversedEdges[edgeIndex] = true;
+          } else if (state[target] == 0) {
+            state[target] = 1;
+            stack[++top] = target;
+          }
+        } else {
+          state[node] = 2;
+          top--;
+        }
+      }
+    }
+
+    return reversedEdges;
+  }
+
+  private int[] assignLayers(int nodeCount) {
+    int[] inDegree = new int[nodeCount];
+    List<List<Integer>> out = new ArrayList<>(nodeCount);
+    for (int i = 0; i < nodeCount; i++) {
+      out.add(new ArrayList<Integer>());
+    }
+
+    for (int i = 0; i < this.edges.size(); i++) {
+      int[] edge = orientedEdge(i);
+      if (edge[0] != edge[1]) {
+        out.get(edge[0]).add(edge[1]);
+        inDegree[edge[1]]++;
+      }
+    }
+
+    int[] result = new int[nodeCount];
+    int[] queue = new int[nodeCount];
+    int head = 0;
+    int tail = 0;
+    for (int i = 0; i < nodeCount; i++) {
+      if (inDegree[i] == 0) {
+        queue[tail++] = i;
+      }
+    }
+
+    while (head < tail) {
+      int node = queue[head++];
+      for (int successor : out.get(node)) {
+        result[successor] = Math.max(result[successor], result[node] + 1);
+        if (--inDegree[successor] == 0) {
+          queue[tail++] = successor;
+        }
+      }
+    }
+
+    return result;
+  }
+
+  private void createVirtualGraph(int nodeCount, int[] realLayers) {
+    List<Integer> layerList = new ArrayList<>(nodeCount);
+    for (int l : realLayers) {
+      layerList.add(l);
+    }
+
+    this.predecessors = new ArrayList<>();
+    this.successors = new ArrayList<>();
+    for (int i = 0; i < nodeCount; i++) {
+      this.predecessors.add(new ArrayList<Integer>());
+      this.successors.add(new ArrayList<Integer>());
+    }
+
+    this.edgeChains = new ArrayList<>(this.edges.size());
+    for (int i = 0; i < this.edges.size(); i++) {
+      int[] edge = orientedEdge(i);
+      List<Integer> chain = new ArrayList<>();
+      this.edgeChains.add(chain);
+      if (edge[0] == edge[1]) {
+        continue;
+      }
+
+      chain.add(edge[0]);
+      int previous = edge[0];
+      for (int l = realLayers[edge[0]] + 1; l < realLayers[edge[1]]; l++) {
+        int virtualNode = layerList.size();
+        layerList.add(l);
+        this.predecessors.add(new ArrayList<Integer>());
+        this.successors.add(new ArrayList<Integer>());
+        connect(previous, virtualNode);
+        chain.add(virtualNode);
+        previous = virtualNode;
+      }
+      connect(previous, edge[1]);
+      chain.add(edge[1]);
+    }
+
+    this.virtualNodeCount = layerList.size();
+    this.layer = new int[this.virtualNodeCount];
+    int layerCount = 0;
+    for (int i = 0; i < this.virtualNodeCount; i++) {
+      this.layer[i] = layerList.get(i);
+      layerCount = Math.max(layerCount, this.layer[i] + 1);
+    }
+
+    this.layers = new ArrayList<>(layerCount);
+    for (int i = 0; i < layerCount; i++) {
+      this.layers.add(new ArrayList<Integer>());
+    }
+    for (int i = 0; i < this.virtualNodeCount; i++) {
+      this.layers.get(this.layer[i]).add(i);
+    }
+  }
+
+  private void connect(int from, int to) {
+    this.successors.get(from).add(to);
+    this.predecessors.get(to).add(from);
+  }
+
+  private void orderLayers() {
+    int[] position = new int[this.virtualNodeCount];
+    updatePositions(position);
+
+    List<List<Integer>> bestOrder = copyLayers();
+    int bestCrossings = countCrossings();
+
+    for (int iteration = 0; iteration < ORDERING_ITERATIONS && bestCrossings > 0; iteration++) {
+      boolean down = iteration % 2 == 0;
+      if (down) {
+        for (int l = 1; l < this.layers.size(); l++) {
+          sortByBarycenter(this.layers.get(l), this.predecessors, position);
+        }
+      } else {
+        for (int l = this.layers.size() - 2; l >= 0; l--) {
+          sortByBarycenter(this.layers.get(l), this.successors, position);
+        }
+      }
+
+      int crossings = countCrossings();
+      if (crossings < bestCrossings) {
+        bestCrossings = crossings;
+        bestOrder = copyLayers();
+      }
+    }
+
+    this.layers = bestOrder;
+  }
+
+  private void sortByBarycenter(List<Integer> layerNodes, List<List<Integer>> neighbors, final int[] position) {
+    final double[] barycenter = new double[this.virtualNodeCount];
+    for (int node : layerNodes) {
+      List<Integer> adjacent = neighbors.get(node);
+      if (adjacent.isEmpty()) {
+        barycenter[node] = position[node];
+      } else {
+        double sum = 0;
+        for (int neighbor : adjacent) {
+          sum += position[neighbor];
+        }
+        barycenter[node] = sum / adjacent.size();
+      }
+    }
+
+    // Collections.sort() is stable, so nodes with equal barycenters keep their relative order.
+    Collections.sort(layerNodes, new Comparator<Integer>() {
+
+      @Override
+      public int compare(Integer n1, Integer n2) {
+        return Double.compare(barycenter[n1], barycenter[n2]);
+      }
+    });
+
+    for (int i = 0; i < layerNodes.size(); i++) {
+      position[layerNodes.get(i)] = i;
+    }
+  }
+
+  private void updatePositions(int[] position) {
+    for (List<Integer> layerNodes : this.layers) {
+      for (int i = 0; i < layerNodes.size(); i++) {
+        position[layerNodes.get(i)] = i;
+      }
+    }
+  }
+
+  private List<List<Integer>> copyLayers() {
+    List<List<Integer>> copy = new ArrayList<>(this.layers.size());
+    for (List<Integer> layerNodes : this.layers) {
+      copy.add(new ArrayList<>(layerNodes));
+    }
+
+    return copy;
+  }
+
+  /**
+   * Counts the crossings between the given layer and the next one by counting inversions with a Fenwick tree
+   * (Barth, Juenger, Mutzel: Simple and Efficient Bilayer Cross Counting).
+   */
+  private int countCrossings(int upperLayer) {
+    List<Integer> upper = this.layers.get(upperLayer);
+    List<Integer> lower = this.layers.get(upperLayer + 1);
+    int[] lowerPosition = new int[this.virtualNodeCount];
+    for (int i = 0; i < lower.size(); i++) {
+      lowerPosition[lower.get(i)] = i;
+    }
+
+    List<Integer> targets = new ArrayList<>();
+    for (int node : upper) {
+      List<Integer> out = this.successors.get(node);
+      int[] sorted = new int[out.size()];
+      for (int i = 0; i < sorted.length; i++) {
+        sorted[i] = lowerPosition[out.get(i)];
+      }
+      Arrays.sort(sorted);
+      for (int target : sorted) {
+        targets.add(target);
+      }
+    }
+
+    int[] tree = new int[lower.size() + 1];
+    int crossings = 0;
+    int inserted = 0;
+    for (int target : targets) {
+      // number of already inserted targets with a position <= target
+      int lessOrEqual = 0;
+      for (int i = target + 1; i > 0; i -= i & -i) {
+        lessOrEqual += tree[i];
+      }
+      crossings += inserted - lessOrEqual;
+
+      for (int i = target + 1; i < tree.length; i += i & -i) {
+        tree[i]++;
+      }
+      inserted++;
+    }
+
+    return crossings;
+  }
+
+  private void assignCoordinates() {
+    this.x = new double[this.virtualNodeCount];
+    this.y = new double[this.virtualNodeCount];
+
+    double currentY = MARGIN;
+    for (List<Integer> layerNodes : this.layers) {
+      double layerHeight = 0;
+      for (int node : layerNodes) {
+        layerHeight = Math.max(layerHeight, nodeHeight(node));
+      }
+
+      double currentX = MARGIN;
+      for (int node : layerNodes) {
+        this.x[node] = currentX + nodeWidth(node) / 2;
+        this.y[node] = currentY + layerHeight / 2;
+        currentX += nodeWidth(node) + NODE_SEPARATION;
+      }
+
+      currentY += layerHeight + LAYER_SEPARATION;
+    }
+
+    for (int iteration = 0; iteration < POSITIONING_ITERATIONS; iteration++) {
+      if (iteration % 2 == 0) {
+        for (int l = 1; l < this.layers.size(); l++) {
+          alignLayer(this.layers.get(l), this.predecessors);
+        }
+      } else {
+        for (int l = this.layers.size() - 2; l >= 0; l--) {
+          alignLayer(this.layers.get(l), this.successors);
+        }
+      }
+    }
+
+    double minX = Double.MAX_VALUE;
+    for (int i = 0; i < this.virtualNodeCount; i++) {
+      minX = Math.min(minX, this.x[i] - nodeWidth(i) / 2);
+    }
+    double shift = MARGIN - minX;
+    for (int i = 0; i < this.virtualNodeCount; i++) {
+      this.x[i] += shift;
+    }
+  }
+
+  /**
+   * Moves the nodes of a layer towards the mean position of their neighbors while keeping their order and the minimum
+   * separation. The result is the average of a left-to-right and a right-to-left compaction, which both keep the
+   * constraints.
+   */
+  private void alignLayer(List<Integer> layerNodes, List<List<Integer>> neighbors) {
+    int size = layerNodes.size();
+    double[] desired = new double[size];
+    for (int i = 0; i < size; i++) {
+      int node = layerNodes.get(i);
+      List<Integer> adjacent = neighbors.get(node);
+      if (adjacent.isEmpty()) {
+        desired[i] = this.x[node];
+      } else {
+        double sum = 0;
+        for (int neighbor : adjacent) {
+          sum += this.x[neighbor];
+        }
+        desired[i] = sum / adjacent.size();
+      }
+    }
+
+    double[] leftToRight = new double[size];
+    for (int i = 0; i < size; i++) {
+      leftToRight[i] = desired[i];
+      if (i > 0) {
+        leftToRight[i] = Math.max(leftToRight[i], leftToRight[i - 1] + separation(layerNodes.get(i - 1), layerNodes.get(i)));
+      }
+    }
+
+    double[] rightToLeft = new double[size];
+    for (int i = size - 1; i >= 0; i--) {
+      rightToLeft[i] = desired[i];
+      if (i < size - 1) {
+        rightToLeft[i] = Math.min(rightToLeft[i], rightToLeft[i + 1] - separation(layerNodes.get(i), layerNodes.get(i + 1)));
+      }
+    }
+
+    for (int i = 0; i < size; i++) {
+      this.x[layerNodes.get(i)] = (leftToRight[i] + rightToLeft[i]) / 2;
+    }
+  }
+
+  private double separation(int left, int right) {
+    return nodeWidth(left) / 2 + NODE_SEPARATION + nodeWidth(right) / 2;
+  }
+
+  private double nodeWidth(int node) {
+    return node < this.widths.length ? this.widths[node] : 0;
+  }
+
+  private double nodeHeight(int node) {
+    return node < this.heights.length ? this.heights[node] : 0;
+  }
+
+  private int[] orientedEdge(int edgeIndex) {
+    int[] edge = this.edges.get(edgeIndex);
+    return this.reversed[edgeIndex] ? new int[]{edge[1], edge[0]} : edge;
+  }
+}
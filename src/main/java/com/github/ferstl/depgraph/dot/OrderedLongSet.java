@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.dot;
+
+import java.util.Arrays;
+
+/**
+ * Set of primitive longs that preserves the insertion order. The values are stored in insertion order in a plain
+ * array. An open-addressing hash table with linear probing refers to the positions within this array.
+ */
+final class OrderedLongSet {
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private long[] values;
+  // position + 1 of the value in the values array, 0 for empty slots
+  private int[] slots;
+  private int size;
+
+  OrderedLongSet() {
+    this.values = new long[INITIAL_CAPACITY];
+    this.slots = new int[INITIAL_CAPACITY * 2];
+  }
+
+  /**
+   * Adds the given value if it is not present yet.
+   *
+   * @param value Value.
+   * @return {@code true} if the value was added, {@code false} if it was already present.
+   */
+  boolean add(long value) {
+    int mask = this.slots.length - 1;
+    int slot = hash(value) & mask;
+    while (this.slots[slot] != 0) {
+      if (this.values[this.slots[slot] - 1] == value) {
+        return false;
+      }
+      slot = (slot + 1) & mask;
+    }
+
+    if (this.size == this.values.length) {
+      grow();
+      return add(value);
+    }
+
+    this.values[this.size++] = value;
+    this.slots[slot] = this.size;
+    return true;
+  }
+
+  boolean contains(long value) {
+    int mask = this.slots.length - 1;
+    int slot = hash(value) & mask;
+    while (this.slots[slot] != 0) {
+      if (this.values[this.slots[slot] - 1] == value) {
+        return true;
+      }
+      slot = (slot + 1) & mask;
+    }
+
+    return false;
+  }
+
+  /**
+   * Returns the value at the given position in insertion order.
+   */
+  long get(int index) {
+    if (index >= this.size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+    }
+
+    return this.values[index];
+  }
+
+  int size() {
+    return this.size;
+  }
+
+  private void grow() {
+    this.values = Arrays.copyOf(this.values, this.values.length * 2);
+    this.slots = new int[this.values.length * 2];
+
+    int mask = this.slots.length - 1;
+    for (int i = 0; i < this.size; i++) {
+      int slot = hash(this.values[i]) & mask;
+      while (this.slots[slot] != 0) {
+        slot = (slot + 1) & mask;
+      }
+      this.slots[slot] = i + 1;
+    }
+  }
+
+  static int hash(long value) {
+    // Mix the bits since the packed values only differ in a few bits
+    long h = value * 0x9E3779B97F4A7C15L;
+    return (int) (h ^ (h >>> 32));
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.dot;
+
+import java.util.Arrays;
+
+/**
+ * Strongly connected components of an {@link IndexedGraph}, computed with an iterative version of Tarjan's algorithm
+ * in {@code O(nodes + edges)}. The components are numbered in <strong>reverse topological order</strong>, i.e. all
+ * components reachable from a component have a lower number.
+ */
+final class StronglyConnectedComponents {
+
+  private final int[] components;
+  private final int componentCount;
+
+  private StronglyConnectedComponents(int[] components, int componentCount) {
+    this.components = components;
+    this.componentCount = componentCount;
+  }
+
+  static StronglyConnectedComponents compute(IndexedGraph graph) {
+    int nodeCount = graph.getNodeCount();
+    int[] index = new int[nodeCount];
+    int[] lowLink = new int[nodeCount];
+    int[] components = new int[nodeCount];
+    boolean[] onStack = new boolean[nodeCount];
+    int[] stack = new int[nodeCount];
+    int[] callStack = new int[nodeCount];
+    int[] nextEdge = new int[nodeCount];
+    Arrays.fill(index, -1);
+
+    int currentIndex = 0;
+    int componentCount = 0;
+    int stackTop = -1;
+
+    for (int start = 0; start < nodeCount; start++) {
+      if (index[start] != -1) {
+        continue;
+      }
+
+      int callTop = 0;
+      callStack[callTop] = start;
+      index[start] = lowLink[start] = currentIndex++;
+      nextEdge[start] = graph.firstEdge(start);
+      stack[++stackTop] = start;
+      onStack[start] = true;
+
+      while (callTop >= 0) {
+        int node = callStack[callTop];
+        if (nextEdge[node] < graph.lastEdge(node)) {
+          int target = graph.target(nextEdge[node]++);
+          if (index[target] == -1) {
+            index[target] = lowLink[target] = currentIndex++;
+            nextEdge[target] = graph.firstEdge(target);
+            stack[++stackTop] = target;
+            onStack[target] = true;
+            callStack[++callTop] = target;
+          } else if (onStack[target]) {
+            lowLink[node] = Math.min(lowLink[node], index[target]);
+          }
+        } else {
+          if (lowLink[node] == index[node]) {
+            int member;
+            do {
+              member = stack[stackTop--];
+              onStack[member] = false;
+              components[member] = componentCount;
+            } while (member != node);
+            componentCount++;
+          }
+
+          callTop--;
+          if (callTop >= 0) {
+            int parent = callStack[callTop];
+            lowLink[parent] = Math.min(lowLink[parent], lowLink[node]);
+          }
+        }
+      }
+    }
+
+    return new StronglyConnectedComponents(components, componentCount);
+  }
+
+  int getNodeCount() {
+    return this.components.length;
+  }
+
+  int getComponentCount() {
+    return this.componentCount;
+  }
+
+  int getComponent(int node) {
+    return this.components[node];
+  }
+}
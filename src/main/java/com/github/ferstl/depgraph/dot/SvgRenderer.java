@@ -0,0 +1,288 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.dot;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.apache.commons.lang3.StringUtils;
+import com.github.ferstl.depgraph.dot.DotBuilder.EdgeDefinition;
+import com.github.ferstl.depgraph.dot.DotBuilder.GraphView;
+import com.github.ferstl.depgraph.dot.DotBuilder.NodeDefinition;
+import com.google.common.escape.Escaper;
+import com.google.common.xml.XmlEscapers;
+
+/**
+ * Renders the nodes and edges of a {@link DotBuilder} as SVG image without the need of an external Graphviz
+ * installation. The graph is arranged with a {@link LayeredLayout}. Only a subset of the DOT attributes is supported:
+ * {@code shape}, {@code style}, {@code color}, {@code fillcolor}, {@code fontname}, {@code fontsize},
+ * {@code fontcolor} and {@code label}. HTML-like labels are rendered line by line, honoring the font size and color of
+ * each line.
+ */
+public final class SvgRenderer {
+
+  private static final double CHARACTER_WIDTH_FACTOR = 0.6;
+  private static final double LINE_HEIGHT_FACTOR = 1.2;
+  private static final double HORIZONTAL_PADDING = 16;
+  private static final double VERTICAL_PADDING = 10;
+  private static final double ARROW_LENGTH = 8;
+  private static final double ARROW_WIDTH = 3.5;
+  private static final int DEFAULT_FONT_SIZE = 14;
+  private static final String DEFAULT_FONT_NAME = "Helvetica";
+  private static final String DEFAULT_COLOR = "black";
+
+  private static final Pattern LINE_BREAK_PATTERN = Pattern.compile("<br\\s*/>");
+  private static final Pattern TAG_PATTERN = Pattern.compile("<[^>]*>");
+  private static final Pattern FONT_SIZE_PATTERN = Pattern.compile("point-size=\"(\\d+)\"");
+  private static final Pattern FONT_COLOR_PATTERN = Pattern.compile("color=\"([^\"]*)\"");
+
+  private static final Escaper CONTENT_ESCAPER = XmlEscapers.xmlContentEscaper();
+  private static final Escaper ATTRIBUTE_ESCAPER = XmlEscapers.xmlAttributeEscaper();
+
+  private SvgRenderer() {
+    throw new AssertionError("not instantiable");
+  }
+
+  /**
+   * Lays out the graph of the given {@link DotBuilder} and writes it as SVG.
+   *
+   * @param dotBuilder The builder containing the graph.
+   * @param writer Writer for the SVG document.
+   * @throws IOException In case of an I/O error.
+   */
+  public static void render(DotBuilder<?> dotBuilder, Writer writer) throws IOException {
+    Map<String, String> defaultNodeAttributes = dotBuilder.getNodeAttributeBuilder().getAttributes();
+    Map<String, String> defaultEdgeAttributes = dotBuilder.getEdgeAttributeBuilder().getAttributes();
+    GraphView graph = dotBuilder.createGraphView();
+
+    List<NodeShape> nodes = new ArrayList<>();
+    for (NodeDefinition node : graph.nodes) {
+      Map<String, String> attributes = new HashMap<>(defaultNodeAttributes);
+      attributes.putAll(node.attributes.getAttributes());
+
+      nodes.add(new NodeShape(node.name, attributes));
+    }
+
+    List<int[]> edgeIndices = new ArrayList<>();
+    List<Map<String, String>> edgeAttributes = new ArrayList<>();
+    for (EdgeDefinition edge : graph.edges) {
+      Map<String, String> attributes = new HashMap<>(defaultEdgeAttributes);
+      attributes.putAll(edge.attributes.getAttributes());
+
+      edgeIndices.add(new int[]{edge.from, edge.to});
+      edgeAttributes.add(attributes);
+    }
+
+    double[] widths = new double[nodes.size()];
+    double[] heights = new double[nodes.size()];
+    for (int i = 0; i < nodes.size(); i++) {
+      widths[i] = nodes.get(i).width;
+      heights[i] = nodes.get(i).height;
+    }
+
+    LayeredLayout layout = new LayeredLayout(widths, heights, edgeIndices).layout();
+
+    writer.write(String.format(Locale.ROOT,
+        "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>\n"
+            + "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"%.0fpt\" height=\"%.0fpt\" viewBox=\"0 0 %.2f %.2f\">\n",
+        layout.getWidth(), layout.getHeight(), layout.getWidth(), layout.getHeight()));
+
+    writer.write("<g class=\"edges\">\n");
+    for (int i = 0; i < edgeIndices.size(); i++) {
+      writeEdge(layout.getRoute(i), edgeAttributes.get(i), writer);
+    }
+    writer.write("</g>\n<g class=\"nodes\">\n");
+    for (int i = 0; i < nodes.size(); i++) {
+      nodes.get(i).write(layout.getX(i), layout.getY(i), writer);
+    }
+    writer.write("</g>\n</svg>\n");
+  }
+
+  private static void writeEdge(List<double[]> route, Map<String, String> attributes, Writer writer) throws IOException {
+    if (route.size() < 2) {
+      return;
+    }
+
+    String color = StringUtils.defaultIfBlank(attributes.get("color"), DEFAULT_COLOR);
+    StringBuilder path = new StringBuilder();
+    for (double[] point : route) {
+      path.append(path.length() == 0 ? "M" : " L").append(format(point[0])).append(",").append(format(point[1]));
+    }
+
+    writer.write("<path fill=\"none\" stroke=\"" + attr(color) + "\"" + dashArray(attributes.get("style")) + " d=\"" + path + "\"/>\n");
+
+    double[] tip = route.get(route.size() - 1);
+    double[] previous = route.get(route.size() - 2);
+    double dx = tip[0] - previous[0];
+    double dy = tip[1] - previous[1];
+    double length = Math.sqrt(dx * dx + dy * dy);
+    if (length > 0) {
+      double ux = dx / length;
+      double uy = dy / length;
+      double baseX = tip[0] - ux * ARROW_LENGTH;
+      double baseY = tip[1] - uy * ARROW_LENGTH;
+      writer.write("<polygon fill=\"" + attr(color) + "\" stroke=\"" + attr(color) + "\" points=\""
+          + format(tip[0]) + "," + format(tip[1]) + " "
+          + format(baseX - uy * ARROW_WIDTH) + "," + format(baseY + ux * ARROW_WIDTH) + " "
+          + format(baseX + uy * ARROW_WIDTH) + "," + format(baseY - ux * ARROW_WIDTH) + "\"/>\n");
+    }
+
+    String label = attributes.get("label");
+    if (StringUtils.isNotBlank(label)) {
+      double[] middle = route.get(route.size() / 2);
+      double[] beforeMiddle = route.get(route.size() / 2 - 1);
+      String fontColor = StringUtils.defaultIfBlank(attributes.get("fontcolor"), DEFAULT_COLOR);
+      writer.write("<text x=\"" + format((middle[0] + beforeMiddle[0]) / 2 + 4) + "\" y=\"" + format((middle[1] + beforeMiddle[1]) / 2)
+          + "\" font-family=\"" + attr(StringUtils.defaultIfBlank(attributes.get("fontname"), DEFAULT_FONT_NAME))
+          + "\" font-size=\"" + fontSize(attributes.get("fontsize")) + "\" fill=\"" + attr(fontColor) + "\">"
+          + CONTENT_ESCAPER.escape(label) + "</text>\n");
+    }
+  }
+
+  private static String dashArray(String style) {
+    if (StringUtils.contains(style, "dotted")) {
+      return " stroke-dasharray=\"1,3\"";
+    } else if (StringUtils.contains(style, "dashed")) {
+      return " stroke-dasharray=\"5,3\"";
+    }
+
+    return "";
+  }
+
+  private static int fontSize(String size) {
+    try {
+      return size != null ? Integer.parseInt(size) : DEFAULT_FONT_SIZE;
+    } catch (NumberFormatException e) {
+      return DEFAULT_FONT_SIZE;
+    }
+  }
+
+  private static String format(double value) {
+    return String.format(Locale.ROOT, "%.2f", value);
+  }
+
+  private static String attr(String value) {
+    return ATTRIBUTE_ESCAPER.escape(value);
+  }
+
+  private static String unescapeHtml(String text) {
+    return text.replace("&lt;", "<")
+        .replace("&gt;", ">")
+        .replace("&quot;", "\"")
+        .replace("&#39;", "'")
+        .replace("&amp;", "&");
+  }
+
+  private static final class LabelLine {
+
+    final String text;
+    final int fontSize;
+    final String color;
+
+    LabelLine(String text, int fontSize, String color) {
+      this.text = text;
+      this.fontSize = fontSize;
+      this.color = color;
+    }
+  }
+
+  private static final class NodeShape {
+
+    final String shape;
+    final String style;
+    final String color;
+    final String fillColor;
+    final String fontName;
+    final List<LabelLine> lines;
+    final double width;
+    final double height;
+
+    NodeShape(String name, Map<String, String> attributes) {
+      this.shape = StringUtils.defaultIfBlank(attributes.get("shape"), "box");
+      this.style = StringUtils.defaultString(attributes.get("style"));
+      this.color = StringUtils.defaultIfBlank(attributes.get("color"), DEFAULT_COLOR);
+      this.fillColor = attributes.get("fillcolor");
+      this.fontName = StringUtils.defaultIfBlank(attributes.get("fontname"), DEFAULT_FONT_NAME);
+      this.lines = createLines(StringUtils.defaultIfEmpty(attributes.get("label"), name), fontSize(attributes.get("fontsize")),
+          StringUtils.defaultIfBlank(attributes.get("fontcolor"), DEFAULT_COLOR));
+
+      double textWidth = 0;
+      double textHeight = 0;
+      for (LabelLine line : this.lines) {
+        textWidth = Math.max(textWidth, line.text.length() * line.fontSize * CHARACTER_WIDTH_FACTOR);
+        textHeight += line.fontSize * LINE_HEIGHT_FACTOR;
+      }
+
+      double ellipseFactor = "ellipse".equals(this.shape) ? Math.sqrt(2) : 1;
+      this.width = (textWidth + HORIZONTAL_PADDING) * ellipseFactor;
+      this.height = (textHeight + VERTICAL_PADDING) * ellipseFactor;
+    }
+
+    private static List<LabelLine> createLines(String label, int defaultFontSize, String defaultColor) {
+      List<LabelLine> result = new ArrayList<>();
+      if (label.startsWith("<") && label.endsWith(">")) {
+        // HTML-like label
+        for (String line : LINE_BREAK_PATTERN.split(label.substring(1, label.length() - 1))) {
+          Matcher sizeMatcher = FONT_SIZE_PATTERN.matcher(line);
+          Matcher colorMatcher = FONT_COLOR_PATTERN.matcher(line);
+          int size = sizeMatcher.find() ? Integer.parseInt(sizeMatcher.group(1)) : defaultFontSize;
+          String color = colorMatcher.find() ? colorMatcher.group(1) : defaultColor;
+          result.add(new LabelLine(unescapeHtml(TAG_PATTERN.matcher(line).replaceAll("")), size, color));
+        }
+      } else {
+        for (String line : label.split("\n")) {
+          result.add(new LabelLine(line, defaultFontSize, defaultColor));
+        }
+      }
+
+      return result;
+    }
+
+    void write(double centerX, double centerY, Writer writer) throws IOException {
+      boolean filled = this.style.contains("filled");
+      String fill = filled ? StringUtils.defaultIfBlank(this.fillColor, this.color) : "white";
+      String stroke = "stroke=\"" + attr(this.color) + "\" fill=\"" + attr(fill) + "\"" + dashArray(this.style);
+
+      if ("ellipse".equals(this.shape)) {
+        writer.write("<ellipse " + stroke + " cx=\"" + format(centerX) + "\" cy=\"" + format(centerY)
+            + "\" rx=\"" + format(this.width / 2) + "\" ry=\"" + format(this.height / 2) + "\"/>\n");
+      } else {
+        String radius = this.style.contains("rounded") ? " rx=\"6\" ry=\"6\"" : "";
+        writer.write("<rect " + stroke + radius + " x=\"" + format(centerX - this.width / 2) + "\" y=\"" + format(centerY - this.height / 2)
+            + "\" width=\"" + format(this.width) + "\" height=\"" + format(this.height) + "\"/>\n");
+      }
+
+      double textHeight = 0;
+      for (LabelLine line : this.lines) {
+        textHeight += line.fontSize * LINE_HEIGHT_FACTOR;
+      }
+
+      double baseline = centerY - textHeight / 2;
+      for (LabelLine line : this.lines) {
+        baseline += line.fontSize * LINE_HEIGHT_FACTOR;
+        writer.write("<text text-anchor=\"middle\" x=\"" + format(centerX) + "\" y=\"" + format(baseline - line.fontSize * (LINE_HEIGHT_FACTOR - 1) - 1)
+            + "\" font-family=\"" + attr(this.fontName) + "\" font-size=\"" + line.fontSize + "\" fill=\"" + attr(line.color) + "\">"
+            + CONTENT_ESCAPER.escape(line.text) + "</text>\n");
+      }
+    }
+  }
+}
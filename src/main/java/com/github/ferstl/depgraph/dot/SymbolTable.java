@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.dot;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interns strings, e.g. node names, to dense int ids. The ids are assigned in the order the strings are interned
+ * first, starting at {@code 0}. Only one instance of each string is retained, no matter how often it is interned.
+ * Strings that are created again for a lookup, e.g. by a {@link NodeNameRenderer}, are garbage right after the lookup.
+ * The table only deduplicates the strings that are interned. Strings referenced otherwise, e.g. the coordinates of
+ * the graph nodes, have to be deduplicated by their owners.
+ */
+final class SymbolTable {
+
+  private final Map<String, Integer> ids;
+  private final List<String> symbols;
+
+  SymbolTable() {
+    this.ids = new HashMap<>();
+    this.symbols = new ArrayList<>();
+  }
+
+  /**
+   * Returns the id of the given symbol. The symbol is added to this table if it is not present yet.
+   *
+   * @param symbol Symbol.
+   * @return The id of the symbol.
+   */
+  int intern(String symbol) {
+    Integer id = this.ids.get(symbol);
+    if (id == null) {
+      id = this.symbols.size();
+      this.ids.put(symbol, id);
+      this.symbols.add(symbol);
+    }
+
+    return id;
+  }
+
+  /**
+   * Returns the id of the given symbol without adding it.
+   *
+   * @param symbol Symbol.
+   * @return The id of the symbol or {@code -1} if the symbol is not present.
+   */
+  int getId(String symbol) {
+    Integer id = this.ids.get(symbol);
+    return id != null ? id : -1;
+  }
+
+  String getSymbol(int id) {
+    return this.symbols.get(id);
+  }
+
+  int size() {
+    return this.symbols.size();
+  }
+}
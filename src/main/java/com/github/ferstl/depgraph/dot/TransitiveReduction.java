@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.dot;
+
+import java.util.BitSet;
+
+/**
+ * Finds redundant edges of a directed graph. An edge {@code A -> C} is redundant when {@code C} is reachable from
+ * {@code A} on another path, e.g. {@code A -> B -> C}. Removing all redundant edges keeps the nodes and the reachability
+ * of the graph.
+ * <p>
+ * Graphs with cycles have no unique transitive reduction. Therefore, the reduction is done on the condensation of the
+ * graph, i.e. each strongly connected component is treated as a single node and the edges within a component are always
+ * kept. The reachability of the components is tracked in one {@link BitSet} per component, which are calculated in
+ * reverse topological order.
+ * </p>
+ */
+final class TransitiveReduction {
+
+  private TransitiveReduction() {
+    throw new AssertionError("not instantiable");
+  }
+
+  /**
+   * Calculates the redundant edges of the given graph.
+   *
+   * @param graph The graph.
+   * @return A {@link BitSet} containing the indices of all redundant edges.
+   */
+  static BitSet redundantEdges(IndexedGraph graph) {
+    StronglyConnectedComponents components = StronglyConnectedComponents.compute(graph);
+    int componentCount = components.getComponentCount();
+
+    // Direct successors of each component
+    BitSet[] successors = new BitSet[componentCount];
+    for (int i = 0; i < componentCount; i++) {
+      successors[i] = new BitSet();
+    }
+    for (int node = 0; node < graph.getNodeCount(); node++) {
+      int component = components.getComponent(node);
+      for (int slot = graph.firstEdge(node); slot < graph.lastEdge(node); slot++) {
+        int targetComponent = components.getComponent(graph.target(slot));
+        if (component != targetComponent) {
+          successors[component].set(targetComponent);
+        }
+      }
+    }
+
+    // Components reachable via at least two edges (indirect) and via at least one edge (reachable). Successors always
+    // have a lower component number, so they are complete when they are needed.
+    BitSet[] indirect = new BitSet[componentCount];
+    BitSet[] reachable = new BitSet[componentCount];
+    for (int component = 0; component < componentCount; component++) {
+      BitSet indirectComponents = new BitSet();
+      for (int successor = successors[component].nextSetBit(0); successor >= 0; successor = successors[component].nextSetBit(successor + 1)) {
+        indirectComponents.or(reachable[successor]);
+      }
+
+      BitSet reachableComponents = (BitSet) indirectComponents.clone();
+      reachableComponents.or(successors[component]);
+
+      indirect[component] = indirectComponents;
+      reachable[component] = reachableComponents;
+    }
+
+    BitSet redundant = new BitSet(graph.getEdgeCount());
+    for (int node = 0; node < graph.getNodeCount(); node++) {
+      int component = components.getComponent(node);
+      for (int slot = graph.firstEdge(node); slot < graph.lastEdge(node); slot++) {
+        int targetComponent = components.getComponent(graph.target(slot));
+        if (component != targetComponent && indirect[component].get(targetComponent)) {
+          redundant.set(graph.edgeIndex(slot));
+        }
+      }
+    }
+
+    return redundant;
+  }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.dot;
+
+import java.io.IOException;
+
+/**
+ * A {@link GraphWriter} that additionally receives the nodes in the order of the dependency traversal. Tree writers
+ * are attached to a {@link DotBuilder} like other graph writers. The traversal passes each node to
+ * {@link #startNode(Object, boolean)} when it is entered and to {@link #endNode(Object)} when all its children have
+ * been visited. So the tree can be written while the dependencies are traversed without keeping it in memory. Each
+ * traversed graph, e.g. each module of an aggregated graph, starts with a root node.
+ *
+ * @param <T> Type of the graph nodes.
+ */
+public interface TreeWriter<T> extends GraphWriter<T> {
+
+  /**
+   * Called when a node is entered.
+   *
+   * @param node The node.
+   * @param last {@code true} if this node is the last child of its parent that will be passed to this writer.
+   * @throws IOException In case of an I/O error.
+   */
+  void startNode(T node, boolean last) throws IOException;
+
+  /**
+   * Called after all children of a node have been passed to this writer.
+   *
+   * @param node The node.
+   * @throws IOException In case of an I/O error.
+   */
+  void endNode(T node) throws IOException;
+}
@@ -16,13 +16,17 @@
 package com.github.ferstl.depgraph.graph;
 
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
 import org.apache.maven.project.MavenProject;
 import com.github.ferstl.depgraph.dot.AttributeBuilder;
 import com.github.ferstl.depgraph.dot.DotBuilder;
-import com.github.ferstl.depgraph.dot.EdgeAttributeRenderer;
+import com.github.ferstl.depgraph.dot.KeyedEdgeAttributeRenderer;
 
 /**
  * A graph factory that creates a dependency graph from a multi-module project. Child modules are treated as
@@ -44,7 +48,7 @@ public class AggregatingGraphFactory implements GraphFactory {
   }
 
   @Override
-  public String createGraph(MavenProject parent) {
+  public void createGraph(MavenProject parent) {
     this.dotBuilder.graphName(parent.getArtifactId());
 
     if (this.includeParentProjects) {
@@ -58,19 +62,21 @@ public class AggregatingGraphFactory implements GraphFactory {
         this.graphBuilderAdapter.buildDependencyGraph(collectedProject, this.globalFilter, this.dotBuilder);
       }
     }
-
-    return this.dotBuilder.toString();
   }
 
   private void buildModuleTree(MavenProject parentProject, DotBuilder<GraphNode> dotBuilder) {
+    // Each project has at most one parent. So once a project was visited, the rest of its parent chain is known.
+    Set<MavenProject> visitedProjects = new HashSet<>();
+    Map<MavenProject, GraphNode> projectNodes = new HashMap<>();
+
     @SuppressWarnings("unchecked") Collection<MavenProject> collectedProjects = parentProject.getCollectedProjects();
     for (MavenProject collectedProject : collectedProjects) {
       MavenProject child = collectedProject;
       MavenProject parent = collectedProject.getParent();
 
-      while (parent != null) {
-        GraphNode parentNode = filterProject(parent);
-        GraphNode childNode = filterProject(child);
+      while (parent != null && visitedProjects.add(child)) {
+        GraphNode parentNode = getProjectNode(parent, projectNodes);
+        GraphNode childNode = getProjectNode(child, projectNodes);
 
         dotBuilder.addEdge(parentNode, childNode, DottedEdgeAttributeRenderer.INSTANCE);
 
@@ -95,6 +101,15 @@ public class AggregatingGraphFactory implements GraphFactory {
     return result;
   }
 
+  private GraphNode getProjectNode(MavenProject project, Map<MavenProject, GraphNode> projectNodes) {
+    // Filtered projects are cached as null values
+    if (!projectNodes.containsKey(project)) {
+      projectNodes.put(project, filterProject(project));
+    }
+
+    return projectNodes.get(project);
+  }
+
   private GraphNode filterProject(MavenProject project) {
     Artifact artifact = project.getArtifact();
     if (this.globalFilter.include(artifact)) {
@@ -104,7 +119,7 @@ public class AggregatingGraphFactory implements GraphFactory {
     return null;
   }
 
-  enum DottedEdgeAttributeRenderer implements EdgeAttributeRenderer<GraphNode> {
+  enum DottedEdgeAttributeRenderer implements KeyedEdgeAttributeRenderer<GraphNode> {
     INSTANCE {
 
       @Override
@@ -112,6 +127,11 @@ public class AggregatingGraphFactory implements GraphFactory {
         return new AttributeBuilder().style("dotted");
       }
 
+      @Override
+      public Object createEdgeAttributesKey(GraphNode from, GraphNode to) {
+        return this;
+      }
+
     }
   }
 }
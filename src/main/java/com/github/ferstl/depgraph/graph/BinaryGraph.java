@@ -0,0 +1,364 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.graph;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Read-only view of a graph file that was written in the binary format (see {@link BinaryGraphWriter}). The file is
+ * memory-mapped and nothing but the footer is read when the graph is opened. Nodes, strings and edges are decoded on
+ * access. Instances of this class are immutable and can be shared between threads.
+ */
+public final class BinaryGraph {
+
+  private final ByteBuffer buffer;
+  private final int stringCount;
+  private final int nodeCount;
+  private final int edgeCount;
+  private final int stringOffsetsPosition;
+  private final int nodeOffsetsPosition;
+  private final int edgeOffsetsPosition;
+
+  private BinaryGraph(ByteBuffer buffer) throws IOException {
+    this.buffer = buffer;
+
+    int footer = buffer.limit() - BinaryGraphFormat.FOOTER_SIZE;
+    if (footer < BinaryGraphFormat.HEADER_SIZE || !hasMagic(0) || !hasMagic(buffer.limit() - BinaryGraphFormat.MAGIC.length)) {
+      throw new IOException("Not a binary dependency graph");
+    }
+    if (buffer.get(BinaryGraphFormat.MAGIC.length) != BinaryGraphFormat.VERSION) {
+      throw new IOException("Unsupported binary graph version " + buffer.get(BinaryGraphFormat.MAGIC.length));
+    }
+
+    this.stringCount = buffer.getInt(footer);
+    this.nodeCount = buffer.getInt(footer + 4);
+    this.edgeCount = buffer.getInt(footer + 8);
+    this.stringOffsetsPosition = buffer.getInt(footer + 12);
+    this.nodeOffsetsPosition = buffer.getInt(footer + 16);
+    this.edgeOffsetsPosition = buffer.getInt(footer + 20);
+  }
+
+  /**
+   * Memory-maps the given file.
+   *
+   * @param file The graph file.
+   * @return The graph.
+   * @throws IOException In case of an I/O error or if the file is not a binary graph.
+   */
+  public static BinaryGraph open(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      if (channel.size() > Integer.MAX_VALUE) {
+        throw new IOException("Not a binary dependency graph: " + file);
+      }
+
+      // The mapping stays valid after the channel is closed
+      MappedByteBuffer buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+      return new BinaryGraph(buffer);
+    }
+  }
+
+  public int getNodeCount() {
+    return this.nodeCount;
+  }
+
+  public int getEdgeCount() {
+    return this.edgeCount;
+  }
+
+  /**
+   * Returns the node with the given id.
+   *
+   * @param id Id of the node between {@code 0} and {@link #getNodeCount()} (exclusive).
+   * @return The node.
+   */
+  public Node getNode(int id) {
+    checkNodeId(id);
+    return new Node(id);
+  }
+
+  /**
+   * Finds the node with the given name. This method scans all node names.
+   *
+   * @param name Name of the node.
+   * @return The node or {@code null} if no such node exists.
+   */
+  public Node findNode(String name) {
+    byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+    for (int id = 0; id < this.nodeCount; id++) {
+      if (stringEquals(new Cursor(getOffset(this.nodeOffsetsPosition, id)).readVarint(), bytes)) {
+        return new Node(id);
+      }
+    }
+
+    return null;
+  }
+
+  /**
+   * Returns the outgoing edges of the node with the given id, ordered by the id of their target nodes.
+   *
+   * @param id Id of the source node.
+   * @return The edges.
+   */
+  public List<Edge> getEdges(int id) {
+    checkNodeId(id);
+    Cursor cursor = new Cursor(getOffset(this.edgeOffsetsPosition, id));
+    int count = cursor.readVarint();
+    Edge[] edges = new Edge[count];
+    for (int i = 0; i < count; i++) {
+      edges[i] = new Edge(id, cursor.readVarint(), cursor.readByte());
+    }
+
+    return Arrays.asList(edges);
+  }
+
+  /**
+   * Returns all nodes. The returned list decodes the nodes on access.
+   *
+   * @return The nodes.
+   */
+  public List<Node> getNodes() {
+    return new AbstractList<Node>() {
+
+      @Override
+      public Node get(int index) {
+        return getNode(index);
+      }
+
+      @Override
+      public int size() {
+        return BinaryGraph.this.nodeCount;
+      }
+    };
+  }
+
+  private void checkNodeId(int id) {
+    if (id < 0 || id >= this.nodeCount) {
+      throw new IndexOutOfBoundsException("Node id " + id + ", node count " + this.nodeCount);
+    }
+  }
+
+  private int getOffset(int tablePosition, int index) {
+    return this.buffer.getInt(tablePosition + index * 4);
+  }
+
+  private String getString(int id) {
+    if (id < 0 || id >= this.stringCount) {
+      throw new IndexOutOfBoundsException("String id " + id + ", string count " + this.stringCount);
+    }
+
+    Cursor cursor = new Cursor(getOffset(this.stringOffsetsPosition, id));
+    int length = cursor.readVarint();
+    byte[] bytes = new byte[length];
+    ByteBuffer view = this.buffer.duplicate();
+    // Buffer.position(int) since ByteBuffer.position(int) does not exist on Java 8 when compiled on Java 9+
+    ((Buffer) view).position(cursor.position);
+    view.get(bytes);
+
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private boolean stringEquals(int id, byte[] bytes) {
+    Cursor cursor = new Cursor(getOffset(this.stringOffsetsPosition, id));
+    if (cursor.readVarint() != bytes.length) {
+      return false;
+    }
+
+    for (byte b : bytes) {
+      if (cursor.readByte() != (b & 0xFF)) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  private boolean hasMagic(int position) {
+    for (int i = 0; i < BinaryGraphFormat.MAGIC.length; i++) {
+      if (this.buffer.get(position + i) != BinaryGraphFormat.MAGIC[i]) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Reads from the shared buffer with absolute positions, so it is safe to be used concurrently.
+   */
+  private final class Cursor {
+
+    private int position;
+
+    Cursor(int position) {
+      this.position = position;
+    }
+
+    int readVarint() {
+      int value = 0;
+      int shift = 0;
+      byte b;
+      do {
+        b = BinaryGraph.this.buffer.get(this.position++);
+        value |= (b & 0x7F) << shift;
+        shift += 7;
+      } while ((b & 0x80) != 0);
+
+      return value;
+    }
+
+    int readByte() {
+      return BinaryGraph.this.buffer.get(this.position++) & 0xFF;
+    }
+  }
+
+  /**
+   * A node of a {@link BinaryGraph}. The node record is decoded when the node is created, its strings on access.
+   */
+  public final class Node {
+
+    private final int id;
+    private final int[] strings;
+    private final NodeResolution resolution;
+    private final int scopes;
+
+    Node(int id) {
+      this.id = id;
+      Cursor cursor = new Cursor(getOffset(BinaryGraph.this.nodeOffsetsPosition, id));
+      this.strings = new int[BinaryGraphFormat.NODE_STRINGS];
+      for (int i = 0; i < this.strings.length; i++) {
+        this.strings[i] = cursor.readVarint();
+      }
+      this.resolution = NodeResolution.values()[cursor.readByte()];
+      this.scopes = cursor.readByte();
+    }
+
+    public int getId() {
+      return this.id;
+    }
+
+    public String getName() {
+      return getString(this.strings[0]);
+    }
+
+    public String getGroupId() {
+      return getString(this.strings[1]);
+    }
+
+    public String getArtifactId() {
+      return getString(this.strings[2]);
+    }
+
+    public String getVersion() {
+      return getString(this.strings[3]);
+    }
+
+    public String getType() {
+      return getString(this.strings[4]);
+    }
+
+    public String getClassifier() {
+      return getString(this.strings[5]);
+    }
+
+    public String getEffectiveVersion() {
+      return getString(this.strings[6]);
+    }
+
+    public NodeResolution getResolution() {
+      return this.resolution;
+    }
+
+    /**
+     * Returns the scopes of this node. Scopes that are not known to the binary format are omitted.
+     *
+     * @return The scopes.
+     */
+    public Set<String> getScopes() {
+      Set<String> scopes = new LinkedHashSet<>();
+      for (int i = 0; i < BinaryGraphFormat.SCOPES.size(); i++) {
+        if ((this.scopes & 1 << i) != 0) {
+          scopes.add(BinaryGraphFormat.SCOPES.get(i));
+        }
+      }
+
+      return scopes;
+    }
+
+    public List<Edge> getEdges() {
+      return BinaryGraph.this.getEdges(this.id);
+    }
+
+    @Override
+    public String toString() {
+      return getName();
+    }
+  }
+
+  /**
+   * An edge of a {@link BinaryGraph}.
+   */
+  public static final class Edge {
+
+    private final int from;
+    private final int to;
+    private final int resolutionAndScope;
+
+    Edge(int from, int to, int resolutionAndScope) {
+      this.from = from;
+      this.to = to;
+      this.resolutionAndScope = resolutionAndScope;
+    }
+
+    public int getFrom() {
+      return this.from;
+    }
+
+    public int getTo() {
+      return this.to;
+    }
+
+    public NodeResolution getResolution() {
+      return BinaryGraphFormat.decodeResolution(this.resolutionAndScope);
+    }
+
+    /**
+     * Returns the scope of the target node on this edge.
+     *
+     * @return The scope or {@code null} if the scope is not known to the binary format.
+     */
+    public String getScope() {
+      return BinaryGraphFormat.decodeScope(this.resolutionAndScope);
+    }
+
+    @Override
+    public String toString() {
+      return this.from + " -> " + this.to;
+    }
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.graph;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Constants and encoding helpers of the binary graph format written by {@link BinaryGraphWriter} and read by
+ * {@link BinaryGraph}. All numbers are big-endian. The file consists of these sections:
+ * <ol>
+ * <li>Header: The magic bytes {@code DGBG} and a version byte.</li>
+ * <li>String table: Varint length followed by the UTF-8 bytes of each string.</li>
+ * <li>Node records: Varint string ids of name, groupId, artifactId, version, type, classifier and effective version,
+ * followed by the resolution byte and the scope bitmask byte.</li>
+ * <li>Edge lists: For each node, the varint number of its edges followed by the varint target node id and the
+ * resolution/scope byte of each edge.</li>
+ * <li>Offset tables: Fixed 4-byte offsets of each string, node record and edge list for random access.</li>
+ * <li>Footer: String count, node count, edge count and the positions of the three offset tables (4 bytes each),
+ * followed by the magic bytes.</li>
+ * </ol>
+ */
+final class BinaryGraphFormat {
+
+  static final byte[] MAGIC = {'D', 'G', 'B', 'G'};
+  static final byte VERSION = 1;
+  static final int HEADER_SIZE = MAGIC.length + 1;
+  static final int FOOTER_SIZE = 6 * 4 + MAGIC.length;
+  // name, groupId, artifactId, version, type, classifier, effective version
+  static final int NODE_STRINGS = 7;
+
+  // Scopes with a dedicated value in the resolution/scope byte and the scope bitmask. Other scopes are encoded as 0.
+  static final List<String> SCOPES = Collections.unmodifiableList(Arrays.asList("compile", "provided", "runtime", "test", "system", "import"));
+  private static final int SCOPE_BITS = 3;
+  private static final int SCOPE_MASK = (1 << SCOPE_BITS) - 1;
+  private static final int OTHER_SCOPE_BIT = 1 << SCOPES.size();
+
+  private BinaryGraphFormat() {
+    throw new AssertionError("not instantiable");
+  }
+
+  static int encodeResolutionAndScope(NodeResolution resolution, String scope) {
+    return resolution.ordinal() << SCOPE_BITS | (SCOPES.indexOf(scope) + 1);
+  }
+
+  static NodeResolution decodeResolution(int resolutionAndScope) {
+    return NodeResolution.values()[resolutionAndScope >>> SCOPE_BITS];
+  }
+
+  /**
+   * Returns the scope of an encoded resolution/scope byte or {@code null} if it was an unknown scope.
+   */
+  static String decodeScope(int resolutionAndScope) {
+    int scope = resolutionAndScope & SCOPE_MASK;
+    return scope > 0 ? SCOPES.get(scope - 1) : null;
+  }
+
+  static int encodeScopes(Iterable<String> scopes) {
+    int bitmask = 0;
+    for (String scope : scopes) {
+      int index = SCOPES.indexOf(scope);
+      bitmask |= index >= 0 ? 1 << index : OTHER_SCOPE_BIT;
+    }
+
+    return bitmask;
+  }
+
+  static void writeVarint(DataOutputStream out, int value) throws IOException {
+    int remaining = value;
+    while ((remaining & ~0x7F) != 0) {
+      out.writeByte((remaining & 0x7F) | 0x80);
+      remaining >>>= 7;
+    }
+    out.writeByte(remaining);
+  }
+}
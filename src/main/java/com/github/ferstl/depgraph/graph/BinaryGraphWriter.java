@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.graph;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.maven.artifact.Artifact;
+import com.github.ferstl.depgraph.dot.GraphWriter;
+import static com.github.ferstl.depgraph.graph.BinaryGraphFormat.encodeResolutionAndScope;
+import static com.github.ferstl.depgraph.graph.BinaryGraphFormat.encodeScopes;
+import static com.github.ferstl.depgraph.graph.BinaryGraphFormat.writeVarint;
+
+/**
+ * Writes the graph in the compact binary format described in {@link BinaryGraphFormat}. Such files can be loaded with
+ * {@link BinaryGraph#open(java.nio.file.Path)}. The edges are collected in an {@link EdgeBuffer} while the graph is
+ * created and written, grouped by their source node, when the graph is completed. The nodes are identified by the ids
+ * of the {@link com.github.ferstl.depgraph.dot.DotBuilder}.
+ */
+public final class BinaryGraphWriter implements GraphWriter<GraphNode> {
+
+  // strings + resolution + scopes
+  private static final int NODE_RECORD_FIELDS = BinaryGraphFormat.NODE_STRINGS + 2;
+
+  private final DataOutputStream out;
+  private final EdgeBuffer edges;
+  private final StringTable strings;
+  private int[] nodeRecords;
+  private int nodeCount;
+
+  public BinaryGraphWriter(OutputStream outputStream) {
+    this.out = new DataOutputStream(new BufferedOutputStream(outputStream));
+    this.edges = new EdgeBuffer();
+    this.strings = new StringTable();
+    this.nodeRecords = new int[256 * NODE_RECORD_FIELDS];
+  }
+
+  @Override
+  public void edge(int fromId, String from, GraphNode fromNode, int toId, String to, GraphNode toNode) {
+    this.edges.addEdge(fromId, toId, encodeResolutionAndScope(toNode.getResolution(), toNode.getArtifact().getScope()));
+  }
+
+  /**
+   * Interns the strings of the node and stores its record. The nodes are passed in the order of their ids, so the
+   * records are stored as consecutive fields.
+   */
+  @Override
+  public void node(int id, String name, GraphNode node) {
+    int recordStart = id * NODE_RECORD_FIELDS;
+    if (recordStart + NODE_RECORD_FIELDS > this.nodeRecords.length) {
+      this.nodeRecords = Arrays.copyOf(this.nodeRecords, Math.max(this.nodeRecords.length * 2, recordStart + NODE_RECORD_FIELDS));
+    }
+
+    Artifact artifact = node.getArtifact();
+    this.nodeRecords[recordStart] = this.strings.intern(name);
+    this.nodeRecords[recordStart + 1] = this.strings.intern(artifact.getGroupId());
+    this.nodeRecords[recordStart + 2] = this.strings.intern(artifact.getArtifactId());
+    this.nodeRecords[recordStart + 3] = this.strings.intern(artifact.getVersion());
+    this.nodeRecords[recordStart + 4] = this.strings.intern(artifact.getType());
+    this.nodeRecords[recordStart + 5] = this.strings.intern(artifact.getClassifier());
+    this.nodeRecords[recordStart + 6] = this.strings.intern(node.getEffectiveVersion());
+    this.nodeRecords[recordStart + 7] = node.getResolution().ordinal();
+    this.nodeRecords[recordStart + 8] = encodeScopes(node.getScopes());
+    this.nodeCount = Math.max(this.nodeCount, id + 1);
+  }
+
+  @Override
+  public void complete() throws IOException {
+    this.edges.sortEdges();
+
+    this.out.write(BinaryGraphFormat.MAGIC);
+    this.out.writeByte(BinaryGraphFormat.VERSION);
+
+    int[] stringOffsets = new int[this.strings.size()];
+    for (int i = 0; i < this.strings.size(); i++) {
+      stringOffsets[i] = position();
+      byte[] bytes = this.strings.get(i).getBytes(StandardCharsets.UTF_8);
+      writeVarint(this.out, bytes.length);
+      this.out.write(bytes);
+    }
+
+    int[] nodeOffsets = new int[this.nodeCount];
+    for (int id = 0; id < this.nodeCount; id++) {
+      nodeOffsets[id] = position();
+      int recordStart = id * NODE_RECORD_FIELDS;
+      for (int field = 0; field < BinaryGraphFormat.NODE_STRINGS; field++) {
+        writeVarint(this.out, this.nodeRecords[recordStart + field]);
+      }
+      this.out.writeByte(this.nodeRecords[recordStart + BinaryGraphFormat.NODE_STRINGS]);
+      this.out.writeByte(this.nodeRecords[recordStart + BinaryGraphFormat.NODE_STRINGS + 1]);
+    }
+
+    int[] edgeOffsets = new int[this.nodeCount];
+    int edgeIndex = 0;
+    for (int id = 0; id < this.nodeCount; id++) {
+      edgeOffsets[id] = position();
+      int end = edgeIndex;
+      while (end < this.edges.getEdgeCount() && this.edges.getFromId(end) == id) {
+        end++;
+      }
+
+      writeVarint(this.out, end - edgeIndex);
+      for (; edgeIndex < end; edgeIndex++) {
+        writeVarint(this.out, this.edges.getToId(edgeIndex));
+        this.out.writeByte(this.edges.getFlags(edgeIndex));
+      }
+    }
+
+    int stringOffsetsPosition = writeOffsets(stringOffsets);
+    int nodeOffsetsPosition = writeOffsets(nodeOffsets);
+    int edgeOffsetsPosition = writeOffsets(edgeOffsets);
+
+    this.out.writeInt(this.strings.size());
+    this.out.writeInt(this.nodeCount);
+    this.out.writeInt(this.edges.getEdgeCount());
+    this.out.writeInt(stringOffsetsPosition);
+    this.out.writeInt(nodeOffsetsPosition);
+    this.out.writeInt(edgeOffsetsPosition);
+    this.out.write(BinaryGraphFormat.MAGIC);
+    this.out.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    this.out.close();
+  }
+
+  private int writeOffsets(int[] offsets) throws IOException {
+    int position = position();
+    for (int offset : offsets) {
+      this.out.writeInt(offset);
+    }
+
+    return position;
+  }
+
+  private int position() throws IOException {
+    int position = this.out.size();
+    // DataOutputStream stops counting at Integer.MAX_VALUE
+    if (position == Integer.MAX_VALUE) {
+      throw new IOException("Binary graph exceeds the maximum size of 2 GiB");
+    }
+
+    return position;
+  }
+
+  private static final class StringTable {
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> strings = new ArrayList<>();
+
+    int intern(String string) {
+      String value = string != null ? string : "";
+      Integer id = this.ids.get(value);
+      if (id == null) {
+        id = this.strings.size();
+        this.ids.put(value, id);
+        this.strings.add(value);
+      }
+
+      return id;
+    }
+
+    String get(int id) {
+      return this.strings.get(id);
+    }
+
+    int size() {
+      return this.strings.size();
+    }
+  }
+}
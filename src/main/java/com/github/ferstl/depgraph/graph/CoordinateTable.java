@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.graph;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Interns the components of artifact coordinates, e.g. group IDs, versions and types. Maven creates new strings for
+ * the coordinates of each module's dependencies, so the same coordinates are held several times in a reactor build.
+ * When a table is shared by all modules, the nodes which are kept for the graph share one instance of each equal
+ * component.
+ */
+final class CoordinateTable {
+
+  private final Map<String, String> strings;
+
+  CoordinateTable() {
+    this.strings = new HashMap<>();
+  }
+
+  /**
+   * Returns the instance of the given string in this table. The string is added to this table if it is not present
+   * yet.
+   *
+   * @param string String, may be {@code null}.
+   * @return The interned string or {@code null} if the given string is {@code null}.
+   */
+  String intern(String string) {
+    if (string == null) {
+      return null;
+    }
+
+    String interned = this.strings.get(string);
+    if (interned == null) {
+      this.strings.put(string, string);
+      interned = string;
+    }
+
+    return interned;
+  }
+}
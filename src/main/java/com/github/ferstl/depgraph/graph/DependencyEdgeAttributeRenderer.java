@@ -15,20 +15,21 @@
  */
 package com.github.ferstl.depgraph.graph;
 
+import java.util.Objects;
 import com.github.ferstl.depgraph.dot.AttributeBuilder;
-import com.github.ferstl.depgraph.dot.EdgeAttributeRenderer;
-import com.github.ferstl.depgraph.graph.style.StyleConfiguration;
+import com.github.ferstl.depgraph.dot.KeyedEdgeAttributeRenderer;
+import com.github.ferstl.depgraph.graph.style.CompiledStyleConfiguration;
 import static com.google.common.collect.Iterables.getFirst;
 
 
-public class DependencyEdgeAttributeRenderer implements EdgeAttributeRenderer<GraphNode> {
+public class DependencyEdgeAttributeRenderer implements KeyedEdgeAttributeRenderer<GraphNode> {
 
   private static final String SNAPSHOT_SUFFIX = "-SNAPSHOT";
 
   private final boolean renderVersions;
-  private final StyleConfiguration styleConfiguration;
+  private final CompiledStyleConfiguration styleConfiguration;
 
-  public DependencyEdgeAttributeRenderer(boolean renderVersions, StyleConfiguration styleConfiguration) {
+  public DependencyEdgeAttributeRenderer(boolean renderVersions, CompiledStyleConfiguration styleConfiguration) {
     this.renderVersions = renderVersions;
     this.styleConfiguration = styleConfiguration;
   }
@@ -45,6 +46,14 @@ public class DependencyEdgeAttributeRenderer implements EdgeAttributeRenderer<Gr
     return builder;
   }
 
+  @Override
+  public Object createEdgeAttributesKey(GraphNode from, GraphNode to) {
+    NodeResolution resolution = to.getResolution();
+    String version = resolution == NodeResolution.OMITTED_FOR_CONFLICT && this.renderVersions ? to.getArtifact().getVersion() : null;
+
+    return new EdgeAttributesKey(resolution, getFirst(to.getScopes(), null), version);
+  }
+
   private String abbreviateVersion(String version) {
     if (version.endsWith(SNAPSHOT_SUFFIX)) {
       return version.substring(0, version.length() - SNAPSHOT_SUFFIX.length()) + "-S.";
@@ -52,4 +61,41 @@ public class DependencyEdgeAttributeRenderer implements EdgeAttributeRenderer<Gr
 
     return version;
   }
+
+  /**
+   * The properties of the target node that determine the edge attributes.
+   */
+  private static final class EdgeAttributesKey {
+
+    private final NodeResolution resolution;
+    private final String scope;
+    private final String version;
+
+    EdgeAttributesKey(NodeResolution resolution, String scope, String version) {
+      this.resolution = resolution;
+      this.scope = scope;
+      this.version = version;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (obj == this) {
+        return true;
+      }
+
+      if (!(obj instanceof EdgeAttributesKey)) {
+        return false;
+      }
+
+      EdgeAttributesKey other = (EdgeAttributesKey) obj;
+      return this.resolution == other.resolution
+          && Objects.equals(this.scope, other.scope)
+          && Objects.equals(this.version, other.version);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(this.resolution, this.scope, this.version);
+    }
+  }
 }
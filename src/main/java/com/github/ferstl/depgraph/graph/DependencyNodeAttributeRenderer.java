@@ -16,10 +16,9 @@
 package com.github.ferstl.depgraph.graph;
 
 import java.util.Set;
-import org.apache.maven.artifact.Artifact;
 import com.github.ferstl.depgraph.dot.AttributeBuilder;
 import com.github.ferstl.depgraph.dot.NodeAttributeRenderer;
-import com.github.ferstl.depgraph.graph.style.StyleConfiguration;
+import com.github.ferstl.depgraph.graph.style.CompiledStyleConfiguration;
 import com.google.common.base.Joiner;
 import static com.google.common.collect.Iterables.getFirst;
 
@@ -31,9 +30,9 @@ public class DependencyNodeAttributeRenderer implements NodeAttributeRenderer<Gr
   private final boolean showGroupId;
   private final boolean showArtifactId;
   private final boolean showVersion;
-  private final StyleConfiguration styleConfiguration;
+  private final CompiledStyleConfiguration styleConfiguration;
 
-  public DependencyNodeAttributeRenderer(boolean showGroupId, boolean showArtifactId, boolean showVersion, StyleConfiguration styleConfiguration) {
+  public DependencyNodeAttributeRenderer(boolean showGroupId, boolean showArtifactId, boolean showVersion, CompiledStyleConfiguration styleConfiguration) {
     this.showGroupId = showGroupId;
     this.showArtifactId = showArtifactId;
     this.showVersion = showVersion;
@@ -43,14 +42,13 @@ public class DependencyNodeAttributeRenderer implements NodeAttributeRenderer<Gr
 
   @Override
   public AttributeBuilder createNodeAttributes(GraphNode node) {
-    Artifact artifact = node.getArtifact();
     String scopes = createScopeString(node.getScopes());
 
     return this.styleConfiguration.nodeAttributes(
-        this.showGroupId ? artifact.getGroupId() : null,
-        this.showArtifactId ? artifact.getArtifactId() : null,
+        this.showGroupId ? node.getGroupId() : null,
+        this.showArtifactId ? node.getArtifactId() : null,
         this.showVersion ? node.getEffectiveVersion() : null,
-        artifact.getType(),
+        node.getType(),
         scopes,
         getFirst(node.getScopes(), null));
   }
@@ -18,7 +18,6 @@ package com.github.ferstl.depgraph.graph;
 import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.Set;
-import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
 import com.github.ferstl.depgraph.dot.DotBuilder;
 import static java.util.EnumSet.allOf;
@@ -27,26 +26,57 @@ import static java.util.EnumSet.allOf;
 /**
  * A node visitor that creates edges between the visited nodes using a {@link DotBuilder}. This class implements the
  * {@code DependencyNodeVisitor} interfaces for dependency trees and dependency graphs and adapts the different node
- * instances using {@link GraphNode}.
+ * instances using {@link GraphNode}. In case tree writers are attached to the {@link DotBuilder}, the visited nodes
+ * that would be shown in the graph are passed to them as well.
  */
 class DotBuildingVisitor implements org.apache.maven.shared.dependency.graph.traversal.DependencyNodeVisitor, org.apache.maven.shared.dependency.tree.traversal.DependencyNodeVisitor {
 
   private final DotBuilder<GraphNode> dotBuilder;
   private final Deque<GraphNode> stack;
+  // Tree state of each node on the stack. Only maintained in case tree writers are attached.
+  private final Deque<TreeState> treeStates;
   private final ArtifactFilter globalFilter;
   private final ArtifactFilter targetFilter;
   private final Set<NodeResolution> includedResolutions;
-
-  DotBuildingVisitor(DotBuilder<GraphNode> dotBuilder, ArtifactFilter globalFilter, ArtifactFilter targetFilter, Set<NodeResolution> includedResolutions) {
+  private final int maxDepth;
+  private final GraphMetrics metrics;
+  // Shared by the visitors of all modules, so equal coordinates are retained once per reactor
+  private final CoordinateTable coordinates;
+  // Depth of the node that is visited next. The root node has depth 0.
+  private int depth;
+  // Created when the root node is visited. Not created if the target filter includes all artifacts.
+  private TargetDependencyIndex targetDependencyIndex;
+
+  DotBuildingVisitor(DotBuilder<GraphNode> dotBuilder, ArtifactFilter globalFilter, ArtifactFilter targetFilter, Set<NodeResolution> includedResolutions, int maxDepth, GraphMetrics metrics, CoordinateTable coordinates) {
     this.dotBuilder = dotBuilder;
     this.stack = new ArrayDeque<>();
+    this.treeStates = new ArrayDeque<>();
     this.globalFilter = globalFilter;
     this.targetFilter = targetFilter;
     this.includedResolutions = includedResolutions;
+    this.maxDepth = maxDepth;
+    this.metrics = metrics;
+    this.coordinates = coordinates;
+  }
+
+  DotBuildingVisitor(DotBuilder<GraphNode> dotBuilder, ArtifactFilter globalFilter, ArtifactFilter targetFilter, Set<NodeResolution> includedResolutions, int maxDepth) {
+    this(dotBuilder, globalFilter, targetFilter, includedResolutions, maxDepth, new GraphMetrics(), new CoordinateTable());
+  }
+
+  DotBuildingVisitor(DotBuilder<GraphNode> dotBuilder, ArtifactFilter globalFilter, ArtifactFilter targetFilter, Set<NodeResolution> includedResolutions) {
+    this(dotBuilder, globalFilter, targetFilter, includedResolutions, Integer.MAX_VALUE);
+  }
+
+  DotBuildingVisitor(DotBuilder<GraphNode> dotBuilder, ArtifactFilter targetFilter, int maxDepth, GraphMetrics metrics, CoordinateTable coordinates) {
+    this(dotBuilder, DoNothingArtifactFilter.INSTANCE, targetFilter, allOf(NodeResolution.class), maxDepth, metrics, coordinates);
+  }
+
+  DotBuildingVisitor(DotBuilder<GraphNode> dotBuilder, ArtifactFilter targetFilter, int maxDepth) {
+    this(dotBuilder, targetFilter, maxDepth, new GraphMetrics(), new CoordinateTable());
   }
 
   DotBuildingVisitor(DotBuilder<GraphNode> dotBuilder, ArtifactFilter targetFilter) {
-    this(dotBuilder, DoNothingArtifactFilter.INSTANCE, targetFilter, allOf(NodeResolution.class));
+    this(dotBuilder, targetFilter, Integer.MAX_VALUE);
   }
 
   @Override
@@ -71,8 +101,14 @@ class DotBuildingVisitor implements org.apache.maven.shared.dependency.graph.tra
 
   private boolean internalVisit(GraphNode node) {
     GraphNode currentParent = this.stack.peek();
+    int nodeDepth = this.depth++;
+    if (this.targetDependencyIndex == null && this.targetFilter != DoNothingArtifactFilter.INSTANCE) {
+      this.targetDependencyIndex = TargetDependencyIndex.create(node, this.targetFilter, this.maxDepth);
+    }
 
-    if (this.globalFilter.include(node.getArtifact()) && leadsToTargetDependency(node)) {
+    if (isIncluded(node, nodeDepth)) {
+      // The node is kept by the DotBuilder or the tree writers from here on
+      node.internCoordinates(this.coordinates);
       if (currentParent != null && this.includedResolutions.contains(node.getResolution())) {
         mergeWithExisting(node);
 
@@ -80,10 +116,14 @@ class DotBuildingVisitor implements org.apache.maven.shared.dependency.graph.tra
       }
 
       this.stack.push(node);
+      if (this.dotBuilder.hasTreeWriters()) {
+        startTreeNode(node, nodeDepth);
+      }
 
       return true;
     }
 
+    this.metrics.increment(GraphMetrics.FILTERED_NODES);
     return false;
   }
 
@@ -92,35 +132,67 @@ class DotBuildingVisitor implements org.apache.maven.shared.dependency.graph.tra
     node.merge(effectiveNode);
   }
 
-  private boolean leadsToTargetDependency(GraphNode node) {
-    if (this.targetFilter.include(node.getArtifact())) {
-      return true;
-    }
-
-    for (GraphNode c : node.getChildren()) {
-      if (leadsToTargetDependency(c)) {
-        return true;
-      }
-    }
-
-    return false;
+  /**
+   * A node is included if it is within the maximum depth, is not filtered and leads to a target dependency within the
+   * maximum depth.
+   */
+  private boolean isIncluded(GraphNode node, int nodeDepth) {
+    return nodeDepth <= this.maxDepth
+        && this.globalFilter.include(node.getArtifact())
+        && (this.targetDependencyIndex == null || this.targetDependencyIndex.leadsToTargetDependency(node));
   }
 
   private boolean internalEndVisit(GraphNode node) {
-    if (this.globalFilter.include(node.getArtifact()) && leadsToTargetDependency(node)) {
+    int nodeDepth = --this.depth;
+
+    if (isIncluded(node, nodeDepth)) {
       this.stack.pop();
+      if (this.dotBuilder.hasTreeWriters() && this.treeStates.pop().written) {
+        this.dotBuilder.endTreeNode(node);
+      }
     }
 
     return true;
   }
 
-  private enum DoNothingArtifactFilter implements ArtifactFilter {
-    INSTANCE;
+  /**
+   * Passes the node to the tree writers if it is the root node or would be shown in the graph and its parent was
+   * written too.
+   */
+  private void startTreeNode(GraphNode node, int nodeDepth) {
+    TreeState parentState = this.treeStates.peek();
+    boolean written = parentState == null || (parentState.written && this.includedResolutions.contains(node.getResolution()));
+
+    if (written) {
+      this.dotBuilder.startTreeNode(node, parentState != null && node.getDependencyNode() == parentState.lastChild);
+      this.treeStates.push(new TreeState(true, findLastWrittenChild(node, nodeDepth + 1)));
+    } else {
+      this.treeStates.push(new TreeState(false, null));
+    }
+  }
 
-    @Override
-    public boolean include(Artifact artifact) {
-      return true;
+  /**
+   * Looks ahead at the children of a node to find the last child that will be written to the tree.
+   */
+  private Object findLastWrittenChild(GraphNode node, int childDepth) {
+    Object lastChild = null;
+    for (GraphNode child : node.getChildren()) {
+      if (this.includedResolutions.contains(child.getResolution()) && isIncluded(child, childDepth)) {
+        lastChild = child.getDependencyNode();
+      }
     }
 
+    return lastChild;
+  }
+
+  private static final class TreeState {
+
+    final boolean written;
+    final Object lastChild;
+
+    TreeState(boolean written, Object lastChild) {
+      this.written = written;
+      this.lastChild = lastChild;
+    }
   }
 }
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.graph;
+
+import java.util.Arrays;
+
+/**
+ * Collects the edges passed to a {@link com.github.ferstl.depgraph.dot.GraphWriter} for writers that need the nodes
+ * before the edges. The edges refer to the nodes by the ids that are assigned by the
+ * {@link com.github.ferstl.depgraph.dot.DotBuilder} and each edge is packed into a {@code long}: 28 bits for each node
+ * id and 8 bits for a flag byte, e.g. the encoded resolution and scope.
+ */
+final class EdgeBuffer {
+
+  private static final int NODE_ID_BITS = 28;
+  private static final int FLAG_BITS = 8;
+  private static final int MAX_NODE_ID = (1 << NODE_ID_BITS) - 1;
+  private static final int FLAG_MASK = (1 << FLAG_BITS) - 1;
+
+  private long[] edges;
+  private int edgeCount;
+
+  EdgeBuffer() {
+    this.edges = new long[1024];
+  }
+
+  void addEdge(int fromId, int toId, int flags) {
+    if (fromId > MAX_NODE_ID || toId > MAX_NODE_ID) {
+      throw new IllegalStateException("Graph exceeds the maximum number of " + (MAX_NODE_ID + 1) + " nodes");
+    }
+
+    if (this.edgeCount == this.edges.length) {
+      this.edges = Arrays.copyOf(this.edges, this.edges.length * 2);
+    }
+    this.edges[this.edgeCount++] = (long) fromId << (NODE_ID_BITS + FLAG_BITS) | (long) toId << FLAG_BITS | (flags & FLAG_MASK);
+  }
+
+  /**
+   * Sorts the edges by their source node, target node and flags and removes duplicates. Duplicates occur when the
+   * {@link com.github.ferstl.depgraph.dot.DotBuilder} passes the same pair of nodes several times with edge attributes
+   * that are not part of the flags.
+   */
+  void sortEdges() {
+    Arrays.sort(this.edges, 0, this.edgeCount);
+
+    int distinctCount = 0;
+    for (int i = 0; i < this.edgeCount; i++) {
+      if (distinctCount == 0 || this.edges[distinctCount - 1] != this.edges[i]) {
+        this.edges[distinctCount++] = this.edges[i];
+      }
+    }
+    this.edgeCount = distinctCount;
+  }
+
+  int getEdgeCount() {
+    return this.edgeCount;
+  }
+
+  int getFromId(int edge) {
+    return (int) (this.edges[edge] >>> (NODE_ID_BITS + FLAG_BITS));
+  }
+
+  int getToId(int edge) {
+    return (int) (this.edges[edge] >>> FLAG_BITS) & MAX_NODE_ID;
+  }
+
+  int getFlags(int edge) {
+    return (int) this.edges[edge] & FLAG_MASK;
+  }
+}
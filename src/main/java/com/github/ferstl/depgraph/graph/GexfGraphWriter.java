@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.graph;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import org.apache.maven.artifact.Artifact;
+
+/**
+ * Writes the graph in <a href="https://gephi.org/gexf/format/">GEXF 1.2</a> format, which can be imported in Gephi.
+ * The nodes have numeric IDs and the node names as labels. The coordinates, scopes and resolution of the nodes and
+ * the resolution and scope of the edges are written as GEXF attributes.
+ */
+public final class GexfGraphWriter extends XmlGraphWriter {
+
+  private static final String NAMESPACE = "http://www.gexf.net/1.2draft";
+  private static final String[] NODE_ATTRIBUTES = {"groupId", "artifactId", "version", "type", "classifier", "scopes", "resolution", "effectiveVersion"};
+  private static final String[] EDGE_ATTRIBUTES = {"resolution", "scope"};
+
+  public GexfGraphWriter(OutputStream outputStream) throws IOException {
+    super(outputStream);
+  }
+
+  @Override
+  void writeStart(XMLStreamWriter writer) throws XMLStreamException {
+    newLine(writer, 0);
+    writer.writeStartElement("gexf");
+    writer.writeDefaultNamespace(NAMESPACE);
+    writer.writeAttribute("version", "1.2");
+
+    newLine(writer, 1);
+    writer.writeStartElement("graph");
+    writer.writeAttribute("mode", "static");
+    writer.writeAttribute("defaultedgetype", "directed");
+
+    writeAttributeDeclarations(writer, "node", NODE_ATTRIBUTES);
+    writeAttributeDeclarations(writer, "edge", EDGE_ATTRIBUTES);
+  }
+
+  @Override
+  void startNodes(XMLStreamWriter writer) throws XMLStreamException {
+    newLine(writer, 2);
+    writer.writeStartElement("nodes");
+  }
+
+  @Override
+  void writeNode(XMLStreamWriter writer, int id, String name, GraphNode node) throws XMLStreamException {
+    Artifact artifact = node.getArtifact();
+
+    newLine(writer, 3);
+    writer.writeStartElement("node");
+    writer.writeAttribute("id", Integer.toString(id));
+    writer.writeAttribute("label", name);
+    writer.writeStartElement("attvalues");
+    writeValue(writer, 0, artifact.getGroupId());
+    writeValue(writer, 1, artifact.getArtifactId());
+    writeValue(writer, 2, artifact.getVersion());
+    writeValue(writer, 3, artifact.getType());
+    writeValue(writer, 4, artifact.getClassifier());
+    writeValue(writer, 5, joinScopes(node));
+    writeValue(writer, 6, node.getResolution().name());
+    writeValue(writer, 7, node.getEffectiveVersion());
+    writer.writeEndElement();
+    writer.writeEndElement();
+  }
+
+  @Override
+  void endNodes(XMLStreamWriter writer) throws XMLStreamException {
+    newLine(writer, 2);
+    writer.writeEndElement();
+  }
+
+  @Override
+  void startEdges(XMLStreamWriter writer) throws XMLStreamException {
+    newLine(writer, 2);
+    writer.writeStartElement("edges");
+  }
+
+  @Override
+  void writeEdge(XMLStreamWriter writer, int id, int fromId, int toId, NodeResolution resolution, String scope) throws XMLStreamException {
+    newLine(writer, 3);
+    writer.writeStartElement("edge");
+    writer.writeAttribute("id", Integer.toString(id));
+    writer.writeAttribute("source", Integer.toString(fromId));
+    writer.writeAttribute("target", Integer.toString(toId));
+    writer.writeStartElement("attvalues");
+    writeValue(writer, 0, resolution.name());
+    writeValue(writer, 1, scope);
+    writer.writeEndElement();
+    writer.writeEndElement();
+  }
+
+  @Override
+  void endEdges(XMLStreamWriter writer) throws XMLStreamException {
+    newLine(writer, 2);
+    writer.writeEndElement();
+  }
+
+  @Override
+  void writeEnd(XMLStreamWriter writer) throws XMLStreamException {
+    newLine(writer, 1);
+    writer.writeEndElement();
+    newLine(writer, 0);
+    writer.writeEndElement();
+    newLine(writer, 0);
+  }
+
+  private static void writeAttributeDeclarations(XMLStreamWriter writer, String attributeClass, String[] attributes) throws XMLStreamException {
+    newLine(writer, 2);
+    writer.writeStartElement("attributes");
+    writer.writeAttribute("class", attributeClass);
+    for (int i = 0; i < attributes.length; i++) {
+      newLine(writer, 3);
+      writer.writeEmptyElement("attribute");
+      writer.writeAttribute("id", Integer.toString(i));
+      writer.writeAttribute("title", attributes[i]);
+      writer.writeAttribute("type", "string");
+    }
+    newLine(writer, 2);
+    writer.writeEndElement();
+  }
+
+  private static void writeValue(XMLStreamWriter writer, int attribute, String value) throws XMLStreamException {
+    if (value != null && !value.isEmpty()) {
+      writer.writeEmptyElement("attvalue");
+      writer.writeAttribute("for", Integer.toString(attribute));
+      writer.writeAttribute("value", value);
+    }
+  }
+}
@@ -24,6 +24,7 @@ import org.apache.maven.shared.dependency.graph.DependencyGraphBuilderException;
 import org.apache.maven.shared.dependency.tree.DependencyTreeBuilder;
 import org.apache.maven.shared.dependency.tree.DependencyTreeBuilderException;
 import com.github.ferstl.depgraph.dot.DotBuilder;
+import com.github.ferstl.depgraph.graph.GraphMetrics.Measurement;
 import static java.util.EnumSet.allOf;
 
 /**
@@ -36,20 +37,45 @@ public final class GraphBuilderAdapter {
   private final ArtifactRepository artifactRepository;
   private final ArtifactFilter targetFilter;
   private final Set<NodeResolution> includedResolutions;
+  private final int maxDepth;
+  private final GraphMetrics metrics;
+  private final CoordinateTable coordinates;
 
   public GraphBuilderAdapter(DependencyGraphBuilder builder, ArtifactFilter targetFilter) {
+    this(builder, targetFilter, Integer.MAX_VALUE);
+  }
+
+  public GraphBuilderAdapter(DependencyGraphBuilder builder, ArtifactFilter targetFilter, int maxDepth) {
+    this(builder, targetFilter, maxDepth, new GraphMetrics());
+  }
+
+  public GraphBuilderAdapter(DependencyGraphBuilder builder, ArtifactFilter targetFilter, int maxDepth, GraphMetrics metrics) {
     this.dependencyGraphBuilder = builder;
     this.targetFilter = targetFilter;
     this.includedResolutions = allOf(NodeResolution.class);
+    this.maxDepth = maxDepth;
+    this.metrics = metrics;
+    this.coordinates = new CoordinateTable();
     this.dependencyTreeBuilder = null;
     this.artifactRepository = null;
   }
 
   public GraphBuilderAdapter(DependencyTreeBuilder builder, ArtifactRepository artifactRepository, ArtifactFilter targetFilter, Set<NodeResolution> includedResolutions) {
+    this(builder, artifactRepository, targetFilter, includedResolutions, Integer.MAX_VALUE);
+  }
+
+  public GraphBuilderAdapter(DependencyTreeBuilder builder, ArtifactRepository artifactRepository, ArtifactFilter targetFilter, Set<NodeResolution> includedResolutions, int maxDepth) {
+    this(builder, artifactRepository, targetFilter, includedResolutions, maxDepth, new GraphMetrics());
+  }
+
+  public GraphBuilderAdapter(DependencyTreeBuilder builder, ArtifactRepository artifactRepository, ArtifactFilter targetFilter, Set<NodeResolution> includedResolutions, int maxDepth, GraphMetrics metrics) {
     this.dependencyTreeBuilder = builder;
     this.artifactRepository = artifactRepository;
     this.targetFilter = targetFilter;
     this.includedResolutions = includedResolutions;
+    this.maxDepth = maxDepth;
+    this.metrics = metrics;
+    this.coordinates = new CoordinateTable();
     this.dependencyGraphBuilder = null;
   }
 
@@ -62,28 +88,36 @@ public final class GraphBuilderAdapter {
     }
   }
 
+  @SuppressWarnings("try")
   private void createGraph(MavenProject project, ArtifactFilter globalFilter, DotBuilder<GraphNode> dotBuilder) throws DependencyGraphException {
     org.apache.maven.shared.dependency.graph.DependencyNode root;
-    try {
+    try (Measurement measurement = this.metrics.start(GraphMetrics.RESOLUTION, project.getId())) {
       root = this.dependencyGraphBuilder.buildDependencyGraph(project, globalFilter);
     } catch (DependencyGraphBuilderException e) {
       throw new DependencyGraphException(e);
     }
 
-    DotBuildingVisitor visitor = new DotBuildingVisitor(dotBuilder, this.targetFilter);
-    root.accept(visitor);
+    DotBuildingVisitor visitor = new DotBuildingVisitor(dotBuilder, this.targetFilter, this.maxDepth, this.metrics, this.coordinates);
+    try (Measurement measurement = this.metrics.start(GraphMetrics.TRAVERSAL).moduleId(project.getId())) {
+      root.accept(visitor);
+      measurement.nodeCount(dotBuilder.getNodeCount()).edgeCount(dotBuilder.getEdgeCount());
+    }
   }
 
+  @SuppressWarnings("try")
   private void createTree(MavenProject project, ArtifactFilter globalFilter, DotBuilder<GraphNode> dotBuilder) throws DependencyGraphException {
     org.apache.maven.shared.dependency.tree.DependencyNode root;
-    try {
+    try (Measurement measurement = this.metrics.start(GraphMetrics.RESOLUTION, project.getId())) {
       root = this.dependencyTreeBuilder.buildDependencyTree(project, this.artifactRepository, globalFilter);
     } catch (DependencyTreeBuilderException e) {
       throw new DependencyGraphException(e);
     }
 
     // Due to MNG-3236, we need to filter the artifacts on our own.
-    DotBuildingVisitor visitor = new DotBuildingVisitor(dotBuilder, globalFilter, this.targetFilter, this.includedResolutions);
-    root.accept(visitor);
+    DotBuildingVisitor visitor = new DotBuildingVisitor(dotBuilder, globalFilter, this.targetFilter, this.includedResolutions, this.maxDepth, this.metrics, this.coordinates);
+    try (Measurement measurement = this.metrics.start(GraphMetrics.TRAVERSAL).moduleId(project.getId())) {
+      root.accept(visitor);
+      measurement.nodeCount(dotBuilder.getNodeCount()).edgeCount(dotBuilder.getEdgeCount());
+    }
   }
 }
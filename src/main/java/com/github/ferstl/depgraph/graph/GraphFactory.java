@@ -21,10 +21,10 @@ import org.apache.maven.project.MavenProject;
 public interface GraphFactory {
 
   /**
-   * Creates a graph for the given {@link MavenProject}.
+   * Creates a graph for the given {@link MavenProject}. The nodes and edges are added to the
+   * {@link com.github.ferstl.depgraph.dot.DotBuilder} of this factory, which is responsible for rendering the graph.
    *
-   * @return The String representation of the created graph.
    * @throws DependencyGraphException In case that the graph cannot be created.
    */
-  String createGraph(MavenProject project);
+  void createGraph(MavenProject project);
 }
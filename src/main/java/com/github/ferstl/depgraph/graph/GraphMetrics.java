@@ -0,0 +1,335 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.graph;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Collects wall time and allocated bytes of the phases of a graph creation and counts nodes, edges, etc. The allocated
+ * bytes are only available on JVMs that support measuring the allocations per thread. Otherwise they are reported as
+ * {@code -1}. Each measurement is also reported as Java Flight Recorder event if JFR is available and the event
+ * {@code com.github.ferstl.depgraph.Phase} is enabled in the current recording.
+ */
+public final class GraphMetrics {
+
+  public static final String STYLE_LOADING = "style loading";
+  public static final String FILTER_CREATION = "filter creation";
+  public static final String RESOLUTION = "resolution";
+  public static final String TRAVERSAL = "traversal";
+  // Replaces resolution and traversal for generated example graphs
+  public static final String GENERATION = "generation";
+  public static final String RENDERING = "rendering";
+  // Part of the rendering phase
+  public static final String FILE_WRITE = "file write";
+  public static final String IMAGE_CREATION = "image creation";
+
+  public static final String NODES = "nodes";
+  public static final String EDGES = "edges";
+  public static final String FILTERED_NODES = "filtered nodes";
+  public static final String DUPLICATE_EDGES = "duplicate edges";
+  public static final String BYTES_WRITTEN = "bytes written";
+
+  private static final AllocationCounter ALLOCATION_COUNTER = createAllocationCounter();
+
+  private final Map<String, PhaseStatistics> phases;
+  private final Map<String, PhaseStatistics> modules;
+  private final Map<String, Long> counters;
+
+  public GraphMetrics() {
+    this.phases = new LinkedHashMap<>();
+    this.modules = new LinkedHashMap<>();
+    this.counters = new LinkedHashMap<>();
+  }
+
+  /**
+   * Starts measuring the given phase. The measurement ends when the returned {@link Measurement} is closed. Phases can
+   * be measured several times, in which case the time and allocated bytes are summed up.
+   *
+   * @param phase Name of the phase.
+   * @return The running measurement.
+   */
+  public Measurement start(String phase) {
+    return new Measurement(phase, null, getStatistics(this.phases, phase), null);
+  }
+
+  /**
+   * Starts measuring the given phase for a single module. The measurement counts for the phase as well as for the
+   * module.
+   *
+   * @param phase Name of the phase.
+   * @param moduleId Id of the module.
+   * @return The running measurement.
+   */
+  public Measurement start(String phase, String moduleId) {
+    return new Measurement(phase, moduleId, getStatistics(this.phases, phase), getStatistics(this.modules, moduleId));
+  }
+
+  /**
+   * Records a phase whose wall time was measured elsewhere, e.g. the time spent in I/O operations.
+   *
+   * @param phase Name of the phase.
+   * @param wallTimeNanos Wall time in nanoseconds.
+   */
+  public void record(String phase, long wallTimeNanos) {
+    getStatistics(this.phases, phase).add(wallTimeNanos, -1);
+  }
+
+  public void increment(String counter) {
+    add(counter, 1);
+  }
+
+  public void add(String counter, long value) {
+    Long current = this.counters.get(counter);
+    this.counters.put(counter, current != null ? current + value : value);
+  }
+
+  public long getCounter(String counter) {
+    Long value = this.counters.get(counter);
+    return value != null ? value : 0;
+  }
+
+  public Map<String, PhaseStatistics> getPhases() {
+    return Collections.unmodifiableMap(this.phases);
+  }
+
+  public Map<String, PhaseStatistics> getModules() {
+    return Collections.unmodifiableMap(this.modules);
+  }
+
+  public Map<String, Long> getCounters() {
+    return Collections.unmodifiableMap(this.counters);
+  }
+
+  /**
+   * Creates a human readable summary of all phases and counters.
+   *
+   * @return The lines of the summary.
+   */
+  public List<String> createSummary() {
+    List<String> lines = new ArrayList<>();
+    for (Entry<String, PhaseStatistics> entry : this.phases.entrySet()) {
+      PhaseStatistics statistics = entry.getValue();
+      StringBuilder line = new StringBuilder(entry.getKey()).append(": ").append(statistics.getWallTimeMillis()).append(" ms");
+      if (statistics.getAllocatedBytes() >= 0) {
+        line.append(", ").append(statistics.getAllocatedBytes() / 1024).append(" KiB allocated");
+      }
+      if (statistics.getCount() > 1) {
+        line.append(" (").append(statistics.getCount()).append("x)");
+      }
+
+      lines.add(line.toString());
+    }
+
+    for (Entry<String, Long> entry : this.counters.entrySet()) {
+      lines.add(entry.getKey() + ": " + entry.getValue());
+    }
+
+    return lines;
+  }
+
+  /**
+   * Creates a JSON representation of all phases, modules and counters.
+   *
+   * @return The metrics in JSON format.
+   */
+  public String toJson() {
+    Map<String, Object> json = new LinkedHashMap<>();
+    json.put("phases", toJson(this.phases));
+    json.put("modules", toJson(this.modules));
+    json.put("counters", this.counters);
+
+    try {
+      StringWriter w = new StringWriter();
+      JsonWriterHolder.WRITER.writeValue(w, json);
+      return w.toString();
+    } catch (IOException e) {
+      throw new RuntimeException(e.getMessage(), e);
+    }
+  }
+
+  private static Map<String, Object> toJson(Map<String, PhaseStatistics> statistics) {
+    Map<String, Object> json = new LinkedHashMap<>();
+    for (Entry<String, PhaseStatistics> entry : statistics.entrySet()) {
+      Map<String, Object> values = new LinkedHashMap<>();
+      values.put("count", entry.getValue().getCount());
+      values.put("wallTimeNanos", entry.getValue().getWallTimeNanos());
+      values.put("allocatedBytes", entry.getValue().getAllocatedBytes());
+      json.put(entry.getKey(), values);
+    }
+
+    return json;
+  }
+
+  private static PhaseStatistics getStatistics(Map<String, PhaseStatistics> statistics, String name) {
+    PhaseStatistics phaseStatistics = statistics.get(name);
+    if (phaseStatistics == null) {
+      phaseStatistics = new PhaseStatistics();
+      statistics.put(name, phaseStatistics);
+    }
+
+    return phaseStatistics;
+  }
+
+  private static AllocationCounter createAllocationCounter() {
+    try {
+      ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+      if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+        final com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadMXBean;
+        if (allocationBean.isThreadAllocatedMemorySupported() && allocationBean.isThreadAllocatedMemoryEnabled()) {
+          return new AllocationCounter() {
+
+            @Override
+            public long getAllocatedBytes() {
+              return allocationBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+          };
+        }
+      }
+    } catch (ClassCastException | NoClassDefFoundError | UnsupportedOperationException e) {
+      // The JVM does not provide com.sun.management.ThreadMXBean, so the allocations are not measured
+    }
+
+    return new AllocationCounter() {
+
+      @Override
+      public long getAllocatedBytes() {
+        return -1;
+      }
+    };
+  }
+
+  /**
+   * Holder of the JSON writer, which is initialized on first use only.
+   */
+  private static final class JsonWriterHolder {
+
+    // Object writers are immutable and thread-safe
+    static final ObjectWriter WRITER = new ObjectMapper().writerWithDefaultPrettyPrinter();
+  }
+
+  private interface AllocationCounter {
+
+    long getAllocatedBytes();
+  }
+
+  /**
+   * A running measurement of a phase. The module id, node count, edge count and written bytes are optional attributes
+   * for the JFR event of this measurement.
+   */
+  public static final class Measurement implements AutoCloseable {
+
+    private final String phaseName;
+    private final PhaseStatistics phase;
+    private final PhaseStatistics module;
+    private final Object event;
+    private final long startTime;
+    private final long startAllocatedBytes;
+    private String moduleId;
+    private long nodeCount = -1;
+    private long edgeCount = -1;
+    private long bytesWritten = -1;
+
+    Measurement(String phaseName, String moduleId, PhaseStatistics phase, PhaseStatistics module) {
+      this.phaseName = phaseName;
+      this.moduleId = moduleId;
+      this.phase = phase;
+      this.module = module;
+      this.event = PhaseEvents.begin();
+      this.startAllocatedBytes = ALLOCATION_COUNTER.getAllocatedBytes();
+      this.startTime = System.nanoTime();
+    }
+
+    public Measurement moduleId(String moduleId) {
+      this.moduleId = moduleId;
+      return this;
+    }
+
+    public Measurement nodeCount(long nodeCount) {
+      this.nodeCount = nodeCount;
+      return this;
+    }
+
+    public Measurement edgeCount(long edgeCount) {
+      this.edgeCount = edgeCount;
+      return this;
+    }
+
+    public Measurement bytesWritten(long bytesWritten) {
+      this.bytesWritten = bytesWritten;
+      return this;
+    }
+
+    @Override
+    public void close() {
+      long wallTime = System.nanoTime() - this.startTime;
+      long allocatedBytes = this.startAllocatedBytes >= 0 ? ALLOCATION_COUNTER.getAllocatedBytes() - this.startAllocatedBytes : -1;
+
+      this.phase.add(wallTime, allocatedBytes);
+      if (this.module != null) {
+        this.module.add(wallTime, allocatedBytes);
+      }
+
+      PhaseEvents.commit(this.event, this.phaseName, this.moduleId, this.nodeCount, this.edgeCount, this.bytesWritten);
+    }
+  }
+
+  /**
+   * Accumulated statistics of a phase.
+   */
+  public static final class PhaseStatistics {
+
+    private int count;
+    private long wallTimeNanos;
+    private long allocatedBytes;
+
+    void add(long wallTimeNanos, long allocatedBytes) {
+      this.count++;
+      this.wallTimeNanos += wallTimeNanos;
+      this.allocatedBytes = allocatedBytes >= 0 && this.allocatedBytes >= 0 ? this.allocatedBytes + allocatedBytes : -1;
+    }
+
+    public int getCount() {
+      return this.count;
+    }
+
+    public long getWallTimeMillis() {
+      return TimeUnit.NANOSECONDS.toMillis(this.wallTimeNanos);
+    }
+
+    public long getWallTimeNanos() {
+      return this.wallTimeNanos;
+    }
+
+    /**
+     * Returns the allocated bytes or {@code -1} if they could not be measured.
+     */
+    public long getAllocatedBytes() {
+      return this.allocatedBytes;
+    }
+  }
+}
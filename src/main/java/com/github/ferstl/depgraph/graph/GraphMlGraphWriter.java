@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.graph;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import org.apache.maven.artifact.Artifact;
+
+/**
+ * Writes the graph in <a href="http://graphml.graphdrawing.org/">GraphML</a> format. The node IDs are the node names
+ * of the graph. The coordinates, scopes and resolution of the nodes and the resolution and scope of the edges are
+ * written as GraphML attributes.
+ */
+public final class GraphMlGraphWriter extends XmlGraphWriter {
+
+  private static final String NAMESPACE = "http://graphml.graphdrawing.org/xmlns";
+  private static final String[] NODE_ATTRIBUTES = {"groupId", "artifactId", "version", "type", "classifier", "scopes", "resolution", "effectiveVersion"};
+  private static final String EDGE_RESOLUTION = "edgeResolution";
+  private static final String EDGE_SCOPE = "edgeScope";
+
+  public GraphMlGraphWriter(OutputStream outputStream) throws IOException {
+    super(outputStream);
+  }
+
+  @Override
+  void writeStart(XMLStreamWriter writer) throws XMLStreamException {
+    newLine(writer, 0);
+    writer.writeStartElement("graphml");
+    writer.writeDefaultNamespace(NAMESPACE);
+
+    for (String attribute : NODE_ATTRIBUTES) {
+      writeKey(writer, attribute, "node", attribute);
+    }
+    writeKey(writer, EDGE_RESOLUTION, "edge", "resolution");
+    writeKey(writer, EDGE_SCOPE, "edge", "scope");
+
+    newLine(writer, 1);
+    writer.writeStartElement("graph");
+    writer.writeAttribute("id", "G");
+    writer.writeAttribute("edgedefault", "directed");
+  }
+
+  @Override
+  void startNodes(XMLStreamWriter writer) {
+    // NOP
+  }
+
+  @Override
+  void writeNode(XMLStreamWriter writer, int id, String name, GraphNode node) throws XMLStreamException {
+    Artifact artifact = node.getArtifact();
+
+    newLine(writer, 2);
+    writer.writeStartElement("node");
+    writer.writeAttribute("id", name);
+    writeData(writer, "groupId", artifact.getGroupId());
+    writeData(writer, "artifactId", artifact.getArtifactId());
+    writeData(writer, "version", artifact.getVersion());
+    writeData(writer, "type", artifact.getType());
+    writeData(writer, "classifier", artifact.getClassifier());
+    writeData(writer, "scopes", joinScopes(node));
+    writeData(writer, "resolution", node.getResolution().name());
+    writeData(writer, "effectiveVersion", node.getEffectiveVersion());
+    writer.writeEndElement();
+  }
+
+  @Override
+  void endNodes(XMLStreamWriter writer) {
+    // NOP
+  }
+
+  @Override
+  void startEdges(XMLStreamWriter writer) {
+    // NOP
+  }
+
+  @Override
+  void writeEdge(XMLStreamWriter writer, int id, int fromId, int toId, NodeResolution resolution, String scope) throws XMLStreamException {
+    newLine(writer, 2);
+    writer.writeStartElement("edge");
+    writer.writeAttribute("source", getNodeName(fromId));
+    writer.writeAttribute("target", getNodeName(toId));
+    writeData(writer, EDGE_RESOLUTION, resolution.name());
+    writeData(writer, EDGE_SCOPE, scope);
+    writer.writeEndElement();
+  }
+
+  @Override
+  void endEdges(XMLStreamWriter writer) {
+    // NOP
+  }
+
+  @Override
+  void writeEnd(XMLStreamWriter writer) throws XMLStreamException {
+    newLine(writer, 1);
+    writer.writeEndElement();
+    newLine(writer, 0);
+    writer.writeEndElement();
+    newLine(writer, 0);
+  }
+
+  private static void writeKey(XMLStreamWriter writer, String id, String domain, String name) throws XMLStreamException {
+    newLine(writer, 1);
+    writer.writeEmptyElement("key");
+    writer.writeAttribute("id", id);
+    writer.writeAttribute("for", domain);
+    writer.writeAttribute("attr.name", name);
+    writer.writeAttribute("attr.type", "string");
+  }
+
+  private static void writeData(XMLStreamWriter writer, String key, String value) throws XMLStreamException {
+    if (value != null && !value.isEmpty()) {
+      writer.writeStartElement("data");
+      writer.writeAttribute("key", key);
+      writer.writeCharacters(value);
+      writer.writeEndElement();
+    }
+  }
+}
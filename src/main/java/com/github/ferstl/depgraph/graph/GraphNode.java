@@ -20,6 +20,7 @@ import java.util.Set;
 import java.util.TreeSet;
 import org.apache.maven.artifact.Artifact;
 import com.google.common.base.Function;
+import com.google.common.base.Joiner;
 import com.google.common.collect.Collections2;
 import com.google.common.collect.ImmutableSet;
 
@@ -33,12 +34,22 @@ import com.google.common.collect.ImmutableSet;
  */
 public final class GraphNode {
 
+  private static final Joiner COLON_JOINER = Joiner.on(":").useForNull("");
+
   private org.apache.maven.shared.dependency.graph.DependencyNode graphNode;
   private org.apache.maven.shared.dependency.tree.DependencyNode treeNode;
   private final Artifact artifact;
   private final NodeResolution resolution;
   private final TreeSet<String> scopes;
-
+  // Coordinates of the artifact, replaced by shared instances when the coordinates are interned
+  private String groupId;
+  private String artifactId;
+  private String version;
+  private String type;
+  private String classifier;
+  private String scope;
+  // groupId:artifactId:type:classifier, only retained when the coordinates are interned
+  private String versionlessId;
 
   public GraphNode(Artifact artifact) {
     this(artifact, NodeResolution.INCLUDED);
@@ -68,6 +79,28 @@ public final class GraphNode {
     this.artifact = artifact;
     this.resolution = resolution;
     this.scopes.add(artifact.getScope());
+    this.groupId = artifact.getGroupId();
+    this.artifactId = artifact.getArtifactId();
+    this.version = artifact.getVersion();
+    this.type = artifact.getType();
+    this.classifier = artifact.getClassifier();
+    this.scope = artifact.getScope();
+  }
+
+  /**
+   * Replaces the coordinates of this node by their instances in the given table. Nodes with equal coordinates share
+   * the same strings afterwards, as long as they were interned with the same table.
+   *
+   * @param table Table of coordinates.
+   */
+  void internCoordinates(CoordinateTable table) {
+    this.groupId = table.intern(this.groupId);
+    this.artifactId = table.intern(this.artifactId);
+    this.version = table.intern(this.version);
+    this.type = table.intern(this.type);
+    this.classifier = table.intern(this.classifier);
+    this.scope = table.intern(this.scope);
+    this.versionlessId = table.intern(createVersionlessId());
   }
 
   public void merge(GraphNode other) {
@@ -90,6 +123,39 @@ public final class GraphNode {
     return ImmutableSet.copyOf(this.scopes);
   }
 
+  String getGroupId() {
+    return this.groupId;
+  }
+
+  String getArtifactId() {
+    return this.artifactId;
+  }
+
+  String getVersion() {
+    return this.version;
+  }
+
+  String getType() {
+    return this.type;
+  }
+
+  String getClassifier() {
+    return this.classifier;
+  }
+
+  String getScope() {
+    return this.scope;
+  }
+
+  /**
+   * Returns the coordinates of this node without version and scope.
+   *
+   * @return {@code groupId:artifactId:type:classifier}
+   */
+  String getVersionlessId() {
+    return this.versionlessId != null ? this.versionlessId : createVersionlessId();
+  }
+
   /**
    * Returns the <strong>effective</strong> version of this node, i.e. the version that is actually used. This is
    * important for nodes with a resolution of {@link NodeResolution#OMITTED_FOR_CONFLICT} where
@@ -99,7 +165,7 @@ public final class GraphNode {
    */
   public String getEffectiveVersion() {
     if (this.treeNode == null || this.treeNode.getRelatedArtifact() == null) {
-      return this.artifact.getVersion();
+      return this.version;
     }
 
     return this.treeNode.getRelatedArtifact().getVersion();
@@ -116,11 +182,25 @@ public final class GraphNode {
     }
   }
 
+  /**
+   * Returns the adapted dependency node. Since {@link GraphNode}s are created on the fly, the returned instance
+   * identifies a node within a dependency graph.
+   *
+   * @return The adapted dependency node or {@code null} if this node only adapts an artifact.
+   */
+  Object getDependencyNode() {
+    return this.treeNode != null ? this.treeNode : this.graphNode;
+  }
+
   @Override
   public String toString() {
     return this.artifact.toString();
   }
 
+  private String createVersionlessId() {
+    return COLON_JOINER.join(this.groupId, this.artifactId, this.type, this.classifier);
+  }
+
   private static NodeResolution determineResolution(int res) {
     switch (res) {
       case org.apache.maven.shared.dependency.tree.DependencyNode.OMITTED_FOR_DUPLICATE:
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.graph;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import org.apache.maven.artifact.Artifact;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.github.ferstl.depgraph.dot.GraphWriter;
+
+/**
+ * Writes the graph in JSON format. The JSON document is streamed to the output while the graph is created, so neither
+ * a JSON tree nor a string of the whole document is built in memory. The edges are written first as they are added
+ * to the graph, followed by the nodes when the graph is completed:
+ *
+ * <pre>
+ * {
+ *   "edges" : [ {"from" : "...", "to" : "...", "resolution" : "INCLUDED", "scope" : "compile", "version" : "1.0.0"}, ... ],
+ *   "nodes" : [ {"id" : "...", "groupId" : "...", "artifactId" : "...", "version" : "...", "type" : "jar",
+ *                "classifier" : "", "scopes" : ["compile"], "resolution" : "INCLUDED", "effectiveVersion" : "..."}, ... ]
+ * }
+ * </pre>
+ *
+ * The node IDs are the node names of the graph, which are referenced by the edges. The same pair of nodes may occur in
+ * several edges, which then differ in their resolution, scope or version.
+ */
+public final class JsonGraphWriter implements GraphWriter<GraphNode> {
+
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+  private final JsonGenerator generator;
+  private boolean nodesStarted;
+
+  public JsonGraphWriter(OutputStream outputStream) throws IOException {
+    this.generator = JSON_FACTORY.createGenerator(outputStream, JsonEncoding.UTF8);
+    this.generator.writeStartObject();
+    this.generator.writeArrayFieldStart("edges");
+  }
+
+  @Override
+  public void edge(int fromId, String from, GraphNode fromNode, int toId, String to, GraphNode toNode) throws IOException {
+    Artifact artifact = toNode.getArtifact();
+
+    this.generator.writeStartObject();
+    this.generator.writeStringField("from", from);
+    this.generator.writeStringField("to", to);
+    this.generator.writeStringField("resolution", toNode.getResolution().name());
+    this.generator.writeStringField("scope", artifact.getScope());
+    this.generator.writeStringField("version", artifact.getVersion());
+    this.generator.writeEndObject();
+  }
+
+  @Override
+  public void node(int id, String name, GraphNode node) throws IOException {
+    startNodes();
+
+    Artifact artifact = node.getArtifact();
+    this.generator.writeStartObject();
+    this.generator.writeStringField("id", name);
+    this.generator.writeStringField("groupId", artifact.getGroupId());
+    this.generator.writeStringField("artifactId", artifact.getArtifactId());
+    this.generator.writeStringField("version", artifact.getVersion());
+    this.generator.writeStringField("type", artifact.getType());
+    this.generator.writeStringField("classifier", artifact.getClassifier());
+    this.generator.writeArrayFieldStart("scopes");
+    for (String scope : node.getScopes()) {
+      this.generator.writeString(scope);
+    }
+    this.generator.writeEndArray();
+    this.generator.writeStringField("resolution", node.getResolution().name());
+    this.generator.writeStringField("effectiveVersion", node.getEffectiveVersion());
+    this.generator.writeEndObject();
+  }
+
+  @Override
+  public void complete() throws IOException {
+    startNodes();
+
+    this.generator.writeEndArray();
+    this.generator.writeEndObject();
+    this.generator.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    this.generator.close();
+  }
+
+  private void startNodes() throws IOException {
+    if (!this.nodesStarted) {
+      this.generator.writeEndArray();
+      this.generator.writeArrayFieldStart("nodes");
+      this.nodesStarted = true;
+    }
+  }
+}
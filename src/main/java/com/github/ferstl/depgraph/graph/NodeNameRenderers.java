@@ -15,7 +15,6 @@
  */
 package com.github.ferstl.depgraph.graph;
 
-import org.apache.maven.artifact.Artifact;
 import com.github.ferstl.depgraph.dot.NodeNameRenderer;
 import com.google.common.base.Joiner;
 
@@ -26,7 +25,7 @@ public enum NodeNameRenderers implements NodeNameRenderer<GraphNode> {
 
     @Override
     public String createNodeName(GraphNode node) {
-      return node.getArtifact().getGroupId();
+      return node.getGroupId();
     }
   },
 
@@ -34,8 +33,7 @@ public enum NodeNameRenderers implements NodeNameRenderer<GraphNode> {
 
     @Override
     public String createNodeName(GraphNode node) {
-      Artifact artifact = node.getArtifact();
-      return COLON_JOINER.join(artifact.getGroupId(), artifact.getScope());
+      return COLON_JOINER.join(node.getGroupId(), node.getScope());
     }
   },
 
@@ -43,13 +41,7 @@ public enum NodeNameRenderers implements NodeNameRenderer<GraphNode> {
 
     @Override
     public String createNodeName(GraphNode node) {
-      Artifact artifact = node.getArtifact();
-
-      return COLON_JOINER.join(
-          artifact.getGroupId(),
-          artifact.getArtifactId(),
-          artifact.getType(),
-          artifact.getClassifier());
+      return node.getVersionlessId();
     }
   },
 
@@ -57,14 +49,7 @@ public enum NodeNameRenderers implements NodeNameRenderer<GraphNode> {
 
     @Override
     public String createNodeName(GraphNode node) {
-      Artifact artifact = node.getArtifact();
-
-      return COLON_JOINER.join(
-          artifact.getGroupId(),
-          artifact.getArtifactId(),
-          artifact.getType(),
-          artifact.getClassifier(),
-          artifact.getScope());
+      return COLON_JOINER.join(node.getVersionlessId(), node.getScope());
     }
 
   };
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.graph;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder event for a phase of the graph creation. This class must only be loaded on JVMs that provide the
+ * JFR API, which is ensured by {@link PhaseEvents}.
+ */
+@Name("com.github.ferstl.depgraph.Phase")
+@Label("Dependency Graph Phase")
+@Description("A phase of the dependency graph creation, e.g. the resolution of a module or the rendering of the graph")
+@Category({"Maven", "Dependency Graph"})
+@StackTrace(false)
+final class PhaseEvent extends Event {
+
+  @Label("Phase")
+  String phase;
+
+  @Label("Module Id")
+  String moduleId;
+
+  @Label("Node Count")
+  long nodeCount;
+
+  @Label("Edge Count")
+  long edgeCount;
+
+  // 0 if the phase did not write a file
+  @Label("Bytes Written")
+  @DataAmount
+  long bytesWritten;
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.graph;
+
+/**
+ * Emits Java Flight Recorder events for the phases measured by {@link GraphMetrics}. The JFR API is only used if it is
+ * available on the running JVM. Otherwise, and when the event is not enabled in the current recording, beginning and
+ * committing an event does nothing.
+ */
+final class PhaseEvents {
+
+  private static final Recorder RECORDER = createRecorder();
+
+  private PhaseEvents() {
+    throw new AssertionError("not instantiable");
+  }
+
+  /**
+   * Begins an event.
+   *
+   * @return The event to be passed to {@link #commit(Object, String, String, long, long, long)} or {@code null} if
+   * the event is disabled.
+   */
+  static Object begin() {
+    return RECORDER.begin();
+  }
+
+  static void commit(Object event, String phase, String moduleId, long nodeCount, long edgeCount, long bytesWritten) {
+    if (event != null) {
+      RECORDER.commit(event, phase, moduleId, nodeCount, edgeCount, bytesWritten);
+    }
+  }
+
+  private static Recorder createRecorder() {
+    try {
+      Class.forName("jdk.jfr.Event", false, PhaseEvents.class.getClassLoader());
+      return new JfrRecorder();
+    } catch (ClassNotFoundException | LinkageError e) {
+      return new NopRecorder();
+    }
+  }
+
+  private interface Recorder {
+
+    Object begin();
+
+    void commit(Object event, String phase, String moduleId, long nodeCount, long edgeCount, long bytesWritten);
+  }
+
+  private static final class NopRecorder implements Recorder {
+
+    @Override
+    public Object begin() {
+      return null;
+    }
+
+    @Override
+    public void commit(Object event, String phase, String moduleId, long nodeCount, long edgeCount, long bytesWritten) {
+      // NOP
+    }
+  }
+
+  // Only loaded when the JFR API is available
+  private static final class JfrRecorder implements Recorder {
+
+    @Override
+    public Object begin() {
+      PhaseEvent event = new PhaseEvent();
+      if (!event.isEnabled()) {
+        return null;
+      }
+
+      event.begin();
+      return event;
+    }
+
+    @Override
+    public void commit(Object event, String phase, String moduleId, long nodeCount, long edgeCount, long bytesWritten) {
+      PhaseEvent phaseEvent = (PhaseEvent) event;
+      phaseEvent.end();
+      if (phaseEvent.shouldCommit()) {
+        phaseEvent.phase = phase;
+        phaseEvent.moduleId = moduleId;
+        phaseEvent.nodeCount = nodeCount;
+        phaseEvent.edgeCount = edgeCount;
+        // -1 if nothing was written, which would be shown as negative data amount
+        phaseEvent.bytesWritten = Math.max(bytesWritten, 0);
+        phaseEvent.commit();
+      }
+    }
+  }
+}
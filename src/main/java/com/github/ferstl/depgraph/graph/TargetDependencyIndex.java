@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.graph;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
+
+/**
+ * Index of all nodes in a dependency graph that lead to a target dependency, i.e. that are a target dependency or have
+ * a target dependency among their descendants. The index is created with a single pass over the graph that records
+ * the parents of each node, followed by a backward breadth-first search starting at all target dependencies.
+ */
+final class TargetDependencyIndex {
+
+  private final Set<Object> nodesLeadingToTarget;
+
+  private TargetDependencyIndex(Set<Object> nodesLeadingToTarget) {
+    this.nodesLeadingToTarget = nodesLeadingToTarget;
+  }
+
+  /**
+   * Creates the index for the graph starting at the given root node.
+   *
+   * @param root Root node of the dependency graph.
+   * @param targetFilter Filter matching the target dependencies.
+   * @param maxDepth Maximum depth of the target dependencies, with the root node having depth 0.
+   * @return The index.
+   */
+  static TargetDependencyIndex create(GraphNode root, ArtifactFilter targetFilter, int maxDepth) {
+    Map<Object, List<Object>> parents = new IdentityHashMap<>();
+    Deque<Object> targets = new ArrayDeque<>();
+
+    // Forward pass: record the parents of each node and collect the target dependencies
+    Deque<GraphNode> currentLevel = new ArrayDeque<>();
+    currentLevel.add(root);
+    parents.put(root.getDependencyNode(), new ArrayList<>(0));
+    for (int depth = 0; !currentLevel.isEmpty() && depth <= maxDepth; depth++) {
+      Deque<GraphNode> nextLevel = new ArrayDeque<>();
+      for (GraphNode node : currentLevel) {
+        if (targetFilter.include(node.getArtifact())) {
+          targets.add(node.getDependencyNode());
+        }
+
+        if (depth < maxDepth) {
+          for (GraphNode child : node.getChildren()) {
+            List<Object> childParents = parents.get(child.getDependencyNode());
+            if (childParents == null) {
+              childParents = new ArrayList<>(1);
+              parents.put(child.getDependencyNode(), childParents);
+              nextLevel.add(child);
+            }
+
+            childParents.add(node.getDependencyNode());
+          }
+        }
+      }
+
+      currentLevel = nextLevel;
+    }
+
+    // Backward pass: mark every node on a path to a target dependency
+    Set<Object> nodesLeadingToTarget = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+    nodesLeadingToTarget.addAll(targets);
+    while (!targets.isEmpty()) {
+      for (Object parent : parents.get(targets.poll())) {
+        if (nodesLeadingToTarget.add(parent)) {
+          targets.add(parent);
+        }
+      }
+    }
+
+    return new TargetDependencyIndex(nodesLeadingToTarget);
+  }
+
+  boolean leadsToTargetDependency(GraphNode node) {
+    return this.nodesLeadingToTarget.contains(node.getDependencyNode());
+  }
+}
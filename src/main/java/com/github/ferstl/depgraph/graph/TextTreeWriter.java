@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.graph;
+
+import java.io.IOException;
+import java.io.Writer;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.maven.artifact.Artifact;
+import com.github.ferstl.depgraph.dot.TreeWriter;
+
+/**
+ * Writes the traversed dependencies as indented text tree in the style of {@code mvn dependency:tree}:
+ * <pre>
+ * com.example:app:jar:1.0.0
+ * +- com.example:lib:jar:1.0.0:compile
+ * |  \- com.google.guava:guava:jar:19.0:compile (omitted for conflict with 20.0)
+ * \- junit:junit:jar:4.12:test
+ * </pre>
+ * Each line is written as soon as the node is traversed. The filters, the maximum depth and the shown resolutions of
+ * the graph apply to the tree as well. Only the edges of the graph are not relevant for this writer.
+ */
+public final class TextTreeWriter implements TreeWriter<GraphNode> {
+
+  private final Writer writer;
+  private final StringBuilder indentation;
+  private int depth;
+
+  public TextTreeWriter(Writer writer) {
+    this.writer = writer;
+    this.indentation = new StringBuilder();
+  }
+
+  @Override
+  public void startNode(GraphNode node, boolean last) throws IOException {
+    if (this.depth > 0) {
+      this.writer.append(this.indentation).append(last ? "\\- " : "+- ");
+      this.indentation.append(last ? "   " : "|  ");
+    }
+
+    writeNode(node, this.depth == 0);
+    this.depth++;
+  }
+
+  @Override
+  public void endNode(GraphNode node) {
+    this.depth--;
+    if (this.depth > 0) {
+      this.indentation.setLength(this.indentation.length() - 3);
+    }
+  }
+
+  @Override
+  public void edge(int fromId, String from, GraphNode fromNode, int toId, String to, GraphNode toNode) {
+    // NOP
+  }
+
+  @Override
+  public void node(int id, String name, GraphNode node) {
+    // NOP
+  }
+
+  @Override
+  public void complete() throws IOException {
+    this.writer.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    this.writer.close();
+  }
+
+  private void writeNode(GraphNode node, boolean root) throws IOException {
+    Artifact artifact = node.getArtifact();
+    this.writer.append(artifact.getGroupId())
+        .append(':').append(artifact.getArtifactId())
+        .append(':').append(artifact.getType());
+    if (StringUtils.isNotEmpty(artifact.getClassifier())) {
+      this.writer.append(':').append(artifact.getClassifier());
+    }
+    this.writer.append(':').append(artifact.getVersion());
+    if (!root) {
+      this.writer.append(':').append(artifact.getScope());
+    }
+
+    switch (node.getResolution()) {
+      case OMITTED_FOR_DUPLICATE:
+        this.writer.append(" (omitted for duplicate)");
+        break;
+      case OMITTED_FOR_CONFLICT:
+        this.writer.append(" (omitted for conflict with ").append(node.getEffectiveVersion()).append(')');
+        break;
+      case OMITTED_FOR_CYCLE:
+        this.writer.append(" (omitted for cycle)");
+        break;
+      default:
+        // NOP
+    }
+
+    this.writer.append('\n');
+  }
+}
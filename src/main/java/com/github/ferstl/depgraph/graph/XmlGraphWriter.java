@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.graph;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import com.github.ferstl.depgraph.dot.GraphWriter;
+import com.google.common.base.Joiner;
+
+/**
+ * Base class for graph writers of XML formats. The document is written with a {@link XMLStreamWriter}, so the memory
+ * consumption does not depend on the size of the document. Since the XML formats require the nodes to be declared
+ * before the edges, the nodes are written as they are passed to this writer and the edges are collected in an
+ * {@link EdgeBuffer} and written after the nodes when the graph is completed.
+ */
+abstract class XmlGraphWriter implements GraphWriter<GraphNode> {
+
+  private static final XMLOutputFactory XML_OUTPUT_FACTORY = XMLOutputFactory.newInstance();
+  private static final Joiner SCOPE_JOINER = Joiner.on(",");
+
+  private final OutputStream outputStream;
+  private final XMLStreamWriter writer;
+  private final EdgeBuffer edges;
+  private final List<String> nodeNames;
+  private boolean documentStarted;
+
+  XmlGraphWriter(OutputStream outputStream) throws IOException {
+    // The XML writer of the JDK writes small chunks to the stream
+    this.outputStream = new BufferedOutputStream(outputStream);
+    this.edges = new EdgeBuffer();
+    this.nodeNames = new ArrayList<>();
+    try {
+      this.writer = XML_OUTPUT_FACTORY.createXMLStreamWriter(this.outputStream, StandardCharsets.UTF_8.name());
+    } catch (XMLStreamException e) {
+      throw new IOException("Unable to create XML writer", e);
+    }
+  }
+
+  @Override
+  public void edge(int fromId, String from, GraphNode fromNode, int toId, String to, GraphNode toNode) {
+    this.edges.addEdge(fromId, toId, BinaryGraphFormat.encodeResolutionAndScope(toNode.getResolution(), toNode.getArtifact().getScope()));
+  }
+
+  @Override
+  public void node(int id, String name, GraphNode node) throws IOException {
+    try {
+      startDocument();
+      this.nodeNames.add(name);
+      writeNode(this.writer, id, name, node);
+    } catch (XMLStreamException e) {
+      throw new IOException("Unable to write XML graph", e);
+    }
+  }
+
+  @Override
+  public void complete() throws IOException {
+    try {
+      startDocument();
+      endNodes(this.writer);
+
+      // Removes parallel edges that only differ in attributes which are not contained in the XML formats
+      this.edges.sortEdges();
+      startEdges(this.writer);
+      for (int i = 0; i < this.edges.getEdgeCount(); i++) {
+        int flags = this.edges.getFlags(i);
+        writeEdge(this.writer, i, this.edges.getFromId(i), this.edges.getToId(i),
+            BinaryGraphFormat.decodeResolution(flags), BinaryGraphFormat.decodeScope(flags));
+      }
+      endEdges(this.writer);
+
+      writeEnd(this.writer);
+      this.writer.writeEndDocument();
+      this.writer.flush();
+      this.outputStream.flush();
+    } catch (XMLStreamException e) {
+      throw new IOException("Unable to write XML graph", e);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      this.writer.close();
+    } catch (XMLStreamException e) {
+      throw new IOException("Unable to close XML writer", e);
+    } finally {
+      // XMLStreamWriter does not close the underlying stream
+      this.outputStream.close();
+    }
+  }
+
+  abstract void writeStart(XMLStreamWriter writer) throws XMLStreamException;
+
+  abstract void startNodes(XMLStreamWriter writer) throws XMLStreamException;
+
+  abstract void writeNode(XMLStreamWriter writer, int id, String name, GraphNode node) throws XMLStreamException;
+
+  abstract void endNodes(XMLStreamWriter writer) throws XMLStreamException;
+
+  abstract void startEdges(XMLStreamWriter writer) throws XMLStreamException;
+
+  /**
+   * Writes an edge.
+   *
+   * @param scope The scope of the target node or {@code null} if unknown.
+   */
+  abstract void writeEdge(XMLStreamWriter writer, int id, int fromId, int toId, NodeResolution resolution, String scope) throws XMLStreamException;
+
+  abstract void endEdges(XMLStreamWriter writer) throws XMLStreamException;
+
+  abstract void writeEnd(XMLStreamWriter writer) throws XMLStreamException;
+
+  String getNodeName(int id) {
+    return this.nodeNames.get(id);
+  }
+
+  /**
+   * Starts the document and the nodes section before the first node is written. The nodes are written as they are
+   * passed to this writer since they are passed in the order of their ids.
+   */
+  private void startDocument() throws XMLStreamException {
+    if (!this.documentStarted) {
+      this.documentStarted = true;
+      this.writer.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+      writeStart(this.writer);
+      startNodes(this.writer);
+    }
+  }
+
+  static String joinScopes(GraphNode node) {
+    return SCOPE_JOINER.join(node.getScopes());
+  }
+
+  static void newLine(XMLStreamWriter writer, int indentation) throws XMLStreamException {
+    writer.writeCharacters("\n");
+    for (int i = 0; i < indentation; i++) {
+      writer.writeCharacters("  ");
+    }
+  }
+}
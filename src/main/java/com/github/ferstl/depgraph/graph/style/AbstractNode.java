@@ -19,7 +19,6 @@ import org.apache.commons.lang3.StringUtils;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.databind.annotation.JsonTypeIdResolver;
 import com.github.ferstl.depgraph.dot.AttributeBuilder;
-import com.github.ferstl.depgraph.dot.LabelBuilder;
 
 @JsonTypeInfo(use = JsonTypeInfo.Id.CUSTOM, include = JsonTypeInfo.As.EXISTING_PROPERTY, property = "type")
 @JsonTypeIdResolver(NodeTypeResolver.class)
@@ -39,6 +38,41 @@ abstract class AbstractNode {
     this.type = type;
   }
 
+  AbstractNode color(String color) {
+    this.color = color;
+    return this;
+  }
+
+  AbstractNode fillColor(String fillColor) {
+    this.fillColor = fillColor;
+    return this;
+  }
+
+  AbstractNode style(String style) {
+    this.style = style;
+    return this;
+  }
+
+  Font defaultFont() {
+    return this.defaultFont;
+  }
+
+  Font groupIdFont() {
+    return this.groupIdFont;
+  }
+
+  Font artifactIdFont() {
+    return this.artifactIdFont;
+  }
+
+  Font versionFont() {
+    return this.versionFont;
+  }
+
+  Font scopeFont() {
+    return this.scopeFont;
+  }
+
   AttributeBuilder createAttributes() {
     Font defaultFont = this.defaultFont;
     return new AttributeBuilder()
@@ -51,39 +85,19 @@ abstract class AbstractNode {
         .fontColor(defaultFont.color);
   }
 
-  AttributeBuilder createAttributes(String groupId, String artifactId, String version, String scopes, boolean includeNodeAttributes) {
-    Font groupIdFont = this.groupIdFont;
-    Font artifactIdFont = this.artifactIdFont;
-    Font versionFont = this.versionFont;
-    Font scopeFont = this.scopeFont;
-
-    AttributeBuilder builder = includeNodeAttributes ? createAttributes() : new AttributeBuilder();
-    return builder
-        .label(new LabelBuilder()
-            .font()
-            .name(groupIdFont.name)
-            .color(groupIdFont.color)
-            .size(groupIdFont.size)
-            .text(groupId)
-            .smartNewLine()
-            .font()
-            .name(artifactIdFont.name)
-            .color(artifactIdFont.color)
-            .size(artifactIdFont.size)
-            .text(artifactId)
-            .smartNewLine()
-            .font()
-            .name(versionFont.name)
-            .color(versionFont.color)
-            .size(versionFont.size)
-            .text(version)
-            .smartNewLine()
-            .font()
-            .name(scopeFont.name)
-            .color(scopeFont.color)
-            .size(scopeFont.size)
-            .text(scopes)
-            .build());
+  /**
+   * Compiles this node style.
+   *
+   * @param includeNodeAttributes Whether the node attributes are rendered for each node or only the label.
+   * @return The compiled node style.
+   */
+  CompiledNodeStyle compile(boolean includeNodeAttributes) {
+    return new CompiledNodeStyle(
+        includeNodeAttributes ? createAttributes() : new AttributeBuilder(),
+        this.groupIdFont.createFontTag(),
+        this.artifactIdFont.createFontTag(),
+        this.versionFont.createFontTag(),
+        this.scopeFont.createFontTag());
   }
 
   void merge(AbstractNode other) {
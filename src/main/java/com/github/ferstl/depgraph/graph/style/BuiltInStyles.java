@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.graph.style;
+
+import com.github.ferstl.depgraph.graph.NodeResolution;
+import com.github.ferstl.depgraph.graph.style.resource.BuiltInStyleResource;
+
+/**
+ * Precompiled form of the built-in style configurations. Creating the styles in code avoids initializing Jackson's
+ * databinding when no custom style configuration is used. The styles have to be kept in sync with the JSON resources
+ * of {@link BuiltInStyleResource}, which is verified by {@code BuiltInStylesTest}.
+ */
+final class BuiltInStyles {
+
+  private BuiltInStyles() {
+    throw new AssertionError("not instantiable");
+  }
+
+  static StyleConfiguration create(BuiltInStyleResource style) {
+    switch (style) {
+      case DEFAULT_STYLE:
+        return createDefaultStyle();
+      case GROUP_ID_ONLY_STYLE:
+        return createGroupIdOnlyStyle();
+      default:
+        throw new IllegalArgumentException("Unknown built-in style " + style);
+    }
+  }
+
+  /**
+   * Precompiled {@code default-style.json}.
+   */
+  private static StyleConfiguration createDefaultStyle() {
+    AbstractNode defaultNode = new Box().style("rounded");
+    defaultNode.defaultFont().size(14).name("Helvetica");
+    defaultNode.groupIdFont().size(10);
+    defaultNode.versionFont().size(10);
+    defaultNode.scopeFont().size(10);
+
+    StyleConfiguration configuration = new StyleConfiguration().defaultNode(defaultNode);
+    configuration.defaultEdge().font().size(10).name("Helvetica");
+
+    Edge conflictEdge = new Edge().style("dashed").color("red");
+    conflictEdge.font().color("red");
+
+    return configuration
+        .edgeResolutionStyle(NodeResolution.OMITTED_FOR_DUPLICATE, new Edge().style("dotted"))
+        .edgeResolutionStyle(NodeResolution.OMITTED_FOR_CONFLICT, conflictEdge);
+  }
+
+  /**
+   * Precompiled {@code group-id-only-style.json}.
+   */
+  private static StyleConfiguration createGroupIdOnlyStyle() {
+    AbstractNode defaultNode = new Box();
+    defaultNode.groupIdFont().size(14);
+
+    return new StyleConfiguration().defaultNode(defaultNode);
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.graph.style;
+
+import com.github.ferstl.depgraph.dot.AttributeBuilder;
+import com.github.ferstl.depgraph.dot.LabelBuilder;
+
+/**
+ * Immutable node style with pre-rendered attributes and font tags.
+ */
+final class CompiledNodeStyle {
+
+  // Pre-rendered template which is only used for copies
+  private final AttributeBuilder attributes;
+  private final String groupIdFontTag;
+  private final String artifactIdFontTag;
+  private final String versionFontTag;
+  private final String scopeFontTag;
+
+  CompiledNodeStyle(AttributeBuilder attributes, String groupIdFontTag, String artifactIdFontTag, String versionFontTag, String scopeFontTag) {
+    this.attributes = attributes;
+    // Render once, so unmodified copies do not need to be rendered again
+    this.attributes.toString();
+    this.groupIdFontTag = groupIdFontTag;
+    this.artifactIdFontTag = artifactIdFontTag;
+    this.versionFontTag = versionFontTag;
+    this.scopeFontTag = scopeFontTag;
+  }
+
+  AttributeBuilder createAttributes(String groupId, String artifactId, String version, String scopes) {
+    return this.attributes.copy()
+        .label(new LabelBuilder()
+            .text(this.groupIdFontTag, groupId)
+            .smartNewLine()
+            .text(this.artifactIdFontTag, artifactId)
+            .smartNewLine()
+            .text(this.versionFontTag, version)
+            .smartNewLine()
+            .text(this.scopeFontTag, scopes)
+            .build());
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.graph.style;
+
+import java.util.List;
+import java.util.Map;
+import com.github.ferstl.depgraph.dot.AttributeBuilder;
+import com.github.ferstl.depgraph.graph.NodeResolution;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Immutable form of a {@link StyleConfiguration} which is created by {@link StyleConfiguration#compile()}. All
+ * attributes and font tags are rendered when the configuration is compiled. The edge styles are looked up in a table
+ * indexed by the ordinal of the {@link NodeResolution} and the scope of the target node. The returned attribute
+ * builders are copies and may be modified by the caller. So instances of this class can be shared by several threads.
+ */
+public final class CompiledStyleConfiguration {
+
+  private final AttributeBuilder defaultNodeAttributes;
+  private final AttributeBuilder defaultEdgeAttributes;
+  private final CompiledNodeStyle defaultNodeStyle;
+  private final List<StyleKey> nodeStyleKeys;
+  private final List<CompiledNodeStyle> nodeStyles;
+  // Edge styles by resolution ordinal and target scope
+  private final List<Map<String, AttributeBuilder>> edgeScopeStyles;
+  private final List<AttributeBuilder> edgeResolutionStyles;
+
+  CompiledStyleConfiguration(AttributeBuilder defaultNodeAttributes, AttributeBuilder defaultEdgeAttributes, CompiledNodeStyle defaultNodeStyle,
+      ImmutableMap<StyleKey, CompiledNodeStyle> nodeStyles, ImmutableList<ImmutableMap<String, AttributeBuilder>> edgeScopeStyles,
+      ImmutableList<AttributeBuilder> edgeResolutionStyles) {
+    this.defaultNodeAttributes = render(defaultNodeAttributes);
+    this.defaultEdgeAttributes = render(defaultEdgeAttributes);
+    this.defaultNodeStyle = defaultNodeStyle;
+    this.nodeStyleKeys = nodeStyles.keySet().asList();
+    this.nodeStyles = nodeStyles.values().asList();
+    this.edgeScopeStyles = ImmutableList.<Map<String, AttributeBuilder>>copyOf(edgeScopeStyles);
+    this.edgeResolutionStyles = edgeResolutionStyles;
+
+    for (Map<String, AttributeBuilder> scopeStyles : edgeScopeStyles) {
+      for (AttributeBuilder attributes : scopeStyles.values()) {
+        render(attributes);
+      }
+    }
+    for (AttributeBuilder attributes : edgeResolutionStyles) {
+      render(attributes);
+    }
+  }
+
+  public AttributeBuilder defaultNodeAttributes() {
+    return this.defaultNodeAttributes.copy();
+  }
+
+  public AttributeBuilder defaultEdgeAttributes() {
+    return this.defaultEdgeAttributes.copy();
+  }
+
+  public AttributeBuilder edgeAttributes(NodeResolution resolution, String targetScope) {
+    int ordinal = resolution.ordinal();
+    AttributeBuilder attributes = this.edgeScopeStyles.get(ordinal).get(targetScope);
+    if (attributes == null) {
+      attributes = this.edgeResolutionStyles.get(ordinal);
+    }
+
+    return attributes.copy();
+  }
+
+  public AttributeBuilder nodeAttributes(String groupId, String artifactId, String version, String type, String scopes, String effectiveScope) {
+    CompiledNodeStyle nodeStyle = this.defaultNodeStyle;
+
+    if (!this.nodeStyleKeys.isEmpty()) {
+      StyleKey artifactKey = StyleKey.create(groupId, artifactId, effectiveScope, type, version);
+      for (int i = 0; i < this.nodeStyleKeys.size(); i++) {
+        if (this.nodeStyleKeys.get(i).matches(artifactKey)) {
+          nodeStyle = this.nodeStyles.get(i);
+          break;
+        }
+      }
+    }
+
+    return nodeStyle.createAttributes(groupId, artifactId, version, scopes);
+  }
+
+  /**
+   * Renders the given attributes, so unmodified copies do not need to be rendered again.
+   */
+  private static AttributeBuilder render(AttributeBuilder attributes) {
+    attributes.toString();
+    return attributes;
+  }
+}
@@ -24,6 +24,20 @@ class Edge {
   private String color;
   private final Font font = new Font();
 
+  Edge style(String style) {
+    this.style = style;
+    return this;
+  }
+
+  Edge color(String color) {
+    this.color = color;
+    return this;
+  }
+
+  Font font() {
+    return this.font;
+  }
+
   AttributeBuilder createAttributes() {
     AttributeBuilder builder = new AttributeBuilder()
         .style(this.style)
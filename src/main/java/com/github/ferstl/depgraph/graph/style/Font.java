@@ -17,6 +17,7 @@ package com.github.ferstl.depgraph.graph.style;
 
 import org.apache.commons.lang3.StringUtils;
 import com.github.ferstl.depgraph.dot.AttributeBuilder;
+import com.github.ferstl.depgraph.dot.LabelBuilder;
 
 class Font {
 
@@ -24,6 +25,21 @@ class Font {
   Integer size;
   String name;
 
+  Font color(String color) {
+    this.color = color;
+    return this;
+  }
+
+  Font size(Integer size) {
+    this.size = size;
+    return this;
+  }
+
+  Font name(String name) {
+    this.name = name;
+    return this;
+  }
+
   AttributeBuilder setAttributes(AttributeBuilder builder) {
     return builder
         .fontColor(this.color)
@@ -31,6 +47,19 @@ class Font {
         .fontName(this.name);
   }
 
+  /**
+   * Renders the opening font tag for HTML-like labels.
+   *
+   * @return The font tag or {@code null} if no font attribute is set.
+   */
+  String createFontTag() {
+    return new LabelBuilder().font()
+        .name(this.name)
+        .color(this.color)
+        .size(this.size)
+        .createTag();
+  }
+
   void merge(Font other) {
     this.color = StringUtils.defaultIfBlank(other.color, this.color);
     this.size = other.size != null ? other.size : this.size;
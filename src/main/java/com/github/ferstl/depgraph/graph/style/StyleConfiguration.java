@@ -18,24 +18,36 @@ package com.github.ferstl.depgraph.graph.style;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.StringWriter;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.PropertyNamingStrategy;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.github.ferstl.depgraph.dot.AttributeBuilder;
 import com.github.ferstl.depgraph.graph.NodeResolution;
+import com.github.ferstl.depgraph.graph.style.resource.BuiltInStyleResource;
+import com.github.ferstl.depgraph.graph.style.resource.ClasspathStyleResource;
 import com.github.ferstl.depgraph.graph.style.resource.StyleResource;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
 import static com.github.ferstl.depgraph.graph.NodeResolution.INCLUDED;
 
 public class StyleConfiguration {
 
+  // Compiled effective configurations by the names of their resources. Since this cache is static, it lives as long as
+  // the class loader of the plugin, which is usually the lifetime of the JVM.
+  private static final ConcurrentMap<List<String>, CachedConfiguration> CONFIGURATIONS = new ConcurrentHashMap<>();
+
   private AbstractNode defaultNode = new Box();
   private final Edge defaultEdge = new Edge();
   private final Map<StyleKey, AbstractNode> nodeStyles = new LinkedHashMap<>();
@@ -43,13 +55,73 @@ public class StyleConfiguration {
   private final Map<NodeResolution, Edge> edgeResolutionStyles = new LinkedHashMap<>();
 
 
+  /**
+   * Loads the given style resources and merges them in the given order. Built-in style resources, i.e. resources
+   * created by {@link BuiltInStyleResource#createStyleResource(ClassLoader)}, are not parsed but created from their
+   * precompiled form. Jackson is initialized only for other resources.
+   * <p>
+   * Each call returns a new configuration, which may be modified by the caller. Use
+   * {@link #loadCompiled(StyleResource, StyleResource...)} to get a cached configuration.
+   * </p>
+   *
+   * @param mainConfig The main configuration.
+   * @param overrides Configurations overriding the main configuration.
+   * @return The effective style configuration.
+   */
   public static StyleConfiguration load(StyleResource mainConfig, StyleResource... overrides) {
-    ObjectMapper mapper = createObjectMapper();
+    return loadAndMerge(Lists.asList(mainConfig, overrides));
+  }
+
+  /**
+   * Loads and {@linkplain #compile() compiles} the given style resources like
+   * {@link #load(StyleResource, StyleResource...)}.
+   * <p>
+   * The compiled configuration is cached by the names of the resources as long as their
+   * {@linkplain StyleResource#getVersion() versions}, e.g. the size and modification time of files, do not change. Since
+   * a compiled configuration is immutable, the cached instance may be used by several threads concurrently.
+   * </p>
+   *
+   * @param mainConfig The main configuration.
+   * @param overrides Configurations overriding the main configuration.
+   * @return The compiled effective style configuration.
+   */
+  public static CompiledStyleConfiguration loadCompiled(StyleResource mainConfig, StyleResource... overrides) {
+    List<StyleResource> resources = Lists.asList(mainConfig, overrides);
+    List<String> names = new ArrayList<>(resources.size());
+    List<String> versions = new ArrayList<>(resources.size());
+    for (StyleResource resource : resources) {
+      names.add(resource.toString());
+      versions.add(getVersion(resource));
+    }
+
+    CachedConfiguration cachedConfiguration = CONFIGURATIONS.get(names);
+    if (cachedConfiguration != null && cachedConfiguration.versions.equals(versions)) {
+      return cachedConfiguration.configuration;
+    }
+
+    // The versions were determined before reading the resources. So a concurrent change invalidates the cache again.
+    CompiledStyleConfiguration compiledConfiguration = loadAndMerge(resources).compile();
+    CONFIGURATIONS.put(names, new CachedConfiguration(versions, compiledConfiguration));
+
+    return compiledConfiguration;
+  }
 
-    ObjectReader reader = mapper.readerFor(StyleConfiguration.class);
-    StyleConfiguration styleConfiguration = readConfig(reader, mainConfig);
-    for (StyleResource override : overrides) {
-      StyleConfiguration overrideConfig = readConfig(reader, override);
+  private static String getVersion(StyleResource resource) {
+    try {
+      return resource.getVersion();
+    } catch (IOException e) {
+      throw new RuntimeException("Unable to read style configuration " + resource, e);
+    }
+  }
+
+  private static BuiltInStyleResource getBuiltInStyle(StyleResource resource) {
+    return resource instanceof ClasspathStyleResource ? ((ClasspathStyleResource) resource).getBuiltInStyle() : null;
+  }
+
+  private static StyleConfiguration loadAndMerge(List<StyleResource> resources) {
+    StyleConfiguration styleConfiguration = readConfig(resources.get(0));
+    for (StyleResource override : resources.subList(1, resources.size())) {
+      StyleConfiguration overrideConfig = readConfig(override);
       styleConfiguration.merge(overrideConfig);
     }
 
@@ -69,9 +141,14 @@ public class StyleConfiguration {
     return mapper;
   }
 
-  private static StyleConfiguration readConfig(ObjectReader reader, StyleResource config) {
+  private static StyleConfiguration readConfig(StyleResource config) {
+    BuiltInStyleResource builtInStyle = getBuiltInStyle(config);
+    if (builtInStyle != null) {
+      return BuiltInStyles.create(builtInStyle);
+    }
+
     try (InputStream is = config.openStream()) {
-      return reader.readValue(is);
+      return ObjectMapperHolder.MAPPER.readerFor(StyleConfiguration.class).readValue(is);
     } catch (JsonProcessingException e) {
       String message = String.format("Unable to read style configuration %s.\nLocation: line %s, column %s\nDetails: %s",
           config, e.getLocation().getLineNr(), e.getLocation().getColumnNr(), e.getOriginalMessage());
@@ -82,45 +159,61 @@ public class StyleConfiguration {
     }
   }
 
-  public AttributeBuilder defaultNodeAttributes() {
-    return this.defaultNode.createAttributes();
+  StyleConfiguration defaultNode(AbstractNode defaultNode) {
+    this.defaultNode = defaultNode;
+    return this;
   }
 
-  public AttributeBuilder defaultEdgeAttributes() {
-    return this.defaultEdge.createAttributes();
+  Edge defaultEdge() {
+    return this.defaultEdge;
   }
 
-  public AttributeBuilder edgeAttributes(NodeResolution resolution, String targetScope) {
-    Edge edge = this.edgeResolutionStyles.get(resolution);
-
-    // Scope style win over INCLUDED node resolution
-    if (resolution == INCLUDED && this.edgeScopeStyles.containsKey(targetScope)) {
-      edge = this.edgeScopeStyles.get(targetScope);
-    }
-
-    return edge != null ? edge.createAttributes() : new AttributeBuilder();
+  StyleConfiguration edgeResolutionStyle(NodeResolution resolution, Edge edge) {
+    this.edgeResolutionStyles.put(resolution, edge);
+    return this;
   }
 
-  public AttributeBuilder nodeAttributes(String groupId, String artifactId, String version, String type, String scopes, String effectiveScope) {
-    StyleKey artifactKey = StyleKey.create(groupId, artifactId, effectiveScope, type, version);
-    AbstractNode node = this.defaultNode;
-
+  /**
+   * Compiles this configuration into an immutable form with pre-rendered attributes, which can be shared by several
+   * threads.
+   *
+   * @return The compiled configuration.
+   */
+  public CompiledStyleConfiguration compile() {
+    ImmutableMap.Builder<StyleKey, CompiledNodeStyle> nodeStyles = ImmutableMap.builder();
     for (Entry<StyleKey, AbstractNode> entry : this.nodeStyles.entrySet()) {
-      StyleKey styleKey = entry.getKey();
-      if (styleKey.matches(artifactKey)) {
-        node = entry.getValue();
-        break;
+      nodeStyles.put(entry.getKey(), entry.getValue().compile(true));
+    }
+
+    ImmutableList.Builder<ImmutableMap<String, AttributeBuilder>> edgeScopeStyles = ImmutableList.builder();
+    ImmutableList.Builder<AttributeBuilder> edgeResolutionStyles = ImmutableList.builder();
+    for (NodeResolution resolution : NodeResolution.values()) {
+      ImmutableMap.Builder<String, AttributeBuilder> scopeStyles = ImmutableMap.builder();
+      // Scope styles win over INCLUDED node resolution
+      if (resolution == INCLUDED) {
+        for (Entry<String, Edge> entry : this.edgeScopeStyles.entrySet()) {
+          scopeStyles.put(entry.getKey(), entry.getValue().createAttributes());
+        }
       }
+
+      Edge edge = this.edgeResolutionStyles.get(resolution);
+      edgeScopeStyles.add(scopeStyles.build());
+      edgeResolutionStyles.add(edge != null ? edge.createAttributes() : new AttributeBuilder());
     }
 
-    return node.createAttributes(groupId, artifactId, version, scopes, node != this.defaultNode);
+    return new CompiledStyleConfiguration(
+        this.defaultNode.createAttributes(),
+        this.defaultEdge.createAttributes(),
+        this.defaultNode.compile(false),
+        nodeStyles.build(),
+        edgeScopeStyles.build(),
+        edgeResolutionStyles.build());
   }
 
   public String toJson() {
-    ObjectMapper mapper = createObjectMapper();
     try {
       StringWriter w = new StringWriter();
-      mapper.writerWithDefaultPrettyPrinter().writeValue(w, this);
+      ObjectMapperHolder.MAPPER.writerWithDefaultPrettyPrinter().writeValue(w, this);
       return w.toString();
     } catch (IOException e) {
       throw new RuntimeException(e.getMessage(), e);
@@ -173,4 +266,23 @@ public class StyleConfiguration {
     }
   }
 
+  private static final class CachedConfiguration {
+
+    final List<String> versions;
+    final CompiledStyleConfiguration configuration;
+
+    CachedConfiguration(List<String> versions, CompiledStyleConfiguration configuration) {
+      this.versions = versions;
+      this.configuration = configuration;
+    }
+  }
+
+  /**
+   * Holder of the object mapper, which is initialized on first use only.
+   */
+  private static final class ObjectMapperHolder {
+
+    // Object mappers are thread-safe once they are configured
+    static final ObjectMapper MAPPER = createObjectMapper();
+  }
 }
@@ -15,7 +15,11 @@
  */
 package com.github.ferstl.depgraph.graph.style.resource;
 
-
+/**
+ * The style configurations shipped with this plugin. The JSON resources document the built-in styles. When the style
+ * resources created by this enum are loaded, {@code StyleConfiguration} uses a precompiled form of the styles instead
+ * of parsing the JSON resources.
+ */
 public enum BuiltInStyleResource {
 
   DEFAULT_STYLE("default-style.json"),
@@ -28,6 +32,6 @@ public enum BuiltInStyleResource {
   }
 
   public ClasspathStyleResource createStyleResource(ClassLoader classLoader) {
-    return new ClasspathStyleResource(this.styleConfig, classLoader);
+    return new ClasspathStyleResource(this.styleConfig, classLoader, this);
   }
 }
@@ -23,10 +23,26 @@ public class ClasspathStyleResource implements StyleResource {
 
   private final String name;
   private final ClassLoader classLoader;
+  private final BuiltInStyleResource builtInStyle;
 
   public ClasspathStyleResource(String name, ClassLoader classLoader) {
+    this(name, classLoader, null);
+  }
+
+  ClasspathStyleResource(String name, ClassLoader classLoader, BuiltInStyleResource builtInStyle) {
     this.name = name;
     this.classLoader = classLoader;
+    this.builtInStyle = builtInStyle;
+  }
+
+  /**
+   * Returns the built-in style this resource was created for.
+   *
+   * @return The built-in style or {@code null} if this resource was not created by
+   * {@link BuiltInStyleResource#createStyleResource(ClassLoader)}.
+   */
+  public BuiltInStyleResource getBuiltInStyle() {
+    return this.builtInStyle;
   }
 
   @Override
@@ -44,6 +60,14 @@ public class ClasspathStyleResource implements StyleResource {
     return inputStream;
   }
 
+  /**
+   * Returns an empty version since classpath resources do not change during the lifetime of their class loader.
+   */
+  @Override
+  public String getVersion() {
+    return "";
+  }
+
   @Override
   public String toString() {
     return "classpath:" + this.name;
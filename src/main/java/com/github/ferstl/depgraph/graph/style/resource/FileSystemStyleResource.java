@@ -20,6 +20,8 @@ import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.TimeUnit;
 
 
 public class FileSystemStyleResource implements StyleResource {
@@ -40,6 +42,15 @@ public class FileSystemStyleResource implements StyleResource {
     return Files.newInputStream(this.location, StandardOpenOption.READ);
   }
 
+  /**
+   * Returns the size and the modification time of the file as version.
+   */
+  @Override
+  public String getVersion() throws IOException {
+    BasicFileAttributes attributes = Files.readAttributes(this.location, BasicFileAttributes.class);
+    return attributes.size() + ":" + attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS);
+  }
+
   @Override
   public String toString() {
     return "file:" + this.location;
@@ -18,9 +18,21 @@ package com.github.ferstl.depgraph.graph.style.resource;
 import java.io.IOException;
 import java.io.InputStream;
 
+/**
+ * A style configuration in JSON format. Style resources are identified by their {@link #toString()} representation.
+ */
 public interface StyleResource {
 
   boolean exists();
 
   InputStream openStream() throws IOException;
+
+  /**
+   * Returns the version of the content of this resource. Loaded style configurations are cached as long as the
+   * versions of their resources do not change.
+   *
+   * @return The version of the content.
+   * @throws IOException In case the version cannot be determined.
+   */
+  String getVersion() throws IOException;
 }
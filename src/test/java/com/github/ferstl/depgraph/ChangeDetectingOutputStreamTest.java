@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.hamcrest.Matchers.arrayContaining;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * JUnit tests for {@link ChangeDetectingOutputStream}.
+ */
+public class ChangeDetectingOutputStreamTest {
+
+  private static final String CONTENT = "digraph \"G\" {\n  \"a\" -> \"b\"\n}";
+
+  @Rule
+  public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private Path file;
+
+  @Before
+  public void before() {
+    this.file = this.temporaryFolder.getRoot().toPath().resolve("graph.dot");
+  }
+
+  @Test
+  public void newFile() throws Exception {
+    assertTrue(write(CONTENT, true));
+    assertEquals(CONTENT, read());
+  }
+
+  @Test
+  public void unchanged() throws Exception {
+    Files.write(this.file, CONTENT.getBytes(StandardCharsets.UTF_8));
+    long lastModified = Files.getLastModifiedTime(this.file).toMillis() - 10000;
+    this.file.toFile().setLastModified(lastModified);
+
+    assertFalse(write(CONTENT, true));
+    assertEquals(CONTENT, read());
+    assertEquals(lastModified, this.file.toFile().lastModified());
+  }
+
+  @Test
+  public void changed() throws Exception {
+    Files.write(this.file, CONTENT.getBytes(StandardCharsets.UTF_8));
+    String newContent = CONTENT.replace("\"b\"", "\"c\"");
+
+    assertTrue(write(newContent, true));
+    assertEquals(newContent, read());
+    assertNoTempFiles();
+  }
+
+  @Test
+  public void shorter() throws Exception {
+    Files.write(this.file, CONTENT.getBytes(StandardCharsets.UTF_8));
+
+    assertTrue(write(CONTENT.substring(0, 10), true));
+    assertEquals(CONTENT.substring(0, 10), read());
+  }
+
+  @Test
+  public void longer() throws Exception {
+    Files.write(this.file, CONTENT.substring(0, 10).getBytes(StandardCharsets.UTF_8));
+
+    assertTrue(write(CONTENT, true));
+    assertEquals(CONTENT, read());
+  }
+
+  @Test
+  public void singleBytes() throws Exception {
+    Files.write(this.file, CONTENT.getBytes(StandardCharsets.UTF_8));
+    String newContent = CONTENT.replace("\"b\"", "\"c\"");
+
+    try (ChangeDetectingOutputStream os = new ChangeDetectingOutputStream(this.file)) {
+      for (byte b : newContent.getBytes(StandardCharsets.UTF_8)) {
+        os.write(b);
+      }
+      os.complete();
+    }
+
+    assertEquals(newContent, read());
+  }
+
+  @Test
+  public void incomplete() throws Exception {
+    Files.write(this.file, CONTENT.getBytes(StandardCharsets.UTF_8));
+
+    assertFalse(write("something different", false));
+    assertEquals(CONTENT, read());
+    assertNoTempFiles();
+  }
+
+  private boolean write(String content, boolean complete) throws IOException {
+    ChangeDetectingOutputStream os = new ChangeDetectingOutputStream(this.file);
+    try {
+      // Write in two chunks
+      byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+      os.write(bytes, 0, bytes.length / 2);
+      os.write(bytes, bytes.length / 2, bytes.length - bytes.length / 2);
+      if (complete) {
+        os.complete();
+      }
+    } finally {
+      os.close();
+    }
+
+    return os.isChanged();
+  }
+
+  private String read() throws IOException {
+    return new String(Files.readAllBytes(this.file), StandardCharsets.UTF_8);
+  }
+
+  private void assertNoTempFiles() {
+    assertThat(this.temporaryFolder.getRoot().list(), arrayContaining(this.file.getFileName().toString()));
+  }
+}
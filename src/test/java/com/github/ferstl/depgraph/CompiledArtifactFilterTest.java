@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.resolver.filter.AndArtifactFilter;
+import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
+import org.apache.maven.shared.artifact.filter.ScopeArtifactFilter;
+import org.apache.maven.shared.artifact.filter.StrictPatternExcludesArtifactFilter;
+import org.apache.maven.shared.artifact.filter.StrictPatternIncludesArtifactFilter;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * JUnit tests for {@link CompiledArtifactFilter}.
+ */
+public class CompiledArtifactFilterTest {
+
+  private static final List<String> PATTERNS = Arrays.asList(
+      "", "*", "com.example", "com.example:", "com.example:core", "com.example:core:jar", "com.example:core:jar:1.0.0",
+      "com.example:core:jar:1.0.0:compile", ":core", "*:core", "com.*", "*.example", "*exam*", "**", "com.example:*:war",
+      "com.example:core:*:[1.0,2.0)", "*:*:*:(,1.0]", "*:*:*:[invalid", "*:c*e", "org.other", "com.example:co*e");
+
+  private static final List<Artifact> ARTIFACTS = Arrays.<Artifact>asList(
+      createArtifact("com.example", "core", "jar", "1.0.0", "compile"),
+      createArtifact("com.example", "core", "jar", "2.0.0", "test"),
+      createArtifact("com.example", "core", "war", "1.5", "provided"),
+      createArtifact("com.example", "other", "jar", "0.9", "runtime"),
+      createArtifact("org.other", "core", "jar", "1.0", "system"),
+      createArtifact("org.other", "cache", "pom", "3.0-SNAPSHOT", "compile"));
+
+  @Test
+  public void sameSemanticsAsStrictPatternFilters() {
+    for (String scope : Arrays.asList(null, "compile", "runtime", "test", "provided", "system")) {
+      for (String include : PATTERNS) {
+        for (String exclude : PATTERNS) {
+          List<String> includes = Collections.singletonList(include);
+          List<String> excludes = Arrays.asList(exclude, "none:none");
+
+          ArtifactFilter expected = createExpectedFilter(scope, includes, excludes);
+          CompiledArtifactFilter filter = new CompiledArtifactFilter(scope, includes, excludes);
+          for (Artifact artifact : ARTIFACTS) {
+            String message = "scope=" + scope + ", include=" + include + ", exclude=" + exclude + ", artifact=" + artifact;
+            assertEquals(message, expected.include(artifact), filter.include(artifact));
+            // memoized
+            assertEquals(message, expected.include(artifact), filter.include(artifact));
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void emptyFilter() {
+    CompiledArtifactFilter filter = new CompiledArtifactFilter(null, Collections.<String>emptyList(), Collections.<String>emptyList());
+
+    for (Artifact artifact : ARTIFACTS) {
+      assertTrue(filter.include(artifact));
+    }
+  }
+
+  @Test
+  public void multipleIncludes() {
+    CompiledArtifactFilter filter = new CompiledArtifactFilter(null, Arrays.asList("org.other:cache", "*:other"), Collections.<String>emptyList());
+
+    assertFalse(filter.include(ARTIFACTS.get(0)));
+    assertTrue(filter.include(ARTIFACTS.get(3)));
+    assertTrue(filter.include(ARTIFACTS.get(5)));
+  }
+
+  private static ArtifactFilter createExpectedFilter(String scope, List<String> includes, List<String> excludes) {
+    AndArtifactFilter filter = new AndArtifactFilter();
+    if (scope != null) {
+      filter.add(new ScopeArtifactFilter(scope));
+    }
+    filter.add(new StrictPatternIncludesArtifactFilter(includes));
+    filter.add(new StrictPatternExcludesArtifactFilter(excludes));
+
+    return filter;
+  }
+
+  private static Artifact createArtifact(String groupId, String artifactId, String type, String version, String scope) {
+    return new DefaultArtifact(groupId, artifactId, version, scope, type, "", null);
+  }
+}
@@ -1,8 +1,12 @@
 package com.github.ferstl.depgraph;
 
 import java.io.File;
+import java.io.InputStream;
 import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Locale;
+import java.util.zip.GZIPInputStream;
 import org.codehaus.plexus.util.cli.CommandLineException;
 import org.codehaus.plexus.util.cli.CommandLineUtils;
 import org.codehaus.plexus.util.cli.CommandLineUtils.StringStreamConsumer;
@@ -62,6 +66,45 @@ public class GraphIntegrationTest {
     assertFileContents(basedir, "expectations/graph_module-3.dot", "sub-parent/module-3/target/dependency-graph.dot");
   }
 
+  @Test
+  public void graphWithOutputFormats() throws Exception {
+    File basedir = this.resources.getBasedir("depgraph-maven-plugin-test");
+    MavenExecutionResult result = this.mavenRuntime
+        .forProject(basedir)
+        .withCliOptions("-DoutputFormats=dot,edges,tree")
+        .execute("clean", "package", "depgraph:graph");
+
+    result.assertErrorFreeLog();
+    assertFilesPresent(
+        basedir,
+        "module-1/target/dependency-graph.dot",
+        "module-1/target/dependency-graph.edges",
+        "module-1/target/dependency-graph.txt");
+
+    assertFileContents(basedir, "expectations/graph_module-1.dot", "module-1/target/dependency-graph.dot");
+  }
+
+  @Test
+  public void graphCompressed() throws Exception {
+    File basedir = this.resources.getBasedir("depgraph-maven-plugin-test");
+    MavenExecutionResult result = this.mavenRuntime
+        .forProject(basedir)
+        .withCliOptions("-DoutputFile=target/dependency-graph.dot.gz", "-DoutputFormats=dot,json")
+        .execute("clean", "package", "depgraph:graph");
+
+    result.assertErrorFreeLog();
+    assertFilesPresent(
+        basedir,
+        "module-1/target/dependency-graph.dot.gz",
+        "module-1/target/dependency-graph.json.gz");
+
+    Path module1Target = basedir.toPath().resolve("module-1/target");
+    try (InputStream is = new GZIPInputStream(Files.newInputStream(module1Target.resolve("dependency-graph.dot.gz")))) {
+      Files.copy(is, module1Target.resolve("dependency-graph.dot"));
+    }
+    assertFileContents(basedir, "expectations/graph_module-1.dot", "module-1/target/dependency-graph.dot");
+  }
+
   @Test
   public void graphWithImageFile() throws Exception {
     // Skip if graviz is not installed
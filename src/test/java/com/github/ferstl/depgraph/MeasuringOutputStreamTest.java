@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import com.google.common.io.ByteStreams;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * JUnit tests for {@link MeasuringOutputStream}.
+ */
+public class MeasuringOutputStreamTest {
+
+  @Rule
+  public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void closeKeepsUnderlyingStreamOpen() throws Exception {
+    Path file = this.temporaryFolder.getRoot().toPath().resolve("graph.dot.gz");
+    byte[] content = "digraph \"G\" {}".getBytes(StandardCharsets.UTF_8);
+
+    try (ChangeDetectingOutputStream fileStream = new ChangeDetectingOutputStream(file)) {
+      MeasuringOutputStream measuringStream = new MeasuringOutputStream(fileStream);
+      try (OutputStream os = new GZIPOutputStream(measuringStream)) {
+        os.write(content);
+      }
+
+      // The file is only written when the file stream is closed
+      assertFalse(Files.exists(file));
+      fileStream.complete();
+    }
+
+    try (InputStream is = new GZIPInputStream(Files.newInputStream(file))) {
+      assertEquals(new String(content, StandardCharsets.UTF_8), new String(ByteStreams.toByteArray(is), StandardCharsets.UTF_8));
+    }
+  }
+}
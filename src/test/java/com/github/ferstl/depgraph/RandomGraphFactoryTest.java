@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph;
+
+import java.util.EnumSet;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
+import org.apache.maven.project.MavenProject;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Matchers;
+import com.github.ferstl.depgraph.dot.DotBuilder;
+import com.github.ferstl.depgraph.graph.GraphMetrics;
+import com.github.ferstl.depgraph.graph.GraphNode;
+import com.github.ferstl.depgraph.graph.NodeNameRenderers;
+import com.github.ferstl.depgraph.graph.NodeResolution;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * JUnit tests for {@link RandomGraphFactory}.
+ */
+public class RandomGraphFactoryTest {
+
+  private ArtifactFilter filter;
+  private GraphMetrics metrics;
+
+  @Before
+  public void before() {
+    this.filter = mock(ArtifactFilter.class);
+    when(this.filter.include(Matchers.<Artifact>any())).thenReturn(true);
+    this.metrics = new GraphMetrics();
+  }
+
+  @Test
+  public void connectedGraph() {
+    DotBuilder<GraphNode> dotBuilder = createDotBuilder();
+
+    createFactory(dotBuilder).nodeCount(500).edgeDensity(2).createGraph(new MavenProject());
+
+    assertEquals(500, dotBuilder.getNodeCount());
+    assertThat(dotBuilder.getEdgeCount(), greaterThanOrEqualTo(499));
+    assertTrue(this.metrics.getPhases().containsKey(GraphMetrics.GENERATION));
+  }
+
+  @Test
+  public void sameSeedSameGraph() {
+    DotBuilder<GraphNode> dotBuilder1 = createDotBuilder();
+    DotBuilder<GraphNode> dotBuilder2 = createDotBuilder();
+
+    createFactory(dotBuilder1).nodeCount(100).seed(7).createGraph(new MavenProject());
+    createFactory(dotBuilder2).nodeCount(100).seed(7).createGraph(new MavenProject());
+
+    assertEquals(dotBuilder1.toString(), dotBuilder2.toString());
+  }
+
+  @Test
+  public void scopeMix() {
+    DotBuilder<GraphNode> dotBuilder = createDotBuilder();
+
+    createFactory(dotBuilder).nodeCount(50).scopeMix("test:1, provided:0").createGraph(new MavenProject());
+
+    String graph = dotBuilder.toString();
+    assertThat(graph, containsString(":test\""));
+    assertThat(graph, not(containsString(":provided\"")));
+  }
+
+  @Test
+  public void omittedResolutions() {
+    DotBuilder<GraphNode> allEdges = createDotBuilder();
+    DotBuilder<GraphNode> includedEdges = createDotBuilder();
+
+    createFactory(allEdges).nodeCount(100).edgeDensity(3).conflictRatio(0.5).duplicateRatio(0.5).createGraph(new MavenProject());
+    createFactory(includedEdges).nodeCount(100).edgeDensity(3).conflictRatio(0.5).duplicateRatio(0.5)
+        .includedResolutions(EnumSet.of(NodeResolution.INCLUDED))
+        .createGraph(new MavenProject());
+
+    // Only the spanning tree remains
+    assertThat(allEdges.getEdgeCount(), greaterThan(99));
+    assertEquals(99, includedEdges.getEdgeCount());
+    assertEquals(100, includedEdges.getNodeCount());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidScopeMix() {
+    createFactory(createDotBuilder()).scopeMix("compile");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void zeroScopeWeights() {
+    createFactory(createDotBuilder()).scopeMix("compile:0");
+  }
+
+  private RandomGraphFactory createFactory(DotBuilder<GraphNode> dotBuilder) {
+    return new RandomGraphFactory(dotBuilder, this.filter, this.filter, this.metrics);
+  }
+
+  private static DotBuilder<GraphNode> createDotBuilder() {
+    return new DotBuilder<GraphNode>().useNodeNameRenderer(NodeNameRenderers.VERSIONLESS_ID_WITH_SCOPE);
+  }
+}
@@ -0,0 +1,326 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.zip.ZipOutputStream;
+import com.google.common.hash.Hashing;
+
+/**
+ * Generates a synthetic multi-module Maven reactor for performance tests. The modules are arranged in layers where
+ * each module depends on modules of the previous layer. Additionally, each module depends on third-party libraries
+ * which are written to a file-based repository within the generated project. So no network access is required to
+ * build the reactor. The libraries exist in two versions. Referencing the second version causes version conflicts
+ * within the dependency trees of the modules.
+ */
+final class SyntheticReactorGenerator {
+
+  static final String GROUP_ID = "com.github.ferstl.synthetic";
+  static final String ARTIFACT_ID = "synthetic-reactor";
+  static final String REPOSITORY_DIRECTORY = "repository";
+  private static final String VERSION = "1.0.0-SNAPSHOT";
+  private static final String LIBRARY_GROUP_ID = "com.github.ferstl.synthetic.library";
+  private static final String[] LIBRARY_VERSIONS = {"1.0", "2.0"};
+  // Libraries depend on their successor except for every third one. This creates short transitive chains.
+  private static final int LIBRARY_CHAIN_LENGTH = 3;
+
+  private int moduleCount = 50;
+  private int fanOut = 3;
+  private int depth = 5;
+  private int libraryCount = 20;
+  private int librariesPerModule = 2;
+  private double conflictRate = 0.1;
+  private int groupIdCount = 5;
+  private long seed = 42;
+
+  SyntheticReactorGenerator moduleCount(int moduleCount) {
+    this.moduleCount = moduleCount;
+    return this;
+  }
+
+  /**
+   * Number of modules of the previous layer each module depends on.
+   */
+  SyntheticReactorGenerator fanOut(int fanOut) {
+    this.fanOut = fanOut;
+    return this;
+  }
+
+  /**
+   * Number of module layers.
+   */
+  SyntheticReactorGenerator depth(int depth) {
+    this.depth = depth;
+    return this;
+  }
+
+  SyntheticReactorGenerator libraryCount(int libraryCount) {
+    this.libraryCount = libraryCount;
+    return this;
+  }
+
+  SyntheticReactorGenerator librariesPerModule(int librariesPerModule) {
+    this.librariesPerModule = librariesPerModule;
+    return this;
+  }
+
+  /**
+   * Probability that a library dependency references the second library version.
+   */
+  SyntheticReactorGenerator conflictRate(double conflictRate) {
+    this.conflictRate = conflictRate;
+    return this;
+  }
+
+  /**
+   * Number of different group IDs the modules are distributed over.
+   */
+  SyntheticReactorGenerator groupIdCount(int groupIdCount) {
+    this.groupIdCount = groupIdCount;
+    return this;
+  }
+
+  SyntheticReactorGenerator seed(long seed) {
+    this.seed = seed;
+    return this;
+  }
+
+  /**
+   * Returns an identifier of all generator parameters, e.g. for naming the directory of a generated reactor. Reactors
+   * with the same identifier are identical.
+   *
+   * @return The identifier.
+   */
+  String getId() {
+    return "modules-" + this.moduleCount
+        + "-fanout-" + this.fanOut
+        + "-depth-" + this.depth
+        + "-libraries-" + this.libraryCount + "x" + this.librariesPerModule
+        + "-conflicts-" + this.conflictRate
+        + "-groups-" + this.groupIdCount
+        + "-seed-" + this.seed;
+  }
+
+  /**
+   * Writes the reactor into the given directory.
+   *
+   * @param basedir Base directory of the reactor.
+   * @throws IOException In case of an I/O error.
+   */
+  void generate(Path basedir) throws IOException {
+    if (this.moduleCount < 1 || this.depth < 1 || this.depth > this.moduleCount) {
+      throw new IllegalArgumentException("Invalid module count " + this.moduleCount + " or depth " + this.depth);
+    }
+
+    Random random = new Random(this.seed);
+    Path repository = basedir.resolve(REPOSITORY_DIRECTORY);
+
+    writeLibraries(repository);
+
+    List<List<Integer>> layers = createLayers();
+    for (int layer = 0; layer < layers.size(); layer++) {
+      for (int module : layers.get(layer)) {
+        List<Integer> moduleDependencies = layer > 0 ? pick(layers.get(layer - 1), this.fanOut, random) : new ArrayList<Integer>();
+        writeFile(basedir.resolve(getModuleName(module)).resolve("pom.xml"), createModulePom(module, moduleDependencies, random));
+      }
+    }
+
+    // The parent POM is written last, so its presence indicates a completely generated reactor
+    writeFile(basedir.resolve("pom.xml"), createParentPom(repository));
+  }
+
+  private List<List<Integer>> createLayers() {
+    List<List<Integer>> layers = new ArrayList<>(this.depth);
+    for (int i = 0; i < this.depth; i++) {
+      layers.add(new ArrayList<Integer>());
+    }
+
+    for (int module = 0; module < this.moduleCount; module++) {
+      layers.get((int) ((long) module * this.depth / this.moduleCount)).add(module);
+    }
+
+    return layers;
+  }
+
+  private void writeLibraries(Path repository) throws IOException {
+    byte[] emptyJar = createEmptyJar();
+
+    for (int library = 0; library < this.libraryCount; library++) {
+      for (String version : LIBRARY_VERSIONS) {
+        String artifactId = getLibraryName(library);
+        Path directory = repository.resolve(LIBRARY_GROUP_ID.replace('.', '/')).resolve(artifactId).resolve(version);
+        String fileName = artifactId + "-" + version;
+
+        StringBuilder pom = new StringBuilder();
+        appendProjectStart(pom);
+        appendCoordinates(pom, "  ", LIBRARY_GROUP_ID, artifactId, version);
+        if (library % LIBRARY_CHAIN_LENGTH != LIBRARY_CHAIN_LENGTH - 1 && library + 1 < this.libraryCount) {
+          pom.append("  <dependencies>\n");
+          appendDependency(pom, LIBRARY_GROUP_ID, getLibraryName(library + 1), version, null);
+          pom.append("  </dependencies>\n");
+        }
+        pom.append("</project>\n");
+
+        writeArtifact(directory.resolve(fileName + ".pom"), pom.toString().getBytes(StandardCharsets.UTF_8));
+        writeArtifact(directory.resolve(fileName + ".jar"), emptyJar);
+      }
+    }
+  }
+
+  private String createParentPom(Path repository) {
+    StringBuilder pom = new StringBuilder();
+    appendProjectStart(pom);
+    appendCoordinates(pom, "  ", GROUP_ID, ARTIFACT_ID, VERSION);
+    pom.append("  <packaging>pom</packaging>\n\n");
+
+    pom.append("  <modules>\n");
+    for (int module = 0; module < this.moduleCount; module++) {
+      pom.append("    <module>").append(getModuleName(module)).append("</module>\n");
+    }
+    pom.append("  </modules>\n\n");
+
+    pom.append("  <repositories>\n")
+        .append("    <repository>\n")
+        .append("      <id>synthetic</id>\n")
+        .append("      <url>").append(repository.toAbsolutePath().toUri()).append("</url>\n")
+        .append("    </repository>\n")
+        .append("  </repositories>\n\n");
+
+    pom.append("  <build>\n")
+        .append("    <pluginManagement>\n")
+        .append("      <plugins>\n")
+        .append("        <plugin>\n")
+        .append("          <groupId>com.github.ferstl</groupId>\n")
+        .append("          <artifactId>depgraph-maven-plugin</artifactId>\n")
+        .append("          <version>${it-plugin.version}</version>\n")
+        .append("        </plugin>\n")
+        .append("      </plugins>\n")
+        .append("    </pluginManagement>\n")
+        .append("  </build>\n")
+        .append("</project>\n");
+
+    return pom.toString();
+  }
+
+  private String createModulePom(int module, List<Integer> moduleDependencies, Random random) {
+    StringBuilder pom = new StringBuilder();
+    appendProjectStart(pom);
+    pom.append("  <parent>\n");
+    appendCoordinates(pom, "    ", GROUP_ID, ARTIFACT_ID, VERSION);
+    pom.append("  </parent>\n\n");
+    appendCoordinates(pom, "  ", getModuleGroupId(module), getModuleName(module), null);
+    // pom packaging allows resolving the modules within the reactor without building them
+    pom.append("  <packaging>pom</packaging>\n\n");
+
+    pom.append("  <dependencies>\n");
+    for (int dependency : moduleDependencies) {
+      appendDependency(pom, getModuleGroupId(dependency), getModuleName(dependency), VERSION, "pom");
+    }
+
+    for (int library : pick(this.libraryCount, this.librariesPerModule, random)) {
+      String version = random.nextDouble() < this.conflictRate ? LIBRARY_VERSIONS[1] : LIBRARY_VERSIONS[0];
+      appendDependency(pom, LIBRARY_GROUP_ID, getLibraryName(library), version, null);
+    }
+    pom.append("  </dependencies>\n")
+        .append("</project>\n");
+
+    return pom.toString();
+  }
+
+  private String getModuleGroupId(int module) {
+    return GROUP_ID + ".group" + (module % this.groupIdCount);
+  }
+
+  static String getModuleName(int module) {
+    return "module-" + module;
+  }
+
+  private static String getLibraryName(int library) {
+    return "library-" + library;
+  }
+
+  private static List<Integer> pick(List<Integer> candidates, int count, Random random) {
+    Set<Integer> picked = new LinkedHashSet<>();
+    for (int index : pick(candidates.size(), count, random)) {
+      picked.add(candidates.get(index));
+    }
+
+    return new ArrayList<>(picked);
+  }
+
+  private static List<Integer> pick(int candidateCount, int count, Random random) {
+    Set<Integer> picked = new LinkedHashSet<>();
+    while (picked.size() < Math.min(count, candidateCount)) {
+      picked.add(random.nextInt(candidateCount));
+    }
+
+    return new ArrayList<>(picked);
+  }
+
+  private static void appendProjectStart(StringBuilder pom) {
+    pom.append("<project xmlns=\"http://maven.apache.org/POM/4.0.0\" xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"\n")
+        .append("  xsi:schemaLocation=\"http://maven.apache.org/POM/4.0.0 http://maven.apache.org/xsd/maven-4.0.0.xsd\">\n")
+        .append("  <modelVersion>4.0.0</modelVersion>\n\n");
+  }
+
+  private static void appendCoordinates(StringBuilder pom, String indent, String groupId, String artifactId, String version) {
+    pom.append(indent).append("<groupId>").append(groupId).append("</groupId>\n")
+        .append(indent).append("<artifactId>").append(artifactId).append("</artifactId>\n");
+    if (version != null) {
+      pom.append(indent).append("<version>").append(version).append("</version>\n");
+    }
+  }
+
+  private static void appendDependency(StringBuilder pom, String groupId, String artifactId, String version, String type) {
+    pom.append("    <dependency>\n");
+    appendCoordinates(pom, "      ", groupId, artifactId, version);
+    if (type != null) {
+      pom.append("      <type>").append(type).append("</type>\n");
+    }
+    pom.append("    </dependency>\n");
+  }
+
+  private static byte[] createEmptyJar() throws IOException {
+    ByteArrayOutputStream jar = new ByteArrayOutputStream();
+    try (ZipOutputStream zip = new ZipOutputStream(jar)) {
+      zip.setComment("synthetic library");
+    }
+
+    return jar.toByteArray();
+  }
+
+  private static void writeArtifact(Path file, byte[] content) throws IOException {
+    Files.createDirectories(file.getParent());
+    Files.write(file, content);
+    // Avoid checksum warnings when resolving the artifact
+    String sha1 = Hashing.sha1().hashBytes(content).toString();
+    Files.write(file.resolveSibling(file.getFileName() + ".sha1"), sha1.getBytes(StandardCharsets.US_ASCII));
+  }
+
+  private static void writeFile(Path file, String content) throws IOException {
+    Files.createDirectories(file.getParent());
+    Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * JUnit tests for {@link SyntheticReactorGenerator}.
+ */
+public class SyntheticReactorGeneratorTest {
+
+  @Rule
+  public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void generate() throws Exception {
+    Path basedir = this.temporaryFolder.getRoot().toPath();
+
+    new SyntheticReactorGenerator()
+        .moduleCount(6)
+        .depth(3)
+        .fanOut(2)
+        .libraryCount(3)
+        .librariesPerModule(1)
+        .conflictRate(1.0)
+        .groupIdCount(2)
+        .generate(basedir);
+
+    String parentPom = read(basedir.resolve("pom.xml"));
+    assertThat(parentPom, containsString("<module>module-5</module>"));
+    assertThat(parentPom, containsString(basedir.resolve(SyntheticReactorGenerator.REPOSITORY_DIRECTORY).toUri().toString()));
+
+    // First layer without module dependencies
+    String firstModule = read(basedir.resolve("module-0/pom.xml"));
+    assertThat(firstModule, not(containsString("<type>pom</type>")));
+    assertThat(firstModule, containsString("<version>2.0</version>"));
+
+    // Second layer depends on both modules of the first layer
+    String thirdModule = read(basedir.resolve("module-2/pom.xml"));
+    assertThat(thirdModule, containsString("<groupId>com.github.ferstl.synthetic.group0</groupId>"));
+    assertThat(thirdModule, containsString("<artifactId>module-0</artifactId>"));
+    assertThat(thirdModule, containsString("<artifactId>module-1</artifactId>"));
+
+    Path library = basedir.resolve("repository/com/github/ferstl/synthetic/library/library-0/1.0");
+    assertTrue(Files.isRegularFile(library.resolve("library-0-1.0.pom")));
+    assertTrue(Files.isRegularFile(library.resolve("library-0-1.0.jar")));
+    assertTrue(Files.isRegularFile(library.resolve("library-0-1.0.jar.sha1")));
+  }
+
+  @Test
+  public void sameSeedSameReactor() throws Exception {
+    Path reactor1 = this.temporaryFolder.newFolder().toPath();
+    Path reactor2 = this.temporaryFolder.newFolder().toPath();
+
+    new SyntheticReactorGenerator().moduleCount(20).seed(1).generate(reactor1);
+    new SyntheticReactorGenerator().moduleCount(20).seed(1).generate(reactor2);
+
+    for (int i = 0; i < 20; i++) {
+      String module = SyntheticReactorGenerator.getModuleName(i) + "/pom.xml";
+      assertEquals(read(reactor1.resolve(module)), read(reactor2.resolve(module)));
+    }
+  }
+
+  @Test
+  public void idContainsParameters() {
+    String id = new SyntheticReactorGenerator().moduleCount(20).seed(1).getId();
+
+    assertEquals(id, new SyntheticReactorGenerator().moduleCount(20).seed(1).getId());
+    assertNotEquals(id, new SyntheticReactorGenerator().moduleCount(20).seed(2).getId());
+    assertNotEquals(id, new SyntheticReactorGenerator().moduleCount(20).seed(1).depth(2).getId());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void depthExceedsModuleCount() throws Exception {
+    new SyntheticReactorGenerator().moduleCount(2).depth(3).generate(this.temporaryFolder.getRoot().toPath());
+  }
+
+  private static String read(Path file) throws Exception {
+    return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import com.google.common.base.Splitter;
+import io.takari.maven.testing.executor.MavenExecutionResult;
+import io.takari.maven.testing.executor.MavenRuntime;
+import io.takari.maven.testing.executor.MavenRuntime.MavenRuntimeBuilder;
+import io.takari.maven.testing.executor.MavenVersions;
+import io.takari.maven.testing.executor.junit.MavenJUnitTestRunner;
+import static io.takari.maven.testing.TestResources.assertFilesPresent;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Timed integration tests on synthetic reactors of different sizes. These tests take several minutes and are only
+ * executed when the system property {@code depgraph.performanceTests} is set to {@code true}. The module counts can be
+ * configured with {@code depgraph.performanceTests.moduleCounts} (default {@code 50,500,2000}). The time limits are
+ * defined in {@code synthetic-reactor-thresholds.properties} and can be overridden with system properties of the form
+ * {@code depgraph.threshold.<goal>.<moduleCount>=<milliseconds>}. The measured times are written to
+ * {@code target/synthetic-reactors/results.properties}. Each reactor is generated into a directory named after the
+ * generator parameters, so changed parameters never reuse a stale reactor.
+ */
+@RunWith(MavenJUnitTestRunner.class)
+@MavenVersions("3.3.9")
+public class SyntheticReactorIntegrationTest {
+
+  private static final String ENABLED_PROPERTY = "depgraph.performanceTests";
+  private static final String MODULE_COUNTS_PROPERTY = "depgraph.performanceTests.moduleCounts";
+  private static final String THRESHOLD_PROPERTY_PREFIX = "depgraph.threshold.";
+  private static final String THRESHOLDS_RESOURCE = "synthetic-reactor-thresholds.properties";
+  private static final Path REACTOR_DIRECTORY = Paths.get("target", "synthetic-reactors");
+  private static final Path RESULTS_FILE = REACTOR_DIRECTORY.resolve("results.properties");
+
+  private final MavenRuntime mavenRuntime;
+  private Properties thresholds;
+
+  public SyntheticReactorIntegrationTest(MavenRuntimeBuilder builder) throws Exception {
+    this.mavenRuntime = builder.build();
+  }
+
+  @Before
+  public void before() throws IOException {
+    assumeTrue(Boolean.getBoolean(ENABLED_PROPERTY));
+
+    // Workaround for https://github.com/takari/takari-plugin-testing-project/issues/14
+    FileSystems.getDefault();
+
+    this.thresholds = new Properties();
+    try (InputStream is = getClass().getClassLoader().getResourceAsStream(THRESHOLDS_RESOURCE)) {
+      this.thresholds.load(is);
+    }
+  }
+
+  @Test
+  public void graph() throws Exception {
+    for (int moduleCount : getModuleCounts()) {
+      File basedir = getReactor(moduleCount);
+      runTimed("graph", moduleCount, basedir, "-DshowDuplicates", "-DshowConflicts");
+
+      assertFilesPresent(basedir, SyntheticReactorGenerator.getModuleName(moduleCount - 1) + "/target/dependency-graph.dot");
+    }
+  }
+
+  @Test
+  public void aggregate() throws Exception {
+    for (int moduleCount : getModuleCounts()) {
+      File basedir = getReactor(moduleCount);
+      runTimed("aggregate", moduleCount, basedir);
+
+      assertFilesPresent(basedir, "target/dependency-graph.dot");
+    }
+  }
+
+  @Test
+  public void aggregateByGroupId() throws Exception {
+    for (int moduleCount : getModuleCounts()) {
+      File basedir = getReactor(moduleCount);
+      runTimed("aggregate-by-groupid", moduleCount, basedir);
+
+      assertFilesPresent(basedir, "target/dependency-graph.dot");
+    }
+  }
+
+  private void runTimed(String goal, int moduleCount, File basedir, String... options) throws Exception {
+    long start = System.nanoTime();
+    MavenExecutionResult result = this.mavenRuntime
+        .forProject(basedir)
+        .withCliOptions(options)
+        .execute("depgraph:" + goal);
+    long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+    result.assertErrorFreeLog();
+
+    recordResult(goal, moduleCount, millis);
+
+    long threshold = getThreshold(goal, moduleCount);
+    assertTrue("depgraph:" + goal + " on " + moduleCount + " modules took " + millis + " ms, threshold is " + threshold + " ms",
+        millis <= threshold);
+  }
+
+  private long getThreshold(String goal, int moduleCount) {
+    String key = goal + "." + moduleCount;
+    String threshold = System.getProperty(THRESHOLD_PROPERTY_PREFIX + key, this.thresholds.getProperty(key));
+    if (threshold == null) {
+      throw new IllegalStateException("No threshold defined for " + key);
+    }
+
+    return Long.parseLong(threshold);
+  }
+
+  private static void recordResult(String goal, int moduleCount, long millis) throws IOException {
+    Properties results = new Properties();
+    if (Files.exists(RESULTS_FILE)) {
+      try (InputStream is = Files.newInputStream(RESULTS_FILE)) {
+        results.load(is);
+      }
+    }
+
+    results.setProperty(goal + "." + moduleCount, Long.toString(millis));
+    Files.createDirectories(REACTOR_DIRECTORY);
+    try (OutputStream os = Files.newOutputStream(RESULTS_FILE)) {
+      results.store(os, "Execution times of the depgraph goals in milliseconds");
+    }
+  }
+
+  private static File getReactor(int moduleCount) throws IOException {
+    SyntheticReactorGenerator generator = new SyntheticReactorGenerator()
+        .moduleCount(moduleCount)
+        .depth(Math.min(10, moduleCount))
+        .libraryCount(Math.max(20, moduleCount / 10))
+        .groupIdCount(Math.max(5, moduleCount / 50));
+
+    Path basedir = REACTOR_DIRECTORY.resolve(generator.getId()).toAbsolutePath();
+    if (!Files.exists(basedir.resolve("pom.xml"))) {
+      generator.generate(basedir);
+    }
+
+    return basedir.toFile();
+  }
+
+  private static List<Integer> getModuleCounts() {
+    List<Integer> moduleCounts = new ArrayList<>();
+    for (String moduleCount : Splitter.on(',').trimResults().omitEmptyStrings().split(System.getProperty(MODULE_COUNTS_PROPERTY, "50,500,2000"))) {
+      moduleCounts.add(Integer.parseInt(moduleCount));
+    }
+
+    return moduleCounts;
+  }
+}
@@ -40,6 +40,18 @@ public class AttributeBuilderTest {
     assertEquals("[label=<<b>text1\ntext2</b><font point-size=\"10\">text3</font>>]", label);
   }
 
+  @Test
+  public void copy() {
+    AttributeBuilder original = new AttributeBuilder().style("dashed");
+    assertEquals("[style=\"dashed\"]", original.toString());
+
+    AttributeBuilder copy = original.copy().color("blue");
+
+    assertEquals("[style=\"dashed\",color=\"blue\"]", copy.toString());
+    assertEquals("[style=\"dashed\"]", original.toString());
+    assertEquals("[style=\"dashed\"]", original.copy().toString());
+  }
+
   @Test
   public void fontName() {
     assertEquals("[fontname=\"Helvetica\"]", new AttributeBuilder().fontName("Helvetica").toString());
@@ -15,17 +15,28 @@
  */
 package com.github.ferstl.depgraph.dot;
 
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.DefaultArtifact;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import com.github.ferstl.depgraph.graph.GraphNode;
 import static com.github.ferstl.depgraph.dot.DotBuilderMatcher.emptyGraph;
 import static com.github.ferstl.depgraph.dot.DotBuilderMatcher.hasNodes;
 import static com.github.ferstl.depgraph.dot.DotBuilderMatcher.hasNodesAndEdges;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.endsWith;
 import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 
 /**
@@ -38,6 +49,9 @@ public class DotBuilderTest {
   private static final String DEFAULT_SINGLE_NODE = "\"group:start:jar:1.0.0:compile\"[label=\"group:start:jar:1.0.0:compile\"]";
   private static final String DEFAULT_EDGE = "\"group:from:jar:1.0.0:compile\" -> \"group:to:jar:1.0.0:compile\"";
 
+  @Rule
+  public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
   private DotBuilder<GraphNode> dotBuilder;
   private GraphNode fromNode;
   private GraphNode toNode;
@@ -95,6 +109,114 @@ public class DotBuilderTest {
 
   }
 
+  @Test
+  public void counts() {
+    this.dotBuilder.addEdge(this.fromNode, this.toNode);
+    this.dotBuilder.addEdge(this.fromNode, this.toNode);
+    this.dotBuilder.addEdge(this.toNode, this.fromNode);
+
+    assertEquals(2, this.dotBuilder.getNodeCount());
+    assertEquals(2, this.dotBuilder.getEdgeCount());
+    assertEquals(1, this.dotBuilder.getDuplicateEdgeCount());
+  }
+
+  @Test
+  public void graphWriters() throws Exception {
+    StringWriter edges = new StringWriter();
+    StringWriter dot = new StringWriter();
+    this.dotBuilder
+        .addGraphWriter(new EdgeListGraphWriter<GraphNode>(edges))
+        .addGraphWriter(new DotGraphWriter<>(this.dotBuilder, dot));
+
+    this.dotBuilder.addEdge(this.fromNode, this.toNode);
+    this.dotBuilder.addEdge(this.fromNode, this.toNode);
+    // Edges are written while they are added
+    assertEquals("group:from:jar:1.0.0:compile\tgroup:to:jar:1.0.0:compile\n", edges.toString());
+    assertEquals("", dot.toString());
+
+    this.dotBuilder.completeGraph();
+    assertEquals(this.dotBuilder.toString(), dot.toString());
+  }
+
+  @Test
+  public void sharedNodeNames() throws Exception {
+    final List<String> names = new ArrayList<>();
+    this.dotBuilder
+        .useNodeNameRenderer(new NodeNameRenderer<GraphNode>() {
+
+          @Override
+          public String createNodeName(GraphNode node) {
+            return new String(node.getArtifact().getArtifactId());
+          }
+        })
+        .addGraphWriter(new GraphWriter<GraphNode>() {
+
+          @Override
+          public void edge(int fromId, String from, GraphNode fromNode, int toId, String to, GraphNode toNode) {
+            names.add(from);
+            names.add(to);
+          }
+
+          @Override
+          public void node(int id, String name, GraphNode node) {
+            // NOP
+          }
+
+          @Override
+          public void complete() {
+            // NOP
+          }
+
+          @Override
+          public void close() {
+            // NOP
+          }
+        });
+
+    this.dotBuilder.addEdge(this.fromNode, this.toNode);
+    this.dotBuilder.addEdge(this.toNode, createNode("from"));
+
+    assertEquals(asList("from", "to", "to", "from"), names);
+    assertSame(names.get(0), names.get(3));
+    assertSame(names.get(1), names.get(2));
+  }
+
+  @Test
+  public void nodeIds() throws Exception {
+    final List<String> edges = new ArrayList<>();
+    final List<String> nodes = new ArrayList<>();
+    this.dotBuilder.addGraphWriter(new GraphWriter<GraphNode>() {
+
+      @Override
+      public void edge(int fromId, String from, GraphNode fromNode, int toId, String to, GraphNode toNode) {
+        edges.add(fromId + "->" + toId);
+      }
+
+      @Override
+      public void node(int id, String name, GraphNode node) {
+        nodes.add(id + "=" + node.getArtifact().getArtifactId());
+      }
+
+      @Override
+      public void complete() {
+        // NOP
+      }
+
+      @Override
+      public void close() {
+        // NOP
+      }
+    });
+
+    this.dotBuilder.addEdge(this.fromNode, this.toNode);
+    this.dotBuilder.addEdge(this.toNode, createNode("other"));
+    this.dotBuilder.addEdge(createNode("other"), this.fromNode);
+    this.dotBuilder.completeGraph();
+
+    assertEquals(asList("0->1", "1->2", "2->0"), edges);
+    assertEquals(asList("0=from", "1=to", "2=other"), nodes);
+  }
+
   @Test
   public void nullNodes() {
     GraphNode node = createNode("node");
@@ -159,6 +281,52 @@ public class DotBuilderTest {
         new String[]{DEFAULT_EDGE + "[label=\"1.0.0\"]"}));
   }
 
+  @Test
+  public void keyedEdgeAttributeRenderer() {
+    final AtomicInteger renderCount = new AtomicInteger();
+    this.dotBuilder.useEdgeAttributeRenderer(new KeyedEdgeAttributeRenderer<GraphNode>() {
+
+      @Override
+      public AttributeBuilder createEdgeAttributes(GraphNode from, GraphNode to) {
+        renderCount.incrementAndGet();
+        return new AttributeBuilder().label(to.getArtifact().getVersion());
+      }
+
+      @Override
+      public Object createEdgeAttributesKey(GraphNode from, GraphNode to) {
+        return to.getArtifact().getVersion();
+      }
+    });
+
+    GraphNode middleNode = createNode("middle");
+    this.dotBuilder
+        .addEdge(this.fromNode, middleNode)
+        .addEdge(middleNode, this.toNode)
+        .addEdge(this.fromNode, this.toNode)
+        .addEdge(this.fromNode, this.toNode);
+
+    assertEquals(1, renderCount.get());
+    assertEquals(3, this.dotBuilder.getEdgeCount());
+    assertThat(this.dotBuilder.toString(), containsString(DEFAULT_EDGE + "[label=\"1.0.0\"]"));
+  }
+
+  @Test
+  public void edgeListWithParallelEdges() throws Exception {
+    StringWriter edgeList = new StringWriter();
+    GraphNode otherVersion = new GraphNode(new DefaultArtifact("group", "to", "2.0.0", "compile", "jar", "", null));
+    this.dotBuilder
+        .useNodeNameRenderer(TestRenderer.INSTANCE)
+        .useEdgeAttributeRenderer(TestRenderer.INSTANCE)
+        .addGraphWriter(new EdgeListGraphWriter<GraphNode>(edgeList))
+        .addEdge(this.fromNode, this.toNode)
+        .addEdge(this.fromNode, otherVersion);
+    this.dotBuilder.completeGraph();
+
+    // Parallel edges with different attributes are written once in a format without edge attributes
+    assertEquals(2, this.dotBuilder.getEdgeCount());
+    assertEquals("from\tto\n", edgeList.toString());
+  }
+
   @Test
   public void addEdgeWithCustomRenderer() {
     this.dotBuilder.addEdge(this.fromNode, this.toNode, TestRenderer.INSTANCE);
@@ -182,6 +350,111 @@ public class DotBuilderTest {
         new String[]{DEFAULT_EDGE}));
   }
 
+  @Test
+  public void reduceTransitiveEdges() {
+    GraphNode middleNode = createNode("middle");
+    this.dotBuilder
+        .reduceTransitiveEdges(false)
+        .addEdge(this.fromNode, middleNode)
+        .addEdge(middleNode, this.toNode)
+        .addEdge(this.fromNode, this.toNode);
+
+    assertThat(this.dotBuilder, hasNodesAndEdges(
+        new String[]{DEFAULT_FROM_NODE, DEFAULT_TO_NODE, "\"group:middle:jar:1.0.0:compile\"[label=\"group:middle:jar:1.0.0:compile\"]"},
+        new String[]{
+            "\"group:from:jar:1.0.0:compile\" -> \"group:middle:jar:1.0.0:compile\"",
+            "\"group:middle:jar:1.0.0:compile\" -> \"group:to:jar:1.0.0:compile\""}));
+  }
+
+  @Test
+  public void showTransitiveEdges() {
+    GraphNode middleNode = createNode("middle");
+    this.dotBuilder
+        .reduceTransitiveEdges(true)
+        .addEdge(this.fromNode, middleNode)
+        .addEdge(middleNode, this.toNode)
+        .addEdge(this.fromNode, this.toNode);
+
+    assertThat(this.dotBuilder.toString(), containsString(DEFAULT_EDGE + "[color=\"grey85\",constraint=\"false\"]"));
+  }
+
+  @Test
+  public void spillEdges() throws Exception {
+    GraphNode middleNode = createNode("middle");
+    this.dotBuilder
+        .spillEdges(this.temporaryFolder.getRoot().toPath(), 1)
+        .addEdge(this.fromNode, middleNode)
+        .addEdge(middleNode, this.toNode)
+        .addEdge(this.fromNode, middleNode)
+        .addEdge(this.fromNode, this.toNode);
+
+    assertThat(this.dotBuilder, hasNodesAndEdges(
+        new String[]{DEFAULT_FROM_NODE, DEFAULT_TO_NODE, "\"group:middle:jar:1.0.0:compile\"[label=\"group:middle:jar:1.0.0:compile\"]"},
+        new String[]{
+            DEFAULT_EDGE,
+            "\"group:from:jar:1.0.0:compile\" -> \"group:middle:jar:1.0.0:compile\"",
+            "\"group:middle:jar:1.0.0:compile\" -> \"group:to:jar:1.0.0:compile\""}));
+
+    this.dotBuilder.close();
+    assertEquals(0, this.temporaryFolder.getRoot().list().length);
+  }
+
+  @Test
+  public void spillEdgesWithGraphWriter() throws Exception {
+    StringWriter edges = new StringWriter();
+    GraphNode middleNode = createNode("middle");
+    this.dotBuilder
+        .spillEdges(this.temporaryFolder.getRoot().toPath(), 1)
+        .addGraphWriter(new EdgeListGraphWriter<GraphNode>(edges))
+        .addEdge(this.fromNode, middleNode)
+        .addEdge(middleNode, this.toNode)
+        .addEdge(this.fromNode, middleNode);
+
+    assertEquals("group:from:jar:1.0.0:compile\tgroup:middle:jar:1.0.0:compile\n"
+        + "group:middle:jar:1.0.0:compile\tgroup:to:jar:1.0.0:compile\n", edges.toString());
+    assertEquals(2, this.dotBuilder.getEdgeCount());
+    assertEquals(1, this.dotBuilder.getDuplicateEdgeCount());
+
+    this.dotBuilder.close();
+  }
+
+  @Test
+  public void findCycles() {
+    GraphNode middleNode = createNode("middle");
+    this.dotBuilder
+        .addEdge(this.fromNode, middleNode)
+        .addEdge(middleNode, this.toNode)
+        .addEdge(this.toNode, middleNode);
+
+    assertEquals(
+        singletonList(asList("group:middle:jar:1.0.0:compile", "group:to:jar:1.0.0:compile")),
+        this.dotBuilder.findCycles());
+  }
+
+  @Test
+  public void findCyclesWithoutCycles() {
+    this.dotBuilder.addEdge(this.fromNode, this.toNode);
+
+    assertEquals(emptyList(), this.dotBuilder.findCycles());
+  }
+
+  @Test
+  public void collapseCycles() {
+    GraphNode middleNode = createNode("middle");
+    this.dotBuilder
+        .collapseCycles()
+        .addEdge(this.fromNode, middleNode)
+        .addEdge(middleNode, this.toNode)
+        .addEdge(this.toNode, middleNode)
+        .addEdge(this.fromNode, this.toNode);
+
+    assertThat(this.dotBuilder, hasNodesAndEdges(
+        new String[]{
+            DEFAULT_FROM_NODE,
+            "\"cycle-1\"[shape=\"box\",style=\"dashed\",label=\"group:middle:jar:1.0.0:compile\\ngroup:to:jar:1.0.0:compile\"]"},
+        new String[]{"\"group:from:jar:1.0.0:compile\" -> \"cycle-1\""}));
+  }
+
 
   private GraphNode createNode(String name) {
     Artifact artifact = new DefaultArtifact("group", name, "1.0.0", "compile", "jar", "", null);
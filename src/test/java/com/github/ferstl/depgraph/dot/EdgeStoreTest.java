@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.dot;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import com.github.ferstl.depgraph.dot.EdgeStore.EdgeCursor;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * JUnit tests for {@link EdgeStore}.
+ */
+public class EdgeStoreTest {
+
+  @Rule
+  public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void inMemory() throws Exception {
+    EdgeStore store = new EdgeStore();
+    store.add(3);
+    store.add(1);
+    store.add(3);
+    store.add(2);
+
+    assertEquals(Arrays.asList(3L, 1L, 2L), readAll(store));
+  }
+
+  @Test
+  public void belowSpillThreshold() throws Exception {
+    File spillDirectory = this.temporaryFolder.newFolder();
+    EdgeStore store = new EdgeStore(spillDirectory.toPath(), 3);
+    store.add(3);
+    store.add(1);
+    store.add(3);
+
+    assertEquals(0, spillDirectory.list().length);
+    // Insertion order as long as nothing was spilled
+    assertEquals(Arrays.asList(3L, 1L), readAll(store));
+
+    store.close();
+  }
+
+  @Test
+  public void spill() throws Exception {
+    File spillDirectory = this.temporaryFolder.newFolder();
+    EdgeStore store = new EdgeStore(spillDirectory.toPath(), 3);
+    for (long edge : new long[]{9, 1, 5, 1, 7, 9, 2, 5, 8, 3}) {
+      store.add(edge);
+    }
+
+    // Duplicates do not count for the spill threshold
+    assertEquals(2, spillDirectory.list().length);
+    assertEquals(Arrays.asList(1L, 2L, 3L, 5L, 7L, 8L, 9L), readAll(store));
+
+    store.close();
+    assertEquals(0, spillDirectory.list().length);
+  }
+
+  @Test
+  public void duplicatesOfSpilledEdges() throws Exception {
+    File spillDirectory = this.temporaryFolder.newFolder();
+    EdgeStore store = new EdgeStore(spillDirectory.toPath(), 2);
+    assertTrue(store.add(1));
+    assertTrue(store.add(2));
+    assertEquals(1, spillDirectory.list().length);
+
+    assertFalse(store.add(2));
+    assertFalse(store.add(1));
+    assertTrue(store.add(3));
+    assertFalse(store.add(3));
+    assertEquals(Arrays.asList(1L, 2L, 3L), readAll(store));
+
+    store.close();
+  }
+
+  @Test
+  public void repeatedDuplicatesOfSpilledEdges() throws Exception {
+    EdgeStore store = new EdgeStore(this.temporaryFolder.newFolder().toPath(), 100);
+    for (long edge = 0; edge < 1000; edge++) {
+      assertTrue(store.add(edge << 16));
+    }
+
+    for (int i = 0; i < 3; i++) {
+      for (long edge = 0; edge < 1000; edge++) {
+        assertFalse(store.add(edge << 16));
+      }
+    }
+    assertTrue(store.add(1000L << 16));
+    assertEquals(1001, readAll(store).size());
+
+    store.close();
+  }
+
+  @Test
+  public void deleteCreatedSpillDirectory() throws Exception {
+    File spillDirectory = new File(this.temporaryFolder.getRoot(), "spill");
+    EdgeStore store = new EdgeStore(spillDirectory.toPath(), 1);
+    store.add(1);
+
+    assertTrue(spillDirectory.isDirectory());
+
+    store.close();
+    assertFalse(spillDirectory.exists());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidThreshold() {
+    new EdgeStore(this.temporaryFolder.getRoot().toPath(), 0);
+  }
+
+  private static List<Long> readAll(EdgeStore store) throws IOException {
+    List<Long> edges = new ArrayList<>();
+    try (EdgeCursor cursor = store.cursor()) {
+      while (cursor.next()) {
+        edges.add(cursor.get());
+      }
+    }
+
+    return edges;
+  }
+}
@@ -18,6 +18,7 @@ package com.github.ferstl.depgraph.dot;
 import org.junit.Test;
 import static org.hamcrest.Matchers.emptyString;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
 
 
@@ -52,6 +53,22 @@ public class LabelBuilderTest {
         label);
   }
 
+  @Test
+  public void preRenderedFontTag() {
+    String fontTag = new LabelBuilder().font().name("Helvetica").size(10).color("red").createTag();
+    String label = new LabelBuilder()
+        .text(fontTag, "text1")
+        .smartNewLine()
+        .text(fontTag, "")
+        .smartNewLine()
+        .text(null, "<text2>")
+        .build();
+
+    assertEquals("<font color=\"red\" face=\"Helvetica\" point-size=\"10\">", fontTag);
+    assertEquals("<<font color=\"red\" face=\"Helvetica\" point-size=\"10\">text1</font><br/>&lt;text2&gt;>", label);
+    assertNull(new LabelBuilder().font().createTag());
+  }
+
   @Test
   public void htmlEscape() {
     String label = new LabelBuilder()
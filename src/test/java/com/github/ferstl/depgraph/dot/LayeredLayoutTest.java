@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.dot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * JUnit tests for {@link LayeredLayout}.
+ */
+public class LayeredLayoutTest {
+
+  /**
+   * .
+   *
+   * <pre>
+   * a -> b -> c
+   * a ------> c
+   * </pre>
+   */
+  @Test
+  public void longestPathLayers() {
+    LayeredLayout layout = createLayout(3, edge(0, 1), edge(1, 2), edge(0, 2));
+
+    assertEquals(0, layout.getLayer(0));
+    assertEquals(1, layout.getLayer(1));
+    assertEquals(2, layout.getLayer(2));
+    // the edge a -> c requires one virtual node in layer 1
+    assertEquals(2, layout.getLayerOrder(1).size());
+    assertEquals(3, layout.getRoute(2).size());
+  }
+
+  @Test
+  public void cycle() {
+    LayeredLayout layout = createLayout(3, edge(0, 1), edge(1, 2), edge(2, 0));
+
+    assertEquals(3, layout.getLayerCount());
+    List<double[]> backEdge = layout.getRoute(2);
+    // The reversed edge must still start at its source and end at its target
+    assertEquals(layout.getX(2), backEdge.get(0)[0], 0.001);
+    assertEquals(layout.getX(0), backEdge.get(backEdge.size() - 1)[0], 0.001);
+  }
+
+  @Test
+  public void selfReference() {
+    LayeredLayout layout = createLayout(1, edge(0, 0));
+
+    assertEquals(1, layout.getLayerCount());
+    assertTrue(layout.getRoute(0).isEmpty());
+  }
+
+  /**
+   * .
+   *
+   * <pre>
+   * a    b
+   *  \  /
+   *   \/
+   *   /\
+   *  /  \
+   * c    d
+   * </pre>
+   */
+  @Test
+  public void crossingReduction() {
+    LayeredLayout layout = createLayout(4, edge(0, 3), edge(1, 2));
+
+    assertEquals(0, layout.countCrossings());
+  }
+
+  @Test
+  public void noOverlappingNodes() {
+    LayeredLayout layout = createLayout(5, edge(0, 1), edge(0, 2), edge(0, 3), edge(0, 4));
+
+    List<Integer> order = layout.getLayerOrder(1);
+    for (int i = 1; i < order.size(); i++) {
+      double left = layout.getX(order.get(i - 1));
+      double right = layout.getX(order.get(i));
+      assertTrue(right - left >= 100 + LayeredLayout.NODE_SEPARATION - 0.001);
+    }
+  }
+
+  private static LayeredLayout createLayout(int nodeCount, int[]... edges) {
+    double[] widths = new double[nodeCount];
+    double[] heights = new double[nodeCount];
+    Arrays.fill(widths, 100);
+    Arrays.fill(heights, 30);
+
+    return new LayeredLayout(widths, heights, new ArrayList<>(Arrays.asList(edges))).layout();
+  }
+
+  private static int[] edge(int from, int to) {
+    return new int[]{from, to};
+  }
+}
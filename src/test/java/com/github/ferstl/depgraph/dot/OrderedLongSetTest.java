@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.dot;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * JUnit tests for {@link OrderedLongSet}.
+ */
+public class OrderedLongSetTest {
+
+  private OrderedLongSet set;
+
+  @Before
+  public void before() {
+    this.set = new OrderedLongSet();
+  }
+
+  @Test
+  public void add() {
+    assertTrue(this.set.add(0));
+    assertTrue(this.set.add(42));
+    assertFalse(this.set.add(0));
+    assertFalse(this.set.add(42));
+
+    assertEquals(2, this.set.size());
+  }
+
+  @Test
+  public void contains() {
+    this.set.add(0);
+    for (long i = 1; i <= 100; i++) {
+      this.set.add(i << 16);
+    }
+
+    assertTrue(this.set.contains(0));
+    assertTrue(this.set.contains(100L << 16));
+    assertFalse(this.set.contains(1));
+    assertFalse(this.set.contains(101L << 16));
+  }
+
+  @Test
+  public void insertionOrder() {
+    for (long i = 1000; i > 0; i--) {
+      this.set.add(i << 16);
+      this.set.add(i << 16);
+    }
+
+    assertEquals(1000, this.set.size());
+    for (int i = 0; i < 1000; i++) {
+      assertEquals((1000L - i) << 16, this.set.get(i));
+    }
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void getOutOfBounds() {
+    this.set.add(1);
+
+    this.set.get(1);
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.dot;
+
+import java.io.StringWriter;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.junit.Before;
+import org.junit.Test;
+import com.github.ferstl.depgraph.graph.GraphNode;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.assertThat;
+
+/**
+ * JUnit tests for {@link SvgRenderer}.
+ */
+public class SvgRendererTest {
+
+  private DotBuilder<GraphNode> dotBuilder;
+
+  @Before
+  public void before() {
+    this.dotBuilder = new DotBuilder<>();
+  }
+
+  @Test
+  public void emptyGraph() throws Exception {
+    String svg = render();
+
+    assertThat(svg, startsWith("<?xml"));
+    assertThat(svg, endsWith("</svg>\n"));
+  }
+
+  @Test
+  public void nodesAndEdges() throws Exception {
+    this.dotBuilder.addEdge(createNode("from"), createNode("to"), new EdgeAttributeRenderer<GraphNode>() {
+
+      @Override
+      public AttributeBuilder createEdgeAttributes(GraphNode from, GraphNode to) {
+        return new AttributeBuilder().style("dashed").color("red");
+      }
+    });
+
+    String svg = render();
+
+    assertThat(svg, containsString(">group:from:jar:1.0.0:compile</text>"));
+    assertThat(svg, containsString(">group:to:jar:1.0.0:compile</text>"));
+    assertThat(svg, containsString("<path fill=\"none\" stroke=\"red\" stroke-dasharray=\"5,3\""));
+  }
+
+  @Test
+  public void htmlLabel() throws Exception {
+    this.dotBuilder.useNodeAttributeRenderer(new NodeAttributeRenderer<GraphNode>() {
+
+      @Override
+      public AttributeBuilder createNodeAttributes(GraphNode node) {
+        return new AttributeBuilder().label(new LabelBuilder()
+            .font().size(10).color("grey").text("group")
+            .newLine()
+            .text(node.getArtifact().getArtifactId() + "&")
+            .build());
+      }
+    });
+    this.dotBuilder.addEdge(createNode("a"), createNode("b"));
+
+    String svg = render();
+
+    assertThat(svg, containsString("font-size=\"10\" fill=\"grey\">group</text>"));
+    assertThat(svg, containsString(">a&amp;</text>"));
+  }
+
+  @Test
+  public void htmlLabelFollowedByAttributes() throws Exception {
+    this.dotBuilder.useNodeAttributeRenderer(new NodeAttributeRenderer<GraphNode>() {
+
+      @Override
+      public AttributeBuilder createNodeAttributes(GraphNode node) {
+        return new AttributeBuilder()
+            .label("<" + node.getArtifact().getArtifactId() + ">")
+            .addAttribute("xlabel", "<b>x</b>")
+            .fontColor("blue");
+      }
+    });
+    this.dotBuilder.addEdge(createNode("a"), createNode("b"), new EdgeAttributeRenderer<GraphNode>() {
+
+      @Override
+      public AttributeBuilder createEdgeAttributes(GraphNode from, GraphNode to) {
+        return new AttributeBuilder().label("a \"b\"").style("dotted");
+      }
+    });
+
+    String svg = render();
+
+    assertThat(svg, containsString("fill=\"blue\">a</text>"));
+    assertThat(svg, containsString("fill=\"blue\">b</text>"));
+    assertThat(svg, containsString("stroke-dasharray=\"1,3\""));
+    assertThat(svg, containsString(">a \"b\"</text>"));
+  }
+
+  private String render() throws Exception {
+    StringWriter writer = new StringWriter();
+    SvgRenderer.render(this.dotBuilder, writer);
+    return writer.toString();
+  }
+
+  private static GraphNode createNode(String name) {
+    return new GraphNode(new DefaultArtifact("group", name, "1.0.0", "compile", "jar", "", null));
+  }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.dot;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * JUnit tests for {@link SymbolTable}.
+ */
+public class SymbolTableTest {
+
+  private SymbolTable symbolTable;
+
+  @Before
+  public void before() {
+    this.symbolTable = new SymbolTable();
+  }
+
+  @Test
+  public void intern() {
+    assertEquals(0, this.symbolTable.intern("a"));
+    assertEquals(1, this.symbolTable.intern("b"));
+    assertEquals(0, this.symbolTable.intern(new String("a")));
+    assertEquals(2, this.symbolTable.size());
+  }
+
+  @Test
+  public void getSymbol() {
+    String symbol = "a";
+    this.symbolTable.intern(symbol);
+    this.symbolTable.intern(new String("a"));
+
+    assertSame(symbol, this.symbolTable.getSymbol(0));
+  }
+
+  @Test
+  public void getId() {
+    this.symbolTable.intern("a");
+
+    assertEquals(0, this.symbolTable.getId("a"));
+    assertEquals(-1, this.symbolTable.getId("b"));
+    assertEquals(1, this.symbolTable.size());
+  }
+}
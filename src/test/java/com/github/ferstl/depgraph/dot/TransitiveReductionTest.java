@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.dot;
+
+import java.util.BitSet;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * JUnit tests for {@link TransitiveReduction}.
+ */
+public class TransitiveReductionTest {
+
+  /**
+   * .
+   *
+   * <pre>
+   * a -> b -> c
+   * a ------> c (redundant)
+   * </pre>
+   */
+  @Test
+  public void simpleTransitiveEdge() {
+    BitSet redundant = reduce(3, new int[]{0, 1, 0}, new int[]{1, 2, 2});
+
+    assertEquals(bits(2), redundant);
+  }
+
+  /**
+   * .
+   *
+   * <pre>
+   * a -> b -> c -> d
+   * a -----------> d (redundant)
+   * b -----------> d (redundant)
+   * a -> e
+   * </pre>
+   */
+  @Test
+  public void longPaths() {
+    BitSet redundant = reduce(5, new int[]{0, 1, 2, 0, 1, 0}, new int[]{1, 2, 3, 3, 3, 4});
+
+    assertEquals(bits(3, 4), redundant);
+  }
+
+  @Test
+  public void duplicateEdges() {
+    // Duplicates of a non-transitive edge are not redundant
+    BitSet redundant = reduce(2, new int[]{0, 0}, new int[]{1, 1});
+
+    assertEquals(bits(), redundant);
+  }
+
+  /**
+   * .
+   *
+   * <pre>
+   * a -> b -> c -> b (cycle)
+   * c -> d
+   * a -> d (redundant)
+   * b -> b (self reference)
+   * </pre>
+   */
+  @Test
+  public void cycles() {
+    BitSet redundant = reduce(4, new int[]{0, 1, 2, 2, 0, 1}, new int[]{1, 2, 1, 3, 3, 1});
+
+    assertEquals(bits(4), redundant);
+  }
+
+  @Test
+  public void stronglyConnectedComponents() {
+    // a -> b -> c -> b, c -> d
+    IndexedGraph graph = new IndexedGraph(4, new int[]{0, 1, 2, 2}, new int[]{1, 2, 1, 3});
+    StronglyConnectedComponents components = StronglyConnectedComponents.compute(graph);
+
+    assertEquals(3, components.getComponentCount());
+    assertEquals(components.getComponent(1), components.getComponent(2));
+    // reverse topological order
+    assertEquals(0, components.getComponent(3));
+    assertEquals(2, components.getComponent(0));
+  }
+
+  private static BitSet reduce(int nodeCount, int[] from, int[] to) {
+    return TransitiveReduction.redundantEdges(new IndexedGraph(nodeCount, from, to));
+  }
+
+  private static BitSet bits(int... indices) {
+    BitSet bits = new BitSet();
+    for (int index : indices) {
+      bits.set(index);
+    }
+
+    return bits;
+  }
+}
@@ -31,6 +31,7 @@ import static com.github.ferstl.depgraph.dot.DotBuilderMatcher.hasNodesAndEdges;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -174,6 +175,51 @@ public class AggregatingGraphFactoryTest {
             "\"groupId:subParent:jar:version:compile\" -> \"groupId:child2-2:jar:version:compile\"[style=dotted]"}));
   }
 
+  /**
+   * .
+   *
+   * <pre>
+   * parent
+   * - subParent1
+   *   - subParent2
+   *     - child1
+   *     - child2
+   *     - child3
+   *
+   * include parents
+   * </pre>
+   */
+  @Test
+  public void parentChainProcessedOnce() {
+    AggregatingGraphFactory graphFactory = new AggregatingGraphFactory(this.adapter, this.globalFilter, this.dotBuilder, true);
+
+    MavenProject parent = createMavenProject("parent");
+    MavenProject subParent1 = createMavenProject("subParent1", parent);
+    MavenProject subParent2 = createMavenProject("subParent2", subParent1);
+    createMavenProject("child1", subParent2);
+    createMavenProject("child2", subParent2);
+    createMavenProject("child3", subParent2);
+
+    graphFactory.createGraph(parent);
+
+    // The parent is not part of the collected projects, so it is only filtered while building the module tree
+    verify(this.globalFilter, times(1)).include(parent.getArtifact());
+    assertThat(this.dotBuilder, hasNodesAndEdges(
+        new String[]{
+            "\"groupId:parent:jar:version:compile\"",
+            "\"groupId:subParent1:jar:version:compile\"",
+            "\"groupId:subParent2:jar:version:compile\"",
+            "\"groupId:child1:jar:version:compile\"",
+            "\"groupId:child2:jar:version:compile\"",
+            "\"groupId:child3:jar:version:compile\""},
+        new String[]{
+            "\"groupId:parent:jar:version:compile\" -> \"groupId:subParent1:jar:version:compile\"[style=dotted]",
+            "\"groupId:subParent1:jar:version:compile\" -> \"groupId:subParent2:jar:version:compile\"[style=dotted]",
+            "\"groupId:subParent2:jar:version:compile\" -> \"groupId:child1:jar:version:compile\"[style=dotted]",
+            "\"groupId:subParent2:jar:version:compile\" -> \"groupId:child2:jar:version:compile\"[style=dotted]",
+            "\"groupId:subParent2:jar:version:compile\" -> \"groupId:child3:jar:version:compile\"[style=dotted]"}));
+  }
+
   /**
    * .
    *
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.graph;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.shared.dependency.tree.DependencyNode;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import com.github.ferstl.depgraph.dot.DotBuilder;
+import com.github.ferstl.depgraph.graph.BinaryGraph.Edge;
+import com.github.ferstl.depgraph.graph.BinaryGraph.Node;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+
+/**
+ * JUnit tests for {@link BinaryGraphWriter} and {@link BinaryGraph}.
+ */
+public class BinaryGraphTest {
+
+  @Rule
+  public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private Path file;
+
+  @Before
+  public void before() throws Exception {
+    this.file = this.temporaryFolder.getRoot().toPath().resolve("graph.dgb");
+  }
+
+  @Test
+  public void roundTrip() throws Exception {
+    Artifact winner = createArtifact("b", "2.0.0", "runtime");
+    Artifact loser = createArtifact("b", "1.0.0", "runtime");
+    GraphNode a = new GraphNode(createArtifact("a", "1.0.0", "compile"));
+    GraphNode b = new GraphNode(new DependencyNode(winner));
+    GraphNode bConflict = new GraphNode(new DependencyNode(loser, DependencyNode.OMITTED_FOR_CONFLICT, winner));
+    GraphNode c = new GraphNode(createArtifact("c", "1.0.0", "test"));
+
+    write(new TestEdge(a, c), new TestEdge(a, b), new TestEdge(c, bConflict));
+    BinaryGraph graph = BinaryGraph.open(this.file);
+
+    assertEquals(3, graph.getNodeCount());
+    assertEquals(3, graph.getEdgeCount());
+
+    Node nodeA = graph.findNode("com.example:a:jar:");
+    assertEquals("com.example", nodeA.getGroupId());
+    assertEquals("a", nodeA.getArtifactId());
+    assertEquals("1.0.0", nodeA.getVersion());
+    assertEquals("jar", nodeA.getType());
+    assertEquals("", nodeA.getClassifier());
+    assertThat(nodeA.getScopes(), contains("compile"));
+
+    // TestEdge are ordered by their target
+    List<Edge> edges = nodeA.getEdges();
+    assertEquals(2, edges.size());
+    assertEquals("com.example:c:jar:", graph.getNode(edges.get(0).getTo()).getName());
+    assertEquals("test", edges.get(0).getScope());
+    assertEquals("com.example:b:jar:", graph.getNode(edges.get(1).getTo()).getName());
+
+    Node nodeC = graph.findNode("com.example:c:jar:");
+    Edge conflict = nodeC.getEdges().get(0);
+    assertEquals(NodeResolution.OMITTED_FOR_CONFLICT, conflict.getResolution());
+    assertEquals("runtime", conflict.getScope());
+
+    Node nodeB = graph.getNode(conflict.getTo());
+    assertEquals(NodeResolution.OMITTED_FOR_CONFLICT, nodeB.getResolution());
+    assertEquals("1.0.0", nodeB.getVersion());
+    assertEquals("2.0.0", nodeB.getEffectiveVersion());
+    assertThat(nodeB.getEdges(), empty());
+
+    assertNull(graph.findNode("com.example:unknown:jar:"));
+  }
+
+  @Test
+  public void emptyGraph() throws Exception {
+    write();
+    BinaryGraph graph = BinaryGraph.open(this.file);
+
+    assertEquals(0, graph.getNodeCount());
+    assertEquals(0, graph.getEdgeCount());
+    assertThat(graph.getNodes(), empty());
+  }
+
+  @Test(expected = IOException.class)
+  public void invalidFile() throws Exception {
+    Files.write(this.file, "digraph \"G\" {}".getBytes("UTF-8"));
+    BinaryGraph.open(this.file);
+  }
+
+  private void write(TestEdge... edges) throws IOException {
+    try (OutputStream os = Files.newOutputStream(this.file)) {
+      DotBuilder<GraphNode> dotBuilder = new DotBuilder<GraphNode>()
+          .useNodeNameRenderer(NodeNameRenderers.VERSIONLESS_ID)
+          .addGraphWriter(new BinaryGraphWriter(os));
+
+      for (TestEdge edge : edges) {
+        dotBuilder.addEdge(edge.from, edge.to);
+      }
+
+      dotBuilder.completeGraph();
+    }
+  }
+
+  private static Artifact createArtifact(String artifactId, String version, String scope) {
+    return new DefaultArtifact("com.example", artifactId, version, scope, "jar", "", null);
+  }
+
+  private static final class TestEdge {
+
+    private final GraphNode from;
+    private final GraphNode to;
+
+    TestEdge(GraphNode from, GraphNode to) {
+      this.from = from;
+      this.to = to;
+    }
+  }
+}
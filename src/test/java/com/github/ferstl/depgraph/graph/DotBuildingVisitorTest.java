@@ -28,9 +28,13 @@ import com.github.ferstl.depgraph.dot.DotBuilder;
 import static com.github.ferstl.depgraph.dot.DotBuilderMatcher.hasNodesAndEdges;
 import static java.util.EnumSet.allOf;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 
@@ -152,6 +156,80 @@ public class DotBuildingVisitorTest {
             "\"groupId:parent:jar:version:compile\" -> \"groupId:child2:jar:version:compile\""}));
   }
 
+  /**
+   * .
+   *
+   * <pre>
+   * parent
+   *     - child
+   *         - grandChild (beyond max depth)
+   * </pre>
+   */
+  @Test
+  public void maxDepth() {
+    this.visitor = new DotBuildingVisitor(this.dotBuilder, this.globalFilter, this.targetFilter, this.includedResolutions, 1);
+    DependencyNode grandChild = createGraphNode("grandChild");
+    DependencyNode child = createGraphNode("child", grandChild);
+    DependencyNode parent = createGraphNode("parent", child);
+
+    assertTrue(this.visitor.visit(parent));
+    assertTrue(this.visitor.visit(child));
+
+    // Don't process any nodes beyond the max depth
+    assertFalse(this.visitor.visit(grandChild));
+    assertTrue(this.visitor.endVisit(grandChild));
+
+    assertTrue(this.visitor.endVisit(child));
+    assertTrue(this.visitor.endVisit(parent));
+
+    assertThat(this.dotBuilder, hasNodesAndEdges(
+        new String[]{
+            "\"groupId:parent:jar:version:compile\"[label=\"groupId:parent:jar:version:compile\"]",
+            "\"groupId:child:jar:version:compile\"[label=\"groupId:child:jar:version:compile\"]"},
+        new String[]{
+            "\"groupId:parent:jar:version:compile\" -> \"groupId:child:jar:version:compile\""}));
+  }
+
+  /**
+   * .
+   *
+   * <pre>
+   * parent
+   *     - child1
+   *         - grandChild (target dependency beyond max depth)
+   *     - child2 (target dependency)
+   * </pre>
+   */
+  @Test
+  public void maxDepthWithTargetDepNode() {
+    this.visitor = new DotBuildingVisitor(this.dotBuilder, this.globalFilter, this.targetFilter, this.includedResolutions, 1);
+    DependencyNode grandChild = createGraphNode("grandChild");
+    DependencyNode child1 = createGraphNode("child1", grandChild);
+    DependencyNode child2 = createGraphNode("child2");
+    DependencyNode parent = createGraphNode("parent", child1, child2);
+
+    when(this.targetFilter.include(Matchers.<Artifact>any())).thenReturn(false);
+    when(this.targetFilter.include(grandChild.getArtifact())).thenReturn(true);
+    when(this.targetFilter.include(child2.getArtifact())).thenReturn(true);
+
+    assertTrue(this.visitor.visit(parent));
+
+    // child1 leads to a target dependency only beyond the max depth
+    assertFalse(this.visitor.visit(child1));
+    assertTrue(this.visitor.endVisit(child1));
+
+    assertTrue(this.visitor.visit(child2));
+    assertTrue(this.visitor.endVisit(child2));
+    assertTrue(this.visitor.endVisit(parent));
+
+    assertThat(this.dotBuilder, hasNodesAndEdges(
+        new String[]{
+            "\"groupId:parent:jar:version:compile\"[label=\"groupId:parent:jar:version:compile\"]",
+            "\"groupId:child2:jar:version:compile\"[label=\"groupId:child2:jar:version:compile\"]"},
+        new String[]{
+            "\"groupId:parent:jar:version:compile\" -> \"groupId:child2:jar:version:compile\""}));
+  }
+
   @Test
   public void defaultArtifactFilter() {
     this.visitor = new DotBuildingVisitor(this.dotBuilder, this.targetFilter);
@@ -160,9 +238,75 @@ public class DotBuildingVisitorTest {
     parentAndChild();
   }
 
+  @Test
+  public void noTargetFilter() {
+    DependencyNode child = createGraphNode("child");
+    DependencyNode parent = createGraphNode("parent", child);
+    this.visitor = new DotBuildingVisitor(this.dotBuilder, this.globalFilter, DoNothingArtifactFilter.INSTANCE, this.includedResolutions);
+
+    assertTrue(this.visitor.visit(parent));
+    assertTrue(this.visitor.visit(child));
+    assertTrue(this.visitor.endVisit(child));
+    assertTrue(this.visitor.endVisit(parent));
+
+    // The graph is not searched for target dependencies
+    verify(parent, never()).getChildren();
+    assertThat(this.dotBuilder, hasNodesAndEdges(
+        new String[]{
+            "\"groupId:parent:jar:version:compile\"[label=\"groupId:parent:jar:version:compile\"]",
+            "\"groupId:child:jar:version:compile\"[label=\"groupId:child:jar:version:compile\"]"},
+        new String[]{
+            "\"groupId:parent:jar:version:compile\" -> \"groupId:child:jar:version:compile\""}));
+  }
+
+  /**
+   * Two modules which depend on the same artifact. The artifacts of the two modules are distinct instances with
+   * distinct strings, as created by Maven for each module.
+   *
+   * <pre>
+   * module1
+   *     - child
+   * module2
+   *     - child
+   * </pre>
+   */
+  @Test
+  public void sharedCoordinatesAcrossModules() {
+    CoordinateTable coordinates = new CoordinateTable();
+    DependencyNode child1 = createGraphNode(createArtifactWithNewStrings("child"));
+    DependencyNode module1 = createGraphNode("module1", child1);
+    DependencyNode child2 = createGraphNode(createArtifactWithNewStrings("child"));
+    DependencyNode module2 = createGraphNode("module2", child2);
+
+    visit(new DotBuildingVisitor(this.dotBuilder, this.targetFilter, Integer.MAX_VALUE, new GraphMetrics(), coordinates), module1, child1);
+    GraphNode keptChild1 = this.dotBuilder.getEffectiveNode(new GraphNode(child1));
+    visit(new DotBuildingVisitor(this.dotBuilder, this.targetFilter, Integer.MAX_VALUE, new GraphMetrics(), coordinates), module2, child2);
+    GraphNode keptChild2 = this.dotBuilder.getEffectiveNode(new GraphNode(child2));
+
+    assertNotSame(child1.getArtifact().getGroupId(), child2.getArtifact().getGroupId());
+    assertNotSame(keptChild1, keptChild2);
+    assertSame(keptChild1.getGroupId(), keptChild2.getGroupId());
+    assertSame(keptChild1.getArtifactId(), keptChild2.getArtifactId());
+    assertSame(keptChild1.getVersion(), keptChild2.getVersion());
+    assertSame(keptChild1.getType(), keptChild2.getType());
+    assertSame(keptChild1.getVersionlessId(), keptChild2.getVersionlessId());
+    assertSame(keptChild1.getVersionlessId(), NodeNameRenderers.VERSIONLESS_ID.createNodeName(keptChild2));
+  }
+
+  private static void visit(DotBuildingVisitor visitor, DependencyNode parent, DependencyNode child) {
+    assertTrue(visitor.visit(parent));
+    assertTrue(visitor.visit(child));
+    assertTrue(visitor.endVisit(child));
+    assertTrue(visitor.endVisit(parent));
+  }
+
   private static DependencyNode createGraphNode(String artifactId, DependencyNode... children) {
+    return createGraphNode(createArtifact(artifactId), children);
+  }
+
+  private static DependencyNode createGraphNode(Artifact artifact, DependencyNode... children) {
     DependencyNode node = mock(DependencyNode.class);
-    when(node.getArtifact()).thenReturn(createArtifact(artifactId));
+    when(node.getArtifact()).thenReturn(artifact);
     when(node.getChildren()).thenReturn(Arrays.asList(children));
     return node;
   }
@@ -171,4 +315,8 @@ public class DotBuildingVisitorTest {
     return new DefaultArtifact("groupId", artifactId, "version", "compile", "jar", "", null);
   }
 
+  private static Artifact createArtifactWithNewStrings(String artifactId) {
+    return new DefaultArtifact(new String("groupId"), new String(artifactId), new String("version"), "compile", new String("jar"), "", null);
+  }
+
 }
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.graph;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathFactory;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.junit.Test;
+import org.w3c.dom.Document;
+import com.github.ferstl.depgraph.dot.DotBuilder;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * JUnit tests for {@link GexfGraphWriter}.
+ */
+public class GexfGraphWriterTest {
+
+  @Test
+  public void nodesAndEdges() throws Exception {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    try (GexfGraphWriter writer = new GexfGraphWriter(output)) {
+      DotBuilder<GraphNode> dotBuilder = new DotBuilder<GraphNode>()
+          .useNodeNameRenderer(NodeNameRenderers.VERSIONLESS_ID)
+          .addGraphWriter(writer);
+
+      GraphNode a = new GraphNode(createArtifact("com.example", "a", "compile"));
+      GraphNode b = new GraphNode(createArtifact("com.example", "b", "test"));
+      GraphNode c = new GraphNode(createArtifact("org.other", "c", "test"));
+      dotBuilder.addEdge(a, b);
+      dotBuilder.addEdge(b, c);
+      dotBuilder.addEdge(a, c);
+      dotBuilder.completeGraph();
+    }
+
+    DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+    Document document = factory.newDocumentBuilder().parse(new ByteArrayInputStream(output.toByteArray()));
+    XPath xpath = XPathFactory.newInstance().newXPath();
+
+    assertEquals("3", xpath.evaluate("count(/gexf/graph/nodes/node)", document));
+    assertEquals("3", xpath.evaluate("count(/gexf/graph/edges/edge)", document));
+    assertEquals("com.example:a:jar:", xpath.evaluate("/gexf/graph/nodes/node[@id='0']/@label", document));
+    assertEquals("org.other", xpath.evaluate("/gexf/graph/nodes/node[@id='2']/attvalues/attvalue[@for='0']/@value", document));
+    assertEquals("groupId", xpath.evaluate("/gexf/graph/attributes[@class='node']/attribute[@id='0']/@title", document));
+    assertEquals("scope", xpath.evaluate("/gexf/graph/attributes[@class='edge']/attribute[@id='1']/@title", document));
+    assertEquals("INCLUDED", xpath.evaluate("/gexf/graph/edges/edge[@source='1'][@target='2']/attvalues/attvalue[@for='0']/@value", document));
+    assertEquals("test", xpath.evaluate("/gexf/graph/edges/edge[@source='1'][@target='2']/attvalues/attvalue[@for='1']/@value", document));
+  }
+
+  private static Artifact createArtifact(String groupId, String artifactId, String scope) {
+    return new DefaultArtifact(groupId, artifactId, "1.0.0", scope, "jar", "", null);
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.graph;
+
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.ferstl.depgraph.graph.GraphMetrics.Measurement;
+import com.github.ferstl.depgraph.graph.GraphMetrics.PhaseStatistics;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasKey;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+/**
+ * JUnit tests for {@link GraphMetrics}.
+ */
+public class GraphMetricsTest {
+
+  private GraphMetrics metrics;
+
+  @Before
+  public void before() {
+    this.metrics = new GraphMetrics();
+  }
+
+  @Test
+  public void phases() {
+    try (Measurement measurement = this.metrics.start(GraphMetrics.RESOLUTION, "module-1")) {
+      // NOP
+    }
+    try (Measurement measurement = this.metrics.start(GraphMetrics.RESOLUTION, "module-2")) {
+      // NOP
+    }
+    try (Measurement measurement = this.metrics.start(GraphMetrics.TRAVERSAL)) {
+      // NOP
+    }
+
+    Map<String, PhaseStatistics> phases = this.metrics.getPhases();
+    assertThat(phases.keySet(), contains(GraphMetrics.RESOLUTION, GraphMetrics.TRAVERSAL));
+    assertEquals(2, phases.get(GraphMetrics.RESOLUTION).getCount());
+    assertEquals(1, phases.get(GraphMetrics.TRAVERSAL).getCount());
+    assertThat(this.metrics.getModules().keySet(), contains("module-1", "module-2"));
+  }
+
+  @Test
+  public void record() {
+    this.metrics.record(GraphMetrics.FILE_WRITE, 2000000);
+
+    PhaseStatistics statistics = this.metrics.getPhases().get(GraphMetrics.FILE_WRITE);
+    assertEquals(2, statistics.getWallTimeMillis());
+    assertEquals(-1, statistics.getAllocatedBytes());
+  }
+
+  @Test
+  public void counters() {
+    this.metrics.increment(GraphMetrics.FILTERED_NODES);
+    this.metrics.increment(GraphMetrics.FILTERED_NODES);
+    this.metrics.add(GraphMetrics.NODES, 42);
+
+    assertEquals(2, this.metrics.getCounter(GraphMetrics.FILTERED_NODES));
+    assertEquals(42, this.metrics.getCounter(GraphMetrics.NODES));
+    assertEquals(0, this.metrics.getCounter(GraphMetrics.EDGES));
+  }
+
+  @Test
+  public void summary() {
+    this.metrics.record(GraphMetrics.FILE_WRITE, 3000000);
+    this.metrics.record(GraphMetrics.FILE_WRITE, 2000000);
+    this.metrics.add(GraphMetrics.NODES, 42);
+
+    assertThat(this.metrics.createSummary(), contains("file write: 5 ms (2x)", "nodes: 42"));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void toJson() throws Exception {
+    try (Measurement measurement = this.metrics.start(GraphMetrics.RESOLUTION, "module-1")) {
+      // NOP
+    }
+    this.metrics.add(GraphMetrics.EDGES, 7);
+
+    Map<String, Object> json = new ObjectMapper().readValue(this.metrics.toJson(), Map.class);
+
+    assertThat(json.keySet(), contains("phases", "modules", "counters"));
+    assertThat((Map<String, Object>) json.get("phases"), hasKey(GraphMetrics.RESOLUTION));
+    assertThat((Map<String, Object>) json.get("modules"), hasKey("module-1"));
+    assertEquals(7, ((Map<String, Object>) json.get("counters")).get(GraphMetrics.EDGES));
+  }
+}
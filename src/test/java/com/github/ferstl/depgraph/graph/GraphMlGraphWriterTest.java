@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.graph;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathFactory;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.shared.dependency.tree.DependencyNode;
+import org.junit.Test;
+import org.w3c.dom.Document;
+import com.github.ferstl.depgraph.dot.AttributeBuilder;
+import com.github.ferstl.depgraph.dot.DotBuilder;
+import com.github.ferstl.depgraph.dot.EdgeAttributeRenderer;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * JUnit tests for {@link GraphMlGraphWriter}.
+ */
+public class GraphMlGraphWriterTest {
+
+  @Test
+  public void nodesAndEdges() throws Exception {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    try (GraphMlGraphWriter writer = new GraphMlGraphWriter(output)) {
+      DotBuilder<GraphNode> dotBuilder = new DotBuilder<GraphNode>()
+          .useNodeNameRenderer(NodeNameRenderers.VERSIONLESS_ID)
+          .addGraphWriter(writer);
+
+      Artifact winner = createArtifact("b", "2.0.0", "runtime");
+      Artifact loser = createArtifact("b", "1.0.0", "runtime");
+      dotBuilder.addEdge(new GraphNode(createArtifact("a", "1.0.0", "compile")), new GraphNode(new DependencyNode(loser, DependencyNode.OMITTED_FOR_CONFLICT, winner)));
+      dotBuilder.completeGraph();
+    }
+
+    DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+    Document document = factory.newDocumentBuilder().parse(new ByteArrayInputStream(output.toByteArray()));
+    XPath xpath = XPathFactory.newInstance().newXPath();
+
+    assertEquals("10", xpath.evaluate("count(/graphml/key)", document));
+    assertEquals("2", xpath.evaluate("count(/graphml/graph/node)", document));
+    assertEquals("com.example", xpath.evaluate("/graphml/graph/node[@id='com.example:a:jar:']/data[@key='groupId']", document));
+    assertEquals("compile", xpath.evaluate("/graphml/graph/node[@id='com.example:a:jar:']/data[@key='scopes']", document));
+    assertEquals("2.0.0", xpath.evaluate("/graphml/graph/node[@id='com.example:b:jar:']/data[@key='effectiveVersion']", document));
+    assertEquals("com.example:b:jar:", xpath.evaluate("/graphml/graph/edge[@source='com.example:a:jar:']/@target", document));
+    assertEquals("OMITTED_FOR_CONFLICT", xpath.evaluate("/graphml/graph/edge/data[@key='edgeResolution']", document));
+    assertEquals("runtime", xpath.evaluate("/graphml/graph/edge/data[@key='edgeScope']", document));
+  }
+
+  @Test
+  public void parallelEdgesWithSameResolutionAndScope() throws Exception {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    try (GraphMlGraphWriter writer = new GraphMlGraphWriter(output)) {
+      DotBuilder<GraphNode> dotBuilder = new DotBuilder<GraphNode>()
+          .useNodeNameRenderer(NodeNameRenderers.VERSIONLESS_ID)
+          .useEdgeAttributeRenderer(new EdgeAttributeRenderer<GraphNode>() {
+
+            @Override
+            public AttributeBuilder createEdgeAttributes(GraphNode from, GraphNode to) {
+              return new AttributeBuilder().label(to.getArtifact().getVersion() + " " + to.getArtifact().getScope());
+            }
+          })
+          .addGraphWriter(writer);
+
+      GraphNode from = new GraphNode(createArtifact("a", "1.0.0", "compile"));
+      dotBuilder.addEdge(from, new GraphNode(createArtifact("b", "1.0.0", "compile")));
+      dotBuilder.addEdge(from, new GraphNode(createArtifact("b", "2.0.0", "compile")));
+      dotBuilder.addEdge(from, new GraphNode(createArtifact("b", "2.0.0", "test")));
+      dotBuilder.completeGraph();
+    }
+
+    DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+    Document document = factory.newDocumentBuilder().parse(new ByteArrayInputStream(output.toByteArray()));
+    XPath xpath = XPathFactory.newInstance().newXPath();
+
+    // The versions of the edge labels are not contained in the edge data
+    assertEquals("2", xpath.evaluate("count(/graphml/graph/edge)", document));
+    assertEquals("compile", xpath.evaluate("/graphml/graph/edge[1]/data[@key='edgeScope']", document));
+    assertEquals("test", xpath.evaluate("/graphml/graph/edge[2]/data[@key='edgeScope']", document));
+  }
+
+  private static Artifact createArtifact(String artifactId, String version, String scope) {
+    return new DefaultArtifact("com.example", artifactId, version, scope, "jar", "", null);
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.graph;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.Map;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.shared.dependency.tree.DependencyNode;
+import org.junit.Before;
+import org.junit.Test;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.ferstl.depgraph.dot.DotBuilder;
+import static java.util.Arrays.asList;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+/**
+ * JUnit tests for {@link JsonGraphWriter}.
+ */
+public class JsonGraphWriterTest {
+
+  private ByteArrayOutputStream output;
+  private DotBuilder<GraphNode> dotBuilder;
+
+  @Before
+  public void before() throws Exception {
+    this.output = new ByteArrayOutputStream();
+    this.dotBuilder = new DotBuilder<GraphNode>()
+        .useNodeNameRenderer(NodeNameRenderers.VERSIONLESS_ID)
+        .addGraphWriter(new JsonGraphWriter(this.output));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void nodesAndEdges() throws Exception {
+    Artifact winner = createArtifact("b", "2.0.0", "runtime");
+    Artifact loser = createArtifact("b", "1.0.0", "runtime");
+    GraphNode a = new GraphNode(createArtifact("a", "1.0.0", "compile"));
+    GraphNode c = new GraphNode(createArtifact("c", "1.0.0", "compile"));
+    GraphNode b = new GraphNode(new DependencyNode(winner));
+    GraphNode bConflict = new GraphNode(new DependencyNode(loser, DependencyNode.OMITTED_FOR_CONFLICT, winner));
+
+    this.dotBuilder.addEdge(c, bConflict);
+    this.dotBuilder.addEdge(a, b);
+    this.dotBuilder.completeGraph();
+    Map<String, Object> json = new ObjectMapper().readValue(this.output.toByteArray(), Map.class);
+
+    List<Map<String, Object>> edges = (List<Map<String, Object>>) json.get("edges");
+    assertEquals(2, edges.size());
+    assertEquals("com.example:c:jar:", edges.get(0).get("from"));
+    assertEquals("com.example:b:jar:", edges.get(0).get("to"));
+    assertEquals("OMITTED_FOR_CONFLICT", edges.get(0).get("resolution"));
+    assertEquals("1.0.0", edges.get(0).get("version"));
+    assertEquals("INCLUDED", edges.get(1).get("resolution"));
+    assertEquals("runtime", edges.get(1).get("scope"));
+
+    List<Map<String, Object>> nodes = (List<Map<String, Object>>) json.get("nodes");
+    assertEquals(3, nodes.size());
+    Map<String, Object> nodeB = nodes.get(1);
+    assertEquals("com.example:b:jar:", nodeB.get("id"));
+    assertEquals("com.example", nodeB.get("groupId"));
+    assertEquals("b", nodeB.get("artifactId"));
+    assertEquals("2.0.0", nodeB.get("version"));
+    assertEquals("jar", nodeB.get("type"));
+    assertEquals("INCLUDED", nodeB.get("resolution"));
+    assertEquals("2.0.0", nodeB.get("effectiveVersion"));
+    assertThat((List<String>) nodeB.get("scopes"), contains("runtime"));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void emptyGraph() throws Exception {
+    this.dotBuilder.completeGraph();
+
+    Map<String, Object> json = new ObjectMapper().readValue(this.output.toByteArray(), Map.class);
+    assertEquals(asList(), json.get("edges"));
+    assertEquals(asList(), json.get("nodes"));
+  }
+
+  private static Artifact createArtifact(String artifactId, String version, String scope) {
+    return new DefaultArtifact("com.example", artifactId, version, scope, "jar", "", null);
+  }
+}
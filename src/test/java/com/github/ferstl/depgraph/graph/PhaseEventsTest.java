@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.graph;
+
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import com.github.ferstl.depgraph.graph.GraphMetrics.Measurement;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * JUnit tests for {@link PhaseEvents}.
+ */
+public class PhaseEventsTest {
+
+  @Rule
+  public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void phaseEvent() throws Exception {
+    GraphMetrics metrics = new GraphMetrics();
+    Path recordingFile = this.temporaryFolder.newFile("recording.jfr").toPath();
+
+    try (Recording recording = new Recording()) {
+      recording.enable("com.github.ferstl.depgraph.Phase");
+      recording.start();
+
+      try (Measurement measurement = metrics.start(GraphMetrics.TRAVERSAL).moduleId("group:module:jar:1.0.0")) {
+        measurement.nodeCount(2).edgeCount(1);
+      }
+
+      recording.stop();
+      recording.dump(recordingFile);
+    }
+
+    List<RecordedEvent> events = RecordingFile.readAllEvents(recordingFile);
+    assertEquals(1, events.size());
+
+    RecordedEvent event = events.get(0);
+    assertEquals(GraphMetrics.TRAVERSAL, event.getString("phase"));
+    assertEquals("group:module:jar:1.0.0", event.getString("moduleId"));
+    assertEquals(2, event.getLong("nodeCount"));
+    assertEquals(1, event.getLong("edgeCount"));
+    // No file was written
+    assertEquals(0, event.getLong("bytesWritten"));
+  }
+
+  @Test
+  public void disabledEvent() {
+    // No recording is running
+    assertNull(PhaseEvents.begin());
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.graph;
+
+import java.util.Arrays;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
+import org.apache.maven.shared.dependency.graph.DependencyNode;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Matchers;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * JUnit tests for {@link TargetDependencyIndex}.
+ */
+public class TargetDependencyIndexTest {
+
+  private ArtifactFilter targetFilter;
+  private DependencyNode target;
+  private DependencyNode sharedChild;
+  private DependencyNode child1;
+  private DependencyNode child2;
+  private DependencyNode child3;
+  private DependencyNode root;
+
+  /**
+   * .
+   *
+   * <pre>
+   * root
+   *     - child1
+   *         - sharedChild
+   *             - target
+   *     - child2
+   *         - sharedChild
+   *     - child3
+   * </pre>
+   */
+  @Before
+  public void before() {
+    this.target = createGraphNode("target");
+    this.sharedChild = createGraphNode("sharedChild", this.target);
+    this.child1 = createGraphNode("child1", this.sharedChild);
+    this.child2 = createGraphNode("child2", this.sharedChild);
+    this.child3 = createGraphNode("child3");
+    this.root = createGraphNode("root", this.child1, this.child2, this.child3);
+
+    this.targetFilter = mock(ArtifactFilter.class);
+    when(this.targetFilter.include(Matchers.<Artifact>any())).thenReturn(false);
+    when(this.targetFilter.include(this.target.getArtifact())).thenReturn(true);
+  }
+
+  @Test
+  public void leadsToTargetDependency() {
+    TargetDependencyIndex index = TargetDependencyIndex.create(new GraphNode(this.root), this.targetFilter, Integer.MAX_VALUE);
+
+    assertTrue(index.leadsToTargetDependency(new GraphNode(this.root)));
+    assertTrue(index.leadsToTargetDependency(new GraphNode(this.child1)));
+    assertTrue(index.leadsToTargetDependency(new GraphNode(this.child2)));
+    assertTrue(index.leadsToTargetDependency(new GraphNode(this.sharedChild)));
+    assertTrue(index.leadsToTargetDependency(new GraphNode(this.target)));
+    assertFalse(index.leadsToTargetDependency(new GraphNode(this.child3)));
+  }
+
+  @Test
+  public void targetBeyondMaxDepth() {
+    TargetDependencyIndex index = TargetDependencyIndex.create(new GraphNode(this.root), this.targetFilter, 2);
+
+    assertFalse(index.leadsToTargetDependency(new GraphNode(this.root)));
+    assertFalse(index.leadsToTargetDependency(new GraphNode(this.child1)));
+    assertFalse(index.leadsToTargetDependency(new GraphNode(this.sharedChild)));
+  }
+
+  private static DependencyNode createGraphNode(String artifactId, DependencyNode... children) {
+    DependencyNode node = mock(DependencyNode.class);
+    when(node.getArtifact()).thenReturn(new DefaultArtifact("groupId", artifactId, "version", "compile", "jar", "", null));
+    when(node.getChildren()).thenReturn(Arrays.asList(children));
+    return node;
+  }
+}
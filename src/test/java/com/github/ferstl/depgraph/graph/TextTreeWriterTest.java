@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.graph;
+
+import java.io.StringWriter;
+import java.util.EnumSet;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
+import org.apache.maven.shared.dependency.tree.DependencyNode;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Matchers;
+import com.github.ferstl.depgraph.dot.DotBuilder;
+import static java.util.EnumSet.allOf;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * JUnit tests for {@link TextTreeWriter}.
+ */
+public class TextTreeWriterTest {
+
+  private DotBuilder<GraphNode> dotBuilder;
+  private StringWriter output;
+  private ArtifactFilter globalFilter;
+  private ArtifactFilter targetFilter;
+  private DependencyNode root;
+  private DependencyNode library;
+
+  /**
+   * .
+   *
+   * <pre>
+   * app
+   *     - lib
+   *         - guava 19.0 (omitted for conflict with 20.0)
+   *         - commons (omitted for duplicate)
+   *     - guava 20.0
+   *     - commons
+   * </pre>
+   */
+  @Before
+  public void before() throws Exception {
+    this.output = new StringWriter();
+    this.dotBuilder = new DotBuilder<GraphNode>().addGraphWriter(new TextTreeWriter(this.output));
+
+    this.globalFilter = mock(ArtifactFilter.class);
+    when(this.globalFilter.include(Matchers.<Artifact>any())).thenReturn(true);
+    this.targetFilter = mock(ArtifactFilter.class);
+    when(this.targetFilter.include(Matchers.<Artifact>any())).thenReturn(true);
+
+    Artifact guava = createArtifact("guava", "20.0", "compile");
+    Artifact commons = createArtifact("commons", "1.0", "runtime");
+    this.library = new DependencyNode(createArtifact("lib", "1.0", "compile"));
+    this.library.addChild(new DependencyNode(createArtifact("guava", "19.0", "compile"), DependencyNode.OMITTED_FOR_CONFLICT, guava));
+    this.library.addChild(new DependencyNode(createArtifact("commons", "1.0", "runtime"), DependencyNode.OMITTED_FOR_DUPLICATE, commons));
+
+    this.root = new DependencyNode(createArtifact("app", "1.0", null));
+    this.root.addChild(this.library);
+    this.root.addChild(new DependencyNode(guava));
+    this.root.addChild(new DependencyNode(commons));
+  }
+
+  @Test
+  public void tree() throws Exception {
+    traverse(allOf(NodeResolution.class));
+
+    assertEquals(""
+        + "com.example:app:jar:1.0\n"
+        + "+- com.example:lib:jar:1.0:compile\n"
+        + "|  +- com.example:guava:jar:19.0:compile (omitted for conflict with 20.0)\n"
+        + "|  \\- com.example:commons:jar:1.0:runtime (omitted for duplicate)\n"
+        + "+- com.example:guava:jar:20.0:compile\n"
+        + "\\- com.example:commons:jar:1.0:runtime\n", this.output.toString());
+  }
+
+  @Test
+  public void filteredTree() throws Exception {
+    when(this.globalFilter.include(this.root.getChildren().get(2).getArtifact())).thenReturn(false);
+
+    traverse(EnumSet.of(NodeResolution.INCLUDED, NodeResolution.OMITTED_FOR_CONFLICT));
+
+    assertEquals(""
+        + "com.example:app:jar:1.0\n"
+        + "+- com.example:lib:jar:1.0:compile\n"
+        + "|  \\- com.example:guava:jar:19.0:compile (omitted for conflict with 20.0)\n"
+        + "\\- com.example:guava:jar:20.0:compile\n", this.output.toString());
+  }
+
+  @Test
+  public void severalRoots() throws Exception {
+    traverse(allOf(NodeResolution.class), this.library);
+    traverse(allOf(NodeResolution.class), this.library);
+
+    String libraryTree = ""
+        + "com.example:lib:jar:1.0\n"
+        + "+- com.example:guava:jar:19.0:compile (omitted for conflict with 20.0)\n"
+        + "\\- com.example:commons:jar:1.0:runtime (omitted for duplicate)\n";
+    assertEquals(libraryTree + libraryTree, this.output.toString());
+  }
+
+  private void traverse(EnumSet<NodeResolution> includedResolutions) throws Exception {
+    traverse(includedResolutions, this.root);
+  }
+
+  private void traverse(EnumSet<NodeResolution> includedResolutions, DependencyNode node) throws Exception {
+    node.accept(new DotBuildingVisitor(this.dotBuilder, this.globalFilter, this.targetFilter, includedResolutions));
+    this.dotBuilder.completeGraph();
+  }
+
+  private static Artifact createArtifact(String artifactId, String version, String scope) {
+    return new DefaultArtifact("com.example", artifactId, version, scope, "jar", "", null);
+  }
+}
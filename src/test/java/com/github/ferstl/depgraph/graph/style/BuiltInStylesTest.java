@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2014 - 2016 by Stefan Ferstl <st.ferstl@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.graph.style;
+
+import org.junit.Before;
+import org.junit.Test;
+import com.github.ferstl.depgraph.graph.style.resource.ClasspathStyleResource;
+import static com.github.ferstl.depgraph.graph.style.resource.BuiltInStyleResource.DEFAULT_STYLE;
+import static com.github.ferstl.depgraph.graph.style.resource.BuiltInStyleResource.GROUP_ID_ONLY_STYLE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * JUnit tests for {@link BuiltInStyles}.
+ */
+public class BuiltInStylesTest {
+
+  private ClassLoader classLoader;
+
+  @Before
+  public void before() {
+    this.classLoader = getClass().getClassLoader();
+  }
+
+  @Test
+  public void defaultStyleMatchesJson() {
+    StyleConfiguration parsed = StyleConfiguration.load(new ClasspathStyleResource("default-style.json", this.classLoader));
+
+    assertEquals(parsed.toJson(), BuiltInStyles.create(DEFAULT_STYLE).toJson());
+  }
+
+  @Test
+  public void groupIdOnlyStyleMatchesJson() {
+    StyleConfiguration parsed = StyleConfiguration.load(new ClasspathStyleResource("group-id-only-style.json", this.classLoader));
+
+    assertEquals(parsed.toJson(), BuiltInStyles.create(GROUP_ID_ONLY_STYLE).toJson());
+  }
+
+  @Test
+  public void mergedBuiltInStylesMatchJson() {
+    StyleConfiguration parsed = StyleConfiguration.load(
+        new ClasspathStyleResource("default-style.json", this.classLoader),
+        new ClasspathStyleResource("group-id-only-style.json", this.classLoader));
+    StyleConfiguration precompiled = StyleConfiguration.load(
+        DEFAULT_STYLE.createStyleResource(this.classLoader),
+        GROUP_ID_ONLY_STYLE.createStyleResource(this.classLoader));
+
+    assertEquals(parsed.toJson(), precompiled.toJson());
+    CompiledStyleConfiguration compiledParsed = parsed.compile();
+    CompiledStyleConfiguration compiledPrecompiled = precompiled.compile();
+    assertEquals(compiledParsed.defaultNodeAttributes().toString(), compiledPrecompiled.defaultNodeAttributes().toString());
+    assertEquals(
+        compiledParsed.nodeAttributes("groupId", "artifactId", "1.0.0", "jar", "compile", "compile").toString(),
+        compiledPrecompiled.nodeAttributes("groupId", "artifactId", "1.0.0", "jar", "compile", "compile").toString());
+  }
+
+  @Test
+  public void builtInStylesAreCached() {
+    CompiledStyleConfiguration config1 = StyleConfiguration.loadCompiled(DEFAULT_STYLE.createStyleResource(this.classLoader));
+    CompiledStyleConfiguration config2 = StyleConfiguration.loadCompiled(DEFAULT_STYLE.createStyleResource(this.classLoader));
+    CompiledStyleConfiguration config3 = StyleConfiguration.loadCompiled(DEFAULT_STYLE.createStyleResource(this.classLoader), GROUP_ID_ONLY_STYLE.createStyleResource(this.classLoader));
+
+    assertSame(config1, config2);
+    assertNotSame(config1, config3);
+  }
+
+  @Test
+  public void customStylesDoNotModifyCachedBuiltInStyles() {
+    ClasspathStyleResource testStyle = new ClasspathStyleResource("test-style.json", this.classLoader);
+    StyleConfiguration builtIn = StyleConfiguration.load(DEFAULT_STYLE.createStyleResource(this.classLoader));
+    StyleConfiguration custom = StyleConfiguration.load(DEFAULT_STYLE.createStyleResource(this.classLoader), testStyle);
+
+    assertNotSame(builtIn, custom);
+    assertEquals(BuiltInStyles.create(DEFAULT_STYLE).toJson(), builtIn.toJson());
+  }
+}
@@ -22,19 +22,19 @@ import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
-import com.github.ferstl.depgraph.dot.AttributeBuilder;
 import com.github.ferstl.depgraph.graph.NodeResolution;
 import com.github.ferstl.depgraph.graph.style.resource.ClasspathStyleResource;
 import com.github.ferstl.depgraph.graph.style.resource.FileSystemStyleResource;
 import com.google.common.io.Files;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 
 
 public class StyleConfigurationTest {
 
   private ClasspathStyleResource testStyle;
-  private StyleConfiguration emptyConfig;
   private ClasspathStyleResource testOverride;
 
   @Rule
@@ -43,76 +43,60 @@ public class StyleConfigurationTest {
 
   @Before
   public void before() {
-    this.emptyConfig = new StyleConfiguration();
     this.testStyle = new ClasspathStyleResource("test-style.json", getClass().getClassLoader());
     this.testOverride = new ClasspathStyleResource("test-override-style.json", getClass().getClassLoader());
   }
 
   @Test
-  public void load() {
-    StyleConfiguration config = StyleConfiguration.load(this.testStyle);
-
-    assertEquals("[shape=\"polygon\",color=\"black\",fontname=\"Courier\",fontsize=\"14\",fontcolor=\"green\",sides=\"8\"]", config.defaultNodeAttributes().toString());
-    assertEquals("[style=\"dotted\",color=\"blue\"]", config.defaultEdgeAttributes().toString());
-    assertEquals("", config.edgeAttributes(NodeResolution.INCLUDED, "compile").toString());
-    assertEquals("[style=\"dotted\",color=\"gray\"]", config.edgeAttributes(NodeResolution.INCLUDED, "test").toString());
-    assertEquals("[style=\"dashed\"]", config.edgeAttributes(NodeResolution.OMITTED_FOR_DUPLICATE, "compile").toString());
-    assertEquals("[label=<groupId<br/>artifactId<br/>1.0.0<br/>compile>]", config.nodeAttributes("groupId", "artifactId", "1.0.0", "jar", "compile", "compile").toString());
-    assertEquals("[shape=\"box\",style=\"filled\",fillcolor=\"orange\",label=<groupId<br/>artifactId<br/>1.0.0<br/>test>]", config.nodeAttributes("groupId", "artifactId", "1.0.0", "jar", "test", "test").toString());
-  }
-
-  @Test
-  public void loadWithOverride() {
+  public void toJson() throws IOException {
     StyleConfiguration config = StyleConfiguration.load(this.testStyle, this.testOverride);
 
-    assertEquals("[shape=\"ellipse\",color=\"black\",fontname=\"Courier\",fontsize=\"14\",fontcolor=\"green\"]", config.defaultNodeAttributes().toString());
-    assertEquals("[style=\"dashed\",color=\"blue\"]", config.defaultEdgeAttributes().toString());
-    assertEquals("[style=\"dotted\",color=\"blue\"]", config.edgeAttributes(NodeResolution.INCLUDED, "test").toString());
-    assertEquals("[style=\"dashed\",color=\"green\"]", config.edgeAttributes(NodeResolution.OMITTED_FOR_DUPLICATE, "test").toString());
-    assertEquals("[fontname=\"Courier\"]", config.edgeAttributes(NodeResolution.OMITTED_FOR_CONFLICT, "provided").toString());
-
-    assertEquals("[shape=\"box\",style=\"filled\",color=\"red\",fillcolor=\"orange\",label=<groupId<br/>artifactId<br/>1.0.0<br/>test>]", config.nodeAttributes("groupId", "artifactId", "1.0.0", "jar", "test", "test").toString());
-    assertEquals("[shape=\"box\",color=\"blue\",label=<groupId<br/>artifactId<br/>1.0.0<br/>provided>]", config.nodeAttributes("groupId", "artifactId", "1.0.0", "jar", "provided", "provided").toString());
-  }
-
-  @Test
-  public void defaultNodeAttributesForEmptyConfiguration() {
-    AttributeBuilder attributes = this.emptyConfig.defaultNodeAttributes();
+    String json = config.toJson();
+    File configFile = this.tmp.newFile("config.json");
+    Files.write(json, configFile, UTF_8);
 
-    assertEquals("[shape=\"box\"]", attributes.toString());
+    StyleConfiguration reloadedConfig = StyleConfiguration.load(new FileSystemStyleResource(configFile.toPath()));
+    assertEquals("[fontname=\"Courier\"]", reloadedConfig.compile().edgeAttributes(NodeResolution.OMITTED_FOR_CONFLICT, "provided").toString());
   }
 
   @Test
-  public void defaultEdgeAttributesForEmptyConfiguration() {
-    AttributeBuilder attributes = this.emptyConfig.defaultEdgeAttributes();
+  public void cachedConfiguration() {
+    CompiledStyleConfiguration config1 = StyleConfiguration.loadCompiled(this.testStyle, this.testOverride);
+    CompiledStyleConfiguration config2 = StyleConfiguration.loadCompiled(this.testStyle, this.testOverride);
+    CompiledStyleConfiguration config3 = StyleConfiguration.loadCompiled(this.testOverride, this.testStyle);
 
-    assertEquals("", attributes.toString());
+    assertSame(config1, config2);
+    assertNotSame(config1, config3);
   }
 
   @Test
-  public void nodeAttributesForEmptyConfiguration() {
-    AttributeBuilder attributes = this.emptyConfig.nodeAttributes("groupId", "artifactId", "1.0.0", "jar", "compile", "compile");
-
-    assertEquals("[label=<groupId<br/>artifactId<br/>1.0.0<br/>compile>]", attributes.toString());
+  public void loadCreatesNewConfiguration() {
+    StyleConfiguration config1 = StyleConfiguration.load(this.testStyle, this.testOverride);
+    config1.edgeResolutionStyle(NodeResolution.OMITTED_FOR_CONFLICT, new Edge());
+    StyleConfiguration config2 = StyleConfiguration.load(this.testStyle, this.testOverride);
+
+    assertNotSame(config1, config2);
+    assertEquals("", config1.compile().edgeAttributes(NodeResolution.OMITTED_FOR_CONFLICT, "provided").toString());
+    assertEquals("[fontname=\"Courier\"]", config2.compile().edgeAttributes(NodeResolution.OMITTED_FOR_CONFLICT, "provided").toString());
   }
 
-
   @Test
-  public void edgeAttributesForEmptyConfiguration() {
-    AttributeBuilder attributes = this.emptyConfig.edgeAttributes(NodeResolution.INCLUDED, "compile");
-
-    assertEquals("", attributes.toString());
-  }
+  public void changedFileInvalidatesCache() throws IOException {
+    File configFile = this.tmp.newFile("config.json");
+    Files.write("{\"default-edge\": {\"color\": \"red\"}}", configFile, UTF_8);
+    FileSystemStyleResource resource = new FileSystemStyleResource(configFile.toPath());
 
-  @Test
-  public void toJson() throws IOException {
-    StyleConfiguration config = StyleConfiguration.load(this.testStyle, this.testOverride);
+    CompiledStyleConfiguration config1 = StyleConfiguration.loadCompiled(this.testStyle, resource);
+    CompiledStyleConfiguration config2 = StyleConfiguration.loadCompiled(this.testStyle, resource);
+    assertSame(config1, config2);
 
-    String json = config.toJson();
-    File configFile = this.tmp.newFile("config.json");
-    Files.write(json, configFile, UTF_8);
+    // Same size but different modification time
+    Files.write("{\"default-edge\": {\"color\": \"blue\"}}", configFile, UTF_8);
+    configFile.setLastModified(configFile.lastModified() - 10000);
+    CompiledStyleConfiguration config3 = StyleConfiguration.loadCompiled(this.testStyle, resource);
 
-    StyleConfiguration reloadedConfig = StyleConfiguration.load(new FileSystemStyleResource(configFile.toPath()));
-    assertEquals("[fontname=\"Courier\"]", reloadedConfig.edgeAttributes(NodeResolution.OMITTED_FOR_CONFLICT, "provided").toString());
+    assertNotSame(config1, config3);
+    assertEquals("[style=\"dotted\",color=\"blue\"]", config3.defaultEdgeAttributes().toString());
+    assertEquals("[style=\"dotted\",color=\"red\"]", config1.defaultEdgeAttributes().toString());
   }
 }
@@ -15,8 +15,10 @@
  */
 package com.github.ferstl.depgraph.graph.style.resource;
 
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
 import org.junit.Test;
 import static org.junit.Assert.assertEquals;
 
@@ -32,4 +34,10 @@ public class FileSystemStyleResourceTest extends AbstractStyleResourceTest {
     Path path = Paths.get("src/main/resources/default-style.json");
     assertEquals("file:" + path.toString(), this.existingResource.toString());
   }
+
+  @Test
+  public void version() throws Exception {
+    Path path = Paths.get("src/main/resources/default-style.json");
+    assertEquals(Files.size(path) + ":" + Files.getLastModifiedTime(path).to(TimeUnit.NANOSECONDS), this.existingResource.getVersion());
+  }
 }